@@ -17,104 +17,91 @@
  */
 package io.github.paladijn.d2rsavegameparser.internal.parser;
 
-import io.github.paladijn.d2rsavegameparser.model.Attribute;
 import io.github.paladijn.d2rsavegameparser.model.CharacterAttributes;
+import io.github.paladijn.d2rsavegameparser.parser.ParseException;
 
 import java.nio.ByteBuffer;
-import java.nio.ByteOrder;
-import java.util.BitSet;
-import java.util.List;
 
 /**
  * Parser specific for the {@link CharacterAttributes} in the savegame.
  * This block of data is not fixed-width as attributes that do not exist are completely left out.
- *
+ * <p>
+ * The attributes are read in a single pass with a {@link BitReader}: the 9-bit id of each attribute selects its width and
+ * coefficient from a static table and the value is written straight into the builder.
  */
 public final class AttributeParser {
     private static final int ID_BINARY_SIZE = 9;
     private static final int STOP_CODE = 0x01FF;
 
-    private static final List<Attribute> ATTRIBUTES = List.of(
-            new Attribute("Strength", 10, 1),
-            new Attribute("Energy", 10, 1),
-            new Attribute("Dexterity", 10, 1),
-            new Attribute("Vitality", 10, 1),
-            new Attribute("Stat points", 10, 1),
-            new Attribute("Skill points", 8, 1),
-            new Attribute("Hit points", 21, 255),
-            new Attribute("Max hit points", 21, 255),
-            new Attribute("Mana", 21, 255),
-            new Attribute("Max mana", 21, 255),
-            new Attribute("Stamina points", 21, 255),
-            new Attribute("Max stamina points", 21, 255),
-            new Attribute("Level", 7, 1),
-            new Attribute("Experience", 32, 1),
-            new Attribute("Gold", 25, 1),
-            new Attribute("Gold in stash", 25, 1)
-    );
+    private static final int STRENGTH = 0;
+    private static final int ENERGY = 1;
+    private static final int DEXTERITY = 2;
+    private static final int VITALITY = 3;
+    private static final int STAT_POINTS = 4;
+    private static final int SKILL_POINTS = 5;
+    private static final int HIT_POINTS = 6;
+    private static final int MAX_HIT_POINTS = 7;
+    private static final int MANA = 8;
+    private static final int MAX_MANA = 9;
+    private static final int STAMINA_POINTS = 10;
+    private static final int MAX_STAMINA_POINTS = 11;
+    private static final int LEVEL = 12;
+    private static final int EXPERIENCE = 13;
+    private static final int GOLD = 14;
+    private static final int GOLD_IN_STASH = 15;
+
+    // indexed by attribute id, the number of bits of its value
+    private static final int[] WIDTHS = {10, 10, 10, 10, 10, 8, 21, 21, 21, 21, 21, 21, 7, 32, 25, 25};
+
+    // indexed by attribute id, the stored value is divided by this to get the true value
+    private static final int[] COEFFICIENTS = {1, 1, 1, 1, 1, 1, 255, 255, 255, 255, 255, 255, 1, 1, 1, 1};
 
     /**
-     * Parse the {@link CharacterAttributes} from the supplied bytes. These start at index 765 with identifier "gf". These are not fixed-length as statistics that don't exist (points left, gold at 0, etc.) are not stored.
-     * @param statBytes the bytes containing the character statistics
+     * Parse the {@link CharacterAttributes} from the supplied buffer. These start at index 765 with identifier "gf". These are not fixed-length as statistics that don't exist (points left, gold at 0, etc.) are not stored.
+     * @param buffer the buffer of the savegame file
+     * @param offset the index of the first byte of the character statistics (after the "gf" header)
+     * @param length the number of bytes containing the character statistics
      * @return the parsed {@link CharacterAttributes}
      */
-    public CharacterAttributes parse(final byte[] statBytes) {
-        CharacterAttributes.CharacterAttributesBuilder builder = new CharacterAttributes.CharacterAttributesBuilder();
-        final BitSet bits = BitSet.valueOf(statBytes);
+    public CharacterAttributes parse(final ByteBuffer buffer, final int offset, final int length) {
+        final CharacterAttributes.CharacterAttributesBuilder builder = new CharacterAttributes.CharacterAttributesBuilder();
+        final BitReader reader = new BitReader(buffer, offset, offset + length);
+        final int lengthInBits = length * 8;
 
-        int currentPositionInBitSequence = 0;
         while (true) {
-            int fromIndex = currentPositionInBitSequence;
-            int toIndex = fromIndex + ID_BINARY_SIZE;
-
-            int attributeId = bitsAsInt(bits.get(fromIndex, toIndex));
+            final int attributeId = reader.readInt(ID_BINARY_SIZE);
             if (attributeId == STOP_CODE) {
                 break;
             }
+            if (attributeId >= WIDTHS.length) {
+                throw new ParseException("Unknown character attribute id %d at bit %d".formatted(attributeId, reader.getPositionInBits() - ID_BINARY_SIZE));
+            }
 
-            Attribute attribute = ATTRIBUTES.get(attributeId);
-            fromIndex = toIndex;
-            toIndex = fromIndex + attribute.numberOfBits();
-            long attributeValue = bitsAsLong(bits.get(fromIndex, toIndex)) / attribute.coefficient();
-
-            builder = switch (attribute.name()) {
-                case "Strength" -> builder.strength(Math.toIntExact(attributeValue));
-                case "Energy" -> builder.energy(Math.toIntExact(attributeValue));
-                case "Dexterity" -> builder.dexterity(Math.toIntExact(attributeValue));
-                case "Vitality" -> builder.vitality(Math.toIntExact(attributeValue));
-                case "Stat points" -> builder.statPointsLeft(Math.toIntExact(attributeValue));
-                case "Skill points" -> builder.skillPointsLeft(Math.toIntExact(attributeValue));
-                case "Hit points" -> builder.hp(attributeValue);
-                case "Max hit points" -> builder.maxHP(attributeValue);
-                case "Mana" -> builder.mana(attributeValue);
-                case "Max mana" -> builder.maxMana(attributeValue);
-                case "Stamina points" -> builder.stamina(attributeValue);
-                case "Max stamina points" -> builder.maxStamina(attributeValue);
-                case "Level" -> builder.level(Math.toIntExact(attributeValue));
-                case "Experience" -> builder.experience(attributeValue);
-                case "Gold" -> builder.gold(attributeValue);
-                case "Gold in stash" -> builder.goldInStash(attributeValue);
-                default -> builder;
-            };
+            final long attributeValue = reader.readLong(WIDTHS[attributeId]) / COEFFICIENTS[attributeId];
+            switch (attributeId) {
+                case STRENGTH -> builder.strength((int) attributeValue);
+                case ENERGY -> builder.energy((int) attributeValue);
+                case DEXTERITY -> builder.dexterity((int) attributeValue);
+                case VITALITY -> builder.vitality((int) attributeValue);
+                case STAT_POINTS -> builder.statPointsLeft((int) attributeValue);
+                case SKILL_POINTS -> builder.skillPointsLeft((int) attributeValue);
+                case HIT_POINTS -> builder.hp(attributeValue);
+                case MAX_HIT_POINTS -> builder.maxHP(attributeValue);
+                case MANA -> builder.mana(attributeValue);
+                case MAX_MANA -> builder.maxMana(attributeValue);
+                case STAMINA_POINTS -> builder.stamina(attributeValue);
+                case MAX_STAMINA_POINTS -> builder.maxStamina(attributeValue);
+                case LEVEL -> builder.level((int) attributeValue);
+                case EXPERIENCE -> builder.experience(attributeValue);
+                case GOLD -> builder.gold(attributeValue);
+                case GOLD_IN_STASH -> builder.goldInStash(attributeValue);
+                default -> throw new IllegalStateException("No attribute for id " + attributeId);
+            }
 
-            currentPositionInBitSequence = toIndex;
+            if (reader.getPositionInBits() > lengthInBits) {
+                throw new ParseException("Character attributes are not terminated within %d bytes".formatted(length));
+            }
         }
         return builder.build();
     }
-
-   private int bitsAsInt(BitSet bitSet) {
-        return ByteBuffer.allocate(Integer.BYTES)
-                .order(ByteOrder.LITTLE_ENDIAN)
-                .put(bitSet.toByteArray())
-                .rewind()
-                .getInt();
-    }
-
-    private long bitsAsLong(BitSet bitSet) {
-        return ByteBuffer.allocate(Long.BYTES)
-                .order(ByteOrder.LITTLE_ENDIAN)
-                .put(bitSet.toByteArray())
-                .rewind()
-                .getLong();
-    }
 }
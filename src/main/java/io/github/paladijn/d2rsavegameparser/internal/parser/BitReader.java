@@ -20,16 +20,41 @@ package io.github.paladijn.d2rsavegameparser.internal.parser;
 import io.github.paladijn.d2rsavegameparser.model.Item;
 import io.github.paladijn.d2rsavegameparser.parser.ParseException;
 
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.util.Map;
 
 import static java.util.Map.entry;
 
+/**
+ * Reader for the bit-packed sections of the savegame files (items, waypoints, etc.). The savegame stores its values
+ * least significant bit first, so instead of reversing every byte on each read we keep a 64-bit little-endian register of
+ * the data and serve all reads with a shift and a mask. The register is only refilled once a read crosses its boundary.
+ * <p>
+ * The reader works on a read-only view of the supplied {@link ByteBuffer} between an offset and limit, so sections of a
+ * savegame can be read without copying them, regardless of the buffer being a heap, direct or memory-mapped one.
+ */
 public final class BitReader {
 
-    private final byte[] data;
+    // the register is refilled on a byte boundary, so up to 7 bits of it can be in use already: 57 bits can always be served in one go
+    private static final int MAX_BITS_PER_READ = 57;
+
+    private final ByteBuffer data;
+    private final int offset;
+    private final int limit;
     private int positionInBits;
 
-    private final Map<String, Character> huffmanDictionary = Map.ofEntries(
+    private long register;
+    private int registerStartInBits = -64; // forces a refill on the first read
+
+    private final char[] huffmanCharacters = new char[MAX_HUFFMAN_STRING_LENGTH];
+
+    // the longest huffman code is 9 bits, so peeking 9 bits always resolves exactly one character
+    private static final int HUFFMAN_PEEK_BITS = 9;
+
+    private static final int MAX_HUFFMAN_STRING_LENGTH = 100;
+
+    private static final Map<String, Character> HUFFMAN_DICTIONARY = Map.ofEntries(
             entry("11110", 'a'),
             entry("0101", 'b'),
             entry("01000", 'c'),
@@ -69,9 +94,24 @@ public final class BitReader {
             entry( "01110", '9')
     );
 
+    // indexed by the next 9 bits (first bit read in the lowest position), each entry holds the character << 8 | code length
+    private static final short[] HUFFMAN_TABLE = createHuffmanTable();
+
 
     public BitReader(byte[] data) {
-        this.data = data;
+        this(ByteBuffer.wrap(data), 0, data.length);
+    }
+
+    /**
+     * Create a reader over a section of the buffer. The buffer is not copied, nor are its position and limit altered.
+     * @param buffer the {@link ByteBuffer} containing the section
+     * @param offset the absolute index in the buffer where the section starts, this is bit 0 of the reader
+     * @param limit the absolute index in the buffer where the section ends (exclusive), reads beyond it return zeroes
+     */
+    public BitReader(ByteBuffer buffer, int offset, int limit) {
+        this.data = buffer.asReadOnlyBuffer().order(ByteOrder.LITTLE_ENDIAN);
+        this.offset = offset;
+        this.limit = limit;
         positionInBits = 0;
     }
 
@@ -89,11 +129,11 @@ public final class BitReader {
     }
 
     public char readChar(int bits) {
-        return (char) unflip(read(bits), bits);
+        return (char) read(bits);
     }
 
     public short readShort(int bits) {
-        return (short) unflip(read(bits), bits);
+        return (short) read(bits);
     }
 
     public int readInt() {
@@ -101,86 +141,120 @@ public final class BitReader {
     }
     
     public int readInt(int bits) {
-        return (int) unflip(read(bits), bits);
+        return (int) read(bits);
     }
 
     public long readLong(int bits) {
-        return unflip(read(bits), bits);
+        if (bits <= MAX_BITS_PER_READ) {
+            return read(bits);
+        }
+        final long low = read(32);
+        return low | (read(bits - 32) << 32);
     }
 
+    /**
+     * Read the bits in the order they are stored, so the first bit read ends up as the most significant one. This is used
+     * for the item flags which are documented (and checked) from left to right.
+     * @param bits the number of bits to read, at most 32
+     * @return the bits in stored order
+     */
     public int readFlippedInt(int bits) {
-        return (int) read(bits);
+        if (bits == 0) {
+            return 0;
+        }
+        return Integer.reverse((int) read(bits)) >>> (32 - bits);
     }
 
     public int getPositionInBits() {
         return positionInBits;
     }
 
+    public void seek(int positionInBits) {
+        if (positionInBits < 0 || positionInBits > (limit - offset) * 8) {
+            throw new ParseException("Cannot seek to bit %d, outside of the %d available bits".formatted(positionInBits, (limit - offset) * 8));
+        }
+        this.positionInBits = positionInBits;
+    }
+
     private void increasePositionInBits(int amount) {
         positionInBits += amount;
     }
 
     private long read(int bits) {
-        final int positionInBytes = positionInBits / 8;
-        final int bitsInLastByte = positionInBits % 8;
-
-        long result = 0;
-        for (int i = 0; i < 8; i++) {
-            result = result << 8;
-            if (positionInBytes + i < data.length) {
-                byte readByte = data[positionInBytes + i];
-                int unsigned = 0x000000ff & flipByte(readByte);
-                result += unsigned;
-            } else {
-                result += 0;
-            }
-        }
+        final long result = peek(bits);
+        increasePositionInBits(bits);
+        return result;
+    }
 
-        result = result << bitsInLastByte;
-        result = result >>> (64 - bits);
+    private long peek(int bits) {
+        int bitInRegister = positionInBits - registerStartInBits;
+        if (bitInRegister < 0 || bitInRegister + bits > 64) {
+            fillRegister();
+            bitInRegister = positionInBits - registerStartInBits;
+        }
 
-        // update position
-        increasePositionInBits(bits);
+        final long mask = (1L << bits) - 1;
+        return (register >>> bitInRegister) & mask;
+    }
 
-        return result;
+    private void fillRegister() {
+        final int positionInBytes = positionInBits >>> 3;
+        final int index = offset + positionInBytes;
+        if (index + Long.BYTES <= limit) {
+            register = data.getLong(index);
+        } else {
+            // near the end of the data we pad with zeroes, as the previous implementation did
+            long tail = 0;
+            for (int i = Math.min(limit, index + Long.BYTES) - 1; i >= index; i--) {
+                tail = (tail << 8) | (data.get(i) & 0xff);
+            }
+            register = tail;
+        }
+        registerStartInBits = positionInBytes << 3;
     }
 
+    /**
+     * Read an item code. Each character is resolved with a single lookup of the next 9 bits in the huffman table, the space
+     * character marks the end of the code.
+     * @return the pooled (and interned) item code, so lookups against the txt tables can match on identity
+     */
     public String readHuffmanEncodedString() {
-        StringBuilder reader = new StringBuilder();
-        StringBuilder result = new StringBuilder();
-        Character character;
-        do {
-            reader.append(read(1));
-            character = huffmanDictionary.get(reader.toString());
-            if (character != null && ' ' != character) {
-                result.append(character);
-                reader.setLength(0);
+        final char[] result = huffmanCharacters;
+        int length = 0;
+        while (true) {
+            final int entry = HUFFMAN_TABLE[(int) peek(HUFFMAN_PEEK_BITS)];
+            if (entry == 0) {
+                throw new ParseException("Huffman decoding failed, unknown code at bit " + positionInBits);
+            }
+            increasePositionInBits(entry & 0xff);
+
+            final char character = (char) (entry >>> 8);
+            if (character == ' ') {
+                return ItemCodePool.get(result, length);
             }
-            if (reader.length() > 100 || result.length() > 100) {
+            if (length == MAX_HUFFMAN_STRING_LENGTH) {
                 throw new ParseException("Huffman decoding failed, string too long");
             }
-        } while (character == null || ' ' != character);
-        return result.toString();
-    }
-
-    private static int flipByte(byte b) {
-        int ret = 0;
-        for (int i = 0; i < 8; i++) {
-            int bit = (b >> i) & 0x01;
-            ret = ret << 1;
-            ret += bit;
+            result[length++] = character;
         }
-        return ret;
     }
 
-    private long unflip(long l, int bits) {
-        long ret = 0;
-        for (int i = 0; i < bits; i++) {
-            int bit = (int) ((l >> i) & 0x01);
-            ret = ret << 1;
-            ret += bit;
+    private static short[] createHuffmanTable() {
+        final short[] table = new short[1 << HUFFMAN_PEEK_BITS];
+        for (Map.Entry<String, Character> code : HUFFMAN_DICTIONARY.entrySet()) {
+            final String bits = code.getKey();
+            int pattern = 0;
+            for (int i = 0; i < bits.length(); i++) {
+                if (bits.charAt(i) == '1') {
+                    pattern |= 1 << i;
+                }
+            }
+            // every combination of the bits following the code resolves to the same character
+            for (int suffix = 0; suffix < 1 << (HUFFMAN_PEEK_BITS - bits.length()); suffix++) {
+                table[pattern | (suffix << bits.length())] = (short) (code.getValue() << 8 | bits.length());
+            }
         }
-        return ret;
+        return table;
     }
 
     /**
@@ -201,13 +275,13 @@ public final class BitReader {
             if (i > startIndex) {
                 sbBytes.append(", ");
             }
-            sbBytes.append(data[i]);
+            sbBytes.append(data.get(offset + i));
         }
 
         sbBytes.append("};");
     }
 
     public byte getData(int i) {
-        return data[i];
+        return data.get(offset + i);
     }
 }
@@ -0,0 +1,91 @@
+/*
+ * Copyright (C) 2023   Paladijn (paladijn2960+d2rsavegameparser@gmail.com)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA 
+ */
+package io.github.paladijn.d2rsavegameparser.internal.parser;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Lock-free pool of the item codes decoded by the {@link BitReader}. There are only a few hundred distinct codes, so after
+ * the first occurrence of a code no new String is created for it. Pooled codes are interned, which lets the code maps in
+ * the txt tables match them on identity.
+ * <p>
+ * The pool is shared by the whole JVM and never evicts, so only codes of a valid length are pooled and a lookup gives up after
+ * a bounded number of probes. Garbage from corrupt or hostile savegames gets a fresh String instead of filling the pool.
+ */
+final class ItemCodePool {
+
+    private static final int CAPACITY = 4096; // power of two, well above the number of item codes in the game files
+
+    // the item codes in the txt files are three characters, some mods use four
+    private static final int MIN_CODE_LENGTH = 3;
+    private static final int MAX_CODE_LENGTH = 4;
+
+    private static final int MAX_PROBES = 32;
+
+    private static final AtomicReferenceArray<String> CODES = new AtomicReferenceArray<>(CAPACITY);
+
+    private ItemCodePool() {
+        // Helper class, don't instantiate me.
+    }
+
+    static String get(final char[] characters, final int length) {
+        if (length < MIN_CODE_LENGTH || length > MAX_CODE_LENGTH) {
+            return new String(characters, 0, length);
+        }
+
+        int hash = 0;
+        for (int i = 0; i < length; i++) {
+            hash = 31 * hash + characters[i];
+        }
+
+        String created = null;
+        for (int probe = 0; probe < MAX_PROBES; probe++) {
+            final int index = (hash + probe) & (CAPACITY - 1);
+            final String pooled = CODES.get(index);
+            if (pooled == null) {
+                if (created == null) {
+                    created = new String(characters, 0, length).intern();
+                }
+                if (CODES.compareAndSet(index, null, created)) {
+                    return created;
+                }
+                // another thread claimed this slot, check if it stored the same code
+                if (matches(CODES.get(index), characters, length)) {
+                    return CODES.get(index);
+                }
+            } else if (matches(pooled, characters, length)) {
+                return pooled;
+            }
+        }
+
+        // this part of the pool is full, which can only happen on corrupt item data: don't intern it
+        return new String(characters, 0, length);
+    }
+
+    private static boolean matches(final String pooled, final char[] characters, final int length) {
+        if (pooled.length() != length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (pooled.charAt(i) != characters[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,154 @@
+/*
+ * Copyright (C) 2023   Paladijn (paladijn2960+d2rsavegameparser@gmail.com)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA 
+ */
+package io.github.paladijn.d2rsavegameparser.internal.parser;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Allocation-free search for the section markers of savegame files ("JM", "kf", "55 AA 55 AA", etc.). Eight bytes are read at a time and
+ * checked for the first marker byte with a SWAR (SIMD within a register) zero-byte test, only the candidate positions are compared in full.
+ * Markers are little-endian ints of up to four bytes, see {@link #marker(String)}.
+ */
+public final class MarkerSearch {
+
+    private static final long LOW_BITS = 0x0101010101010101L;
+
+    private static final long HIGH_BITS = 0x8080808080808080L;
+
+    private MarkerSearch() {
+        // Helper class, don't instantiate me.
+    }
+
+    /**
+     * @param text the marker as text, up to four characters
+     * @return the marker as a little-endian int, the first character in the lowest byte
+     */
+    public static int marker(final String text) {
+        if (text.isEmpty() || text.length() > 4) {
+            throw new IllegalArgumentException("markers are one to four bytes long: " + text);
+        }
+        int result = 0;
+        for (int i = 0; i < text.length(); i++) {
+            result |= (text.charAt(i) & 0xff) << (i * 8);
+        }
+        return result;
+    }
+
+    /**
+     * @param buffer the buffer to check
+     * @param index the index in the buffer
+     * @param marker the little-endian marker
+     * @param length the length of the marker in bytes
+     * @return true in case the marker is found at the index
+     */
+    public static boolean matchesAt(final ByteBuffer buffer, final int index, final int marker, final int length) {
+        if (index < 0 || index + length > buffer.limit()) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (buffer.get(index + i) != (byte) (marker >>> (i * 8))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Find the first occurrence of the marker that starts within [from, to).
+     * @param buffer the buffer to search
+     * @param from the first index to check
+     * @param to the index to stop at (exclusive)
+     * @param marker the little-endian marker
+     * @param length the length of the marker in bytes
+     * @return the index of the marker or -1 in case it wasn't found
+     */
+    public static int indexOf(final ByteBuffer buffer, final int from, final int to, final int marker, final int length) {
+        final int end = Math.min(to, buffer.limit() - length + 1);
+        final long pattern = LOW_BITS * (marker & 0xff);
+
+        int i = Math.max(from, 0);
+        while (i < end && i + Long.BYTES <= buffer.limit()) {
+            long candidates = zeroBytes(readLittleEndianLong(buffer, i) ^ pattern);
+            while (candidates != 0) {
+                final int candidate = i + (Long.numberOfTrailingZeros(candidates) >>> 3);
+                if (candidate >= end) {
+                    return -1;
+                }
+                if (matchesAt(buffer, candidate, marker, length)) {
+                    return candidate;
+                }
+                candidates &= candidates - 1;
+            }
+            i += Long.BYTES;
+        }
+
+        for (; i < end; i++) {
+            if (matchesAt(buffer, i, marker, length)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Find the last occurrence of the marker that starts within [from, to).
+     * @param buffer the buffer to search
+     * @param from the first index to check
+     * @param to the index to stop at (exclusive)
+     * @param marker the little-endian marker
+     * @param length the length of the marker in bytes
+     * @return the index of the marker or -1 in case it wasn't found
+     */
+    public static int lastIndexOf(final ByteBuffer buffer, final int from, final int to, final int marker, final int length) {
+        final int start = Math.max(from, 0);
+        final long pattern = LOW_BITS * (marker & 0xff);
+
+        int i = Math.min(to, buffer.limit() - length + 1);
+        while (i - Long.BYTES >= start) {
+            final int base = i - Long.BYTES;
+            long candidates = zeroBytes(readLittleEndianLong(buffer, base) ^ pattern);
+            while (candidates != 0) {
+                final int bit = 63 - Long.numberOfLeadingZeros(candidates);
+                final int candidate = base + (bit >>> 3);
+                if (matchesAt(buffer, candidate, marker, length)) {
+                    return candidate;
+                }
+                candidates &= ~(1L << bit);
+            }
+            i = base;
+        }
+
+        for (i = i - 1; i >= start; i--) {
+            if (matchesAt(buffer, i, marker, length)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    // sets the high bit of every zero byte. Bytes above a zero byte can be false positives due to the borrow, a zero byte is never missed
+    private static long zeroBytes(final long word) {
+        return (word - LOW_BITS) & ~word & HIGH_BITS;
+    }
+
+    private static long readLittleEndianLong(final ByteBuffer buffer, final int index) {
+        final long word = buffer.getLong(index);
+        return buffer.order() == ByteOrder.LITTLE_ENDIAN ? word : Long.reverseBytes(word);
+    }
+}
@@ -0,0 +1,558 @@
+/*
+ * Copyright (C) 2023   Paladijn (paladijn2960+d2rsavegameparser@gmail.com)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA 
+ */
+package io.github.paladijn.d2rsavegameparser.internal.parser;
+
+import io.github.paladijn.d2rsavegameparser.model.ItemProperty;
+import io.github.paladijn.d2rsavegameparser.txt.ItemStatCost;
+import io.github.paladijn.d2rsavegameparser.txt.TXTProperties;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+
+/**
+ * Immutable list of {@link ItemProperty} that stores each property as a pair of longs instead of an object with its own values array.
+ * The first long holds the stat id, the number of values, the quality flag and the display order, the second one the values: four 16-bit
+ * values, or two 32-bit values when one of them doesn't fit in 16 bits. The name isn't stored at all but looked up by stat id in
+ * itemstatcost.txt, and {@link #get(int)} creates the {@link ItemProperty} as a view on access. The rare property that doesn't fit, such as
+ * three 32-bit values or a name that isn't the one of its stat, is kept as it was added.
+ * <p>
+ * The parser and the txt data use the accessors by position, so reading or combining properties doesn't allocate anything per property.
+ */
+public final class PackedProperties extends AbstractList<ItemProperty> implements RandomAccess {
+
+    public static final PackedProperties EMPTY = new PackedProperties(new long[0], null, 0);
+
+    private static final int STAT_IDS = 512;
+    private static final int MAX_VALUES = 4;
+    private static final int MAX_QUALITY_FLAG = 0xff;
+    private static final int MAX_ORDER = 0x7ff;
+
+    // the layout of the first long of a property
+    private static final int COUNT_SHIFT = 9;
+    private static final int QUALITY_FLAG_SHIFT = 12;
+    private static final int ORDER_SHIFT = 20;
+    private static final int MODE_SHIFT = 31;
+
+    // how the second long of a property is used
+    private static final int SHORT_VALUES = 0;
+    private static final int INT_VALUES = 1;
+    private static final int UNPACKED = 2; // the index in the unpacked properties
+
+    private final long[] data;
+    private final ItemProperty[] unpacked;
+    private final int size;
+
+    private PackedProperties(final long[] data, final ItemProperty[] unpacked, final int size) {
+        this.data = data;
+        this.unpacked = unpacked;
+        this.size = size;
+    }
+
+    // resolved on first use rather than with this class, as the txt tables create instances of this class while they're loaded
+    private static final class StatNames {
+        private static final String[] NAMES = new String[STAT_IDS];
+
+        static {
+            final TXTProperties txtProperties = TXTProperties.getInstance();
+            for (int id = 0; id < STAT_IDS; id++) {
+                final ItemStatCost itemStatCost = txtProperties.getItemStatCostsByID(id);
+                NAMES[id] = itemStatCost == null ? null : itemStatCost.getStat();
+            }
+        }
+    }
+
+    /**
+     * Pack the supplied properties, in the same order.
+     *
+     * @param properties the properties to pack
+     * @return the {@link PackedProperties}, or the supplied instance in case it's packed already
+     */
+    public static PackedProperties of(final Collection<ItemProperty> properties) {
+        if (properties instanceof PackedProperties packed) {
+            return packed;
+        }
+        return new PackedPropertiesBuilder(properties.size()).addAll(properties).build();
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public ItemProperty get(final int i) {
+        final long header = data[2 * Objects.checkIndex(i, size)];
+        if (mode(header) == UNPACKED) {
+            return unpacked[(int) data[2 * i + 1]];
+        }
+        final int id = id(header);
+        return new ItemProperty(id, StatNames.NAMES[id], values(i), qualityFlag(header), order(header));
+    }
+
+    /**
+     * @param i the position of the property
+     * @return the stat id of the property, see {@link ItemProperty#index()}
+     */
+    public int index(final int i) {
+        final long header = data[2 * Objects.checkIndex(i, size)];
+        return mode(header) == UNPACKED ? unpacked[(int) data[2 * i + 1]].index() : id(header);
+    }
+
+    /**
+     * @param i the position of the property
+     * @return the quality flag of the property, see {@link ItemProperty#qualityFlag()}
+     */
+    public int qualityFlag(final int i) {
+        final long header = data[2 * Objects.checkIndex(i, size)];
+        return mode(header) == UNPACKED ? unpacked[(int) data[2 * i + 1]].qualityFlag() : qualityFlag(header);
+    }
+
+    /**
+     * @param i the position of the property
+     * @return the display order of the property, see {@link ItemProperty#order()}
+     */
+    public int order(final int i) {
+        final long header = data[2 * Objects.checkIndex(i, size)];
+        return mode(header) == UNPACKED ? unpacked[(int) data[2 * i + 1]].order() : order(header);
+    }
+
+    /**
+     * @param i the position of the property
+     * @return the name of the property, see {@link ItemProperty#name()}
+     */
+    public String name(final int i) {
+        final long header = data[2 * Objects.checkIndex(i, size)];
+        return mode(header) == UNPACKED ? unpacked[(int) data[2 * i + 1]].name() : StatNames.NAMES[id(header)];
+    }
+
+    /**
+     * @param i the position of the property
+     * @return the number of values of the property
+     */
+    public int valueCount(final int i) {
+        final long header = data[2 * Objects.checkIndex(i, size)];
+        return mode(header) == UNPACKED ? unpacked[(int) data[2 * i + 1]].values().length : count(header);
+    }
+
+    /**
+     * @param i the position of the property
+     * @param v the position of the value
+     * @return the value of the property, see {@link ItemProperty#values()}
+     */
+    public int value(final int i, final int v) {
+        final long header = data[2 * Objects.checkIndex(i, size)];
+        final long values = data[2 * i + 1];
+        return switch (mode(header)) {
+            case SHORT_VALUES -> (short) (values >>> (16 * Objects.checkIndex(v, count(header))));
+            case INT_VALUES -> (int) (values >>> (32 * Objects.checkIndex(v, count(header))));
+            default -> unpacked[(int) values].values()[v];
+        };
+    }
+
+    /**
+     * @param i the position of the property
+     * @return a copy of the values of the property
+     */
+    public int[] values(final int i) {
+        final int[] values = new int[valueCount(i)];
+        for (int v = 0; v < values.length; v++) {
+            values[v] = value(i, v);
+        }
+        return values;
+    }
+
+    /**
+     * @param qualityFlag the quality flag to keep
+     * @return the properties with the supplied quality flag, in the same order
+     */
+    public PackedProperties withQualityFlag(final int qualityFlag) {
+        return new PackedPropertiesBuilder(size).addAll(this, qualityFlag).build();
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (o == this) {
+            return true;
+        }
+        if (!(o instanceof PackedProperties other)) {
+            return super.equals(o);
+        }
+        if (size != other.size) {
+            return false;
+        }
+        // packing is deterministic, so equal properties are stored the same way
+        for (int i = 0; i < size; i++) {
+            if (data[2 * i] != other.data[2 * i]) {
+                return false;
+            }
+            if (mode(data[2 * i]) == UNPACKED
+                    ? !unpacked[(int) data[2 * i + 1]].equals(other.unpacked[(int) other.data[2 * i + 1]])
+                    : data[2 * i + 1] != other.data[2 * i + 1]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // the same as the hashCode of a list of the views, without creating them
+    @Override
+    public int hashCode() {
+        int hash = 1;
+        for (int i = 0; i < size; i++) {
+            hash = 31 * hash + propertyHashCode(i);
+        }
+        return hash;
+    }
+
+    private int propertyHashCode(final int i) {
+        final long header = data[2 * i];
+        if (mode(header) == UNPACKED) {
+            return unpacked[(int) data[2 * i + 1]].hashCode();
+        }
+        // see ItemProperty#hashCode()
+        int result = 31 + id(header);
+        result = 31 * result + Objects.hashCode(StatNames.NAMES[id(header)]);
+        result = 31 * result + qualityFlag(header);
+        result = 31 * result + order(header);
+        int valuesHash = 1;
+        for (int v = 0; v < count(header); v++) {
+            valuesHash = 31 * valuesHash + value(i, v);
+        }
+        return 31 * result + valuesHash;
+    }
+
+    @Override
+    public boolean addAll(final Collection<? extends ItemProperty> c) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean addAll(final int index, final Collection<? extends ItemProperty> c) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean removeAll(final Collection<?> c) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean retainAll(final Collection<?> c) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean removeIf(final Predicate<? super ItemProperty> filter) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void replaceAll(final UnaryOperator<ItemProperty> operator) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void sort(final Comparator<? super ItemProperty> c) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void clear() {
+        throw new UnsupportedOperationException();
+    }
+
+    private static int id(final long header) {
+        return (int) header & (STAT_IDS - 1);
+    }
+
+    private static int count(final long header) {
+        return (int) (header >>> COUNT_SHIFT) & 0x7;
+    }
+
+    private static int qualityFlag(final long header) {
+        return (int) (header >>> QUALITY_FLAG_SHIFT) & MAX_QUALITY_FLAG;
+    }
+
+    private static int order(final long header) {
+        return (int) (header >>> ORDER_SHIFT) & MAX_ORDER;
+    }
+
+    private static int mode(final long header) {
+        return (int) (header >>> MODE_SHIFT) & 0x3;
+    }
+
+    private static boolean fitsInShort(final int value) {
+        return value == (short) value;
+    }
+
+    /**
+     * Builder class for {@link PackedProperties}. Properties are added either as an {@link ItemProperty}, or without creating one as a stat
+     * followed by its values, in which case the name is the one of the stat in itemstatcost.txt.
+     */
+    public static final class PackedPropertiesBuilder {
+        private long[] data;
+        private ItemProperty[] unpacked;
+        private int cntUnpacked;
+        private int size;
+
+        public PackedPropertiesBuilder() {
+            this(8);
+        }
+
+        public PackedPropertiesBuilder(final int capacity) {
+            data = new long[2 * Math.max(capacity, 1)];
+        }
+
+        /**
+         * Start a new property with the name of the stat in itemstatcost.txt, add its values with {@link #addValue(int)}.
+         *
+         * @param id the stat id, see {@link ItemProperty#index()}
+         * @param qualityFlag the quality flag, see {@link ItemProperty#qualityFlag()}
+         * @param order the display order, see {@link ItemProperty#order()}
+         * @return the current PackedPropertiesBuilder instance
+         */
+        public PackedPropertiesBuilder addStat(final int id, final int qualityFlag, final int order) {
+            if (id < 0 || id >= STAT_IDS || qualityFlag < 0 || qualityFlag > MAX_QUALITY_FLAG || order < 0 || order > MAX_ORDER) {
+                final String name = id >= 0 && id < STAT_IDS ? StatNames.NAMES[id] : null;
+                return addUnpacked(new ItemProperty(id, name, new int[0], qualityFlag, order));
+            }
+            ensureCapacity();
+            data[2 * size] = id | (long) qualityFlag << QUALITY_FLAG_SHIFT | (long) order << ORDER_SHIFT;
+            data[2 * size + 1] = 0;
+            size++;
+            return this;
+        }
+
+        /**
+         * Add a value to the property that was added last.
+         *
+         * @param value the value
+         * @return the current PackedPropertiesBuilder instance
+         */
+        public PackedPropertiesBuilder addValue(final int value) {
+            final int last = 2 * (size - 1);
+            final long header = data[last];
+            final int count = count(header);
+            final int mode = mode(header);
+            if (mode == SHORT_VALUES && count < MAX_VALUES && fitsInShort(value)) {
+                data[last + 1] |= (value & 0xffffL) << (16 * count);
+                data[last] = header + (1L << COUNT_SHIFT);
+            } else if (count < 2 && (mode == INT_VALUES || mode == SHORT_VALUES)) {
+                // widen the earlier value, if any, from 16 to 32 bits
+                final long values = mode == INT_VALUES ? data[last + 1] : ((short) data[last + 1]) & 0xffffffffL;
+                data[last + 1] = values | (value & 0xffffffffL) << (32 * count);
+                data[last] = (header & ~(0x3L << MODE_SHIFT)) + (1L << COUNT_SHIFT) | (long) INT_VALUES << MODE_SHIFT;
+            } else {
+                final ItemProperty property = propertyAt(data, unpacked, size - 1);
+                final int[] values = Arrays.copyOf(property.values(), property.values().length + 1);
+                values[values.length - 1] = value;
+                final ItemProperty grown = new ItemProperty(property.index(), property.name(), values, property.qualityFlag(), property.order());
+                if (mode == UNPACKED) {
+                    unpacked[(int) data[last + 1]] = grown;
+                } else {
+                    size--;
+                    addUnpacked(grown);
+                }
+            }
+            return this;
+        }
+
+        /**
+         * Add a property, it is packed if it fits.
+         *
+         * @param property the property
+         * @return the current PackedPropertiesBuilder instance
+         */
+        public PackedPropertiesBuilder add(final ItemProperty property) {
+            final int[] values = property.values();
+            final int id = property.index();
+            if (values.length > MAX_VALUES || id < 0 || id >= STAT_IDS || property.qualityFlag() < 0 || property.qualityFlag() > MAX_QUALITY_FLAG
+                    || property.order() < 0 || property.order() > MAX_ORDER || property.name() == null
+                    || !property.name().equals(StatNames.NAMES[id]) || !packs(values)) {
+                return addUnpacked(property);
+            }
+            addStat(id, property.qualityFlag(), property.order());
+            for (int value : values) {
+                addValue(value);
+            }
+            return this;
+        }
+
+        // four 16-bit values or two values of any size
+        private static boolean packs(final int[] values) {
+            if (values.length <= 2) {
+                return true;
+            }
+            for (int value : values) {
+                if (!fitsInShort(value)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Add all properties, in the same order.
+         *
+         * @param properties the properties
+         * @return the current PackedPropertiesBuilder instance
+         */
+        public PackedPropertiesBuilder addAll(final Collection<ItemProperty> properties) {
+            if (properties instanceof PackedProperties packed) {
+                for (int i = 0; i < packed.size; i++) {
+                    copy(packed, i);
+                }
+            } else {
+                for (ItemProperty property : properties) {
+                    add(property);
+                }
+            }
+            return this;
+        }
+
+        /**
+         * Add the properties with the supplied quality flag, in the same order.
+         *
+         * @param properties the properties
+         * @param qualityFlag the quality flag to keep
+         * @return the current PackedPropertiesBuilder instance
+         */
+        public PackedPropertiesBuilder addAll(final PackedProperties properties, final int qualityFlag) {
+            for (int i = 0; i < properties.size; i++) {
+                if (properties.qualityFlag(i) == qualityFlag) {
+                    copy(properties, i);
+                }
+            }
+            return this;
+        }
+
+        private void copy(final PackedProperties properties, final int i) {
+            final long header = properties.data[2 * i];
+            if (mode(header) == UNPACKED) {
+                addUnpacked(properties.unpacked[(int) properties.data[2 * i + 1]]);
+            } else {
+                ensureCapacity();
+                data[2 * size] = header;
+                data[2 * size + 1] = properties.data[2 * i + 1];
+                size++;
+            }
+        }
+
+        /**
+         * Sort the properties in display order: high to low order, then high to low stat id. Properties that are equal on both keep their
+         * order, the same as sorting with {@link ReverseItemPropertyOrderComparator}.
+         *
+         * @return the current PackedPropertiesBuilder instance
+         */
+        public PackedPropertiesBuilder sortByDisplayOrder() {
+            // an insertion sort is stable and items have few properties
+            for (int i = 1; i < size; i++) {
+                final long header = data[2 * i];
+                final long values = data[2 * i + 1];
+                final long key = sortKey(data, unpacked, i);
+                int j = i - 1;
+                while (j >= 0 && sortKey(data, unpacked, j) < key) {
+                    data[2 * j + 2] = data[2 * j];
+                    data[2 * j + 3] = data[2 * j + 1];
+                    j--;
+                }
+                data[2 * j + 2] = header;
+                data[2 * j + 3] = values;
+            }
+            return this;
+        }
+
+        /**
+         * @return the number of properties added
+         */
+        public int size() {
+            return size;
+        }
+
+        /**
+         * View on the added properties without copying them, which is only valid until the builder is changed. Use {@link #build()} to keep
+         * the properties.
+         *
+         * @return the {@link PackedProperties} backed by this builder
+         */
+        public PackedProperties view() {
+            return size == 0 ? EMPTY : new PackedProperties(data, unpacked, size);
+        }
+
+        /**
+         * Build the {@link PackedProperties} with the added properties, the builder can still be used afterwards.
+         *
+         * @return the {@link PackedProperties}
+         */
+        public PackedProperties build() {
+            if (size == 0) {
+                return EMPTY;
+            }
+            return new PackedProperties(Arrays.copyOf(data, 2 * size), unpacked == null ? null : Arrays.copyOf(unpacked, cntUnpacked), size);
+        }
+
+        private PackedPropertiesBuilder addUnpacked(final ItemProperty property) {
+            if (unpacked == null) {
+                unpacked = new ItemProperty[4];
+            } else if (cntUnpacked == unpacked.length) {
+                unpacked = Arrays.copyOf(unpacked, cntUnpacked * 2);
+            }
+            unpacked[cntUnpacked] = property;
+            ensureCapacity();
+            data[2 * size] = (long) UNPACKED << MODE_SHIFT;
+            data[2 * size + 1] = cntUnpacked++;
+            size++;
+            return this;
+        }
+
+        private void ensureCapacity() {
+            if (2 * size == data.length) {
+                data = Arrays.copyOf(data, data.length * 2);
+            }
+        }
+
+        private static long sortKey(final long[] data, final ItemProperty[] unpacked, final int i) {
+            // order in the high half, the id in the low half with its sign bit flipped to keep the signed order of the comparator
+            final long header = data[2 * i];
+            if (mode(header) == UNPACKED) {
+                final ItemProperty property = unpacked[(int) data[2 * i + 1]];
+                return (long) property.order() << 32 | ((property.index() ^ Integer.MIN_VALUE) & 0xffffffffL);
+            }
+            return (long) order(header) << 32 | ((id(header) ^ Integer.MIN_VALUE) & 0xffffffffL);
+        }
+
+        private static ItemProperty propertyAt(final long[] data, final ItemProperty[] unpacked, final int i) {
+            final long header = data[2 * i];
+            if (mode(header) == UNPACKED) {
+                return unpacked[(int) data[2 * i + 1]];
+            }
+            final int[] values = new int[count(header)];
+            for (int v = 0; v < values.length; v++) {
+                values[v] = mode(header) == SHORT_VALUES ? (short) (data[2 * i + 1] >>> (16 * v)) : (int) (data[2 * i + 1] >>> (32 * v));
+            }
+            final int id = id(header);
+            return new ItemProperty(id, StatNames.NAMES[id], values, qualityFlag(header), order(header));
+        }
+    }
+}
@@ -0,0 +1,43 @@
+/*
+ * Copyright (C) 2023   Paladijn (paladijn2960+d2rsavegameparser@gmail.com)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA 
+ */
+package io.github.paladijn.d2rsavegameparser.model;
+
+import java.util.List;
+
+/**
+ * Lightweight representation of a Diablo II character, containing only the fixed-offset header, quest and waypoint data of
+ * the savegame file. This is what overviews of a savegame folder typically need, without decoding the attributes, skills
+ * and items of a full {@link D2Character}.
+ *
+ * @param fileData The {@link FileData} containing the version, size and timestamp of the file.
+ * @param name The name of the character.
+ * @param hardcore True if this is a hardcore character.
+ * @param died True if the character has died at least once.
+ * @param expansion True if this is an expansion (Lord of Destruction) character.
+ * @param actProgression The act progression of the character.
+ * @param characterType The {@link CharacterType} (class) of the character.
+ * @param level The character level.
+ * @param locations The {@link Location} per {@link Difficulty}.
+ * @param questDataPerDifficulty The {@link QuestData} per {@link Difficulty}.
+ * @param waypoints The {@link WaypointStatus} per {@link Difficulty}, empty for a character that has never been saved in-game.
+ *
+ * @author Paladijn
+ */
+public record CharacterSummary(FileData fileData, String name, boolean hardcore, boolean died, boolean expansion, byte actProgression,
+                               CharacterType characterType, byte level, List<Location> locations, List<QuestData> questDataPerDifficulty,
+                               List<WaypointStatus> waypoints) { }
@@ -17,7 +17,7 @@
  */
 package io.github.paladijn.d2rsavegameparser.model;
 
-import io.github.paladijn.d2rsavegameparser.internal.parser.ReverseItemPropertyOrderComparator;
+import io.github.paladijn.d2rsavegameparser.internal.parser.PackedProperties;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -37,25 +37,24 @@ public record Item(boolean isIdentified, boolean isSocketed, boolean isEar,
                    List<ItemProperty> properties, List<Item> socketedItems, ItemLocation location, ItemQuality quality, ItemPosition position,
                    ItemContainer container, int treasureClass, short tomeId, int invWidth, int invHeight) {
 
-    public Item {
-        try {
-            prefixIds.addAll(List.of());
-            throw new IllegalArgumentException("prefixIds should be an immutable list");
-        } catch (UnsupportedOperationException uoe) { /* expected behaviour */ }
-
-        try {
-            suffixIds.addAll(List.of());
-            throw new IllegalArgumentException("suffixIds should be an immutable list");
-        } catch (UnsupportedOperationException uoe) { /* expected behaviour */ }
+    // the classes behind List.of() and List.copyOf(), which don't need to be checked by throwing an exception
+    private static final Class<?> IMMUTABLE_LIST_12 = List.of(0).getClass();
+    private static final Class<?> IMMUTABLE_LIST_N = List.of().getClass();
 
-        try {
-            properties.addAll(List.of());
-            throw new IllegalArgumentException("properties should be an immutable list");
-        } catch (UnsupportedOperationException uoe) { /* expected behaviour */ }
+    public Item {
+        requireImmutable(prefixIds, "prefixIds");
+        requireImmutable(suffixIds, "suffixIds");
+        requireImmutable(properties, "properties");
+        requireImmutable(socketedItems, "socketedItems");
+    }
 
+    private static void requireImmutable(List<?> list, String name) {
+        if (list.getClass() == IMMUTABLE_LIST_N || list.getClass() == IMMUTABLE_LIST_12 || list instanceof PackedProperties) {
+            return;
+        }
         try {
-            socketedItems.addAll(List.of());
-            throw new IllegalArgumentException("socketedItems should be an immutable list");
+            list.addAll(List.of());
+            throw new IllegalArgumentException(name + " should be an immutable list");
         } catch (UnsupportedOperationException uoe) { /* expected behaviour */ }
     }
 
@@ -153,59 +152,60 @@ public record Item(boolean isIdentified, boolean isSocketed, boolean isEar,
      * Allows for fluent construction of a Diablo II {@link Item} with various customization options.
      */
     public static final class ItemBuilder {
-        private boolean isIdentified;
-        private boolean isSocketed;
-        private boolean isEar;
-        private boolean isSimple;
-        private boolean isEthereal;
-        private boolean isPersonalized;
-        private boolean isRuneword;
-        private boolean isThrown;
-        private boolean isTwoHanded;
-        private int version;
-        private short x;
-        private short y;
-        private String code;
-        private String type;
-        private String type2;
-        private ItemType itemType;
-        private short cntSockets;
-        private short cntFilledSockets;
-        private String fingerPrint;
-        private String guid;
-        private short level;
-        private short pictureId;
-        private final List<Short> prefixIds = new ArrayList<>();
-        private final List<Short> suffixIds = new ArrayList<>();
-        private short setItemId;
-        private short uniqueId;
-        private short rareNameId1;
-        private short rareNameId2;
-        private String itemName;
-        private String setName;
-        private String personalizedName;
-        private int baseDefense;
-        private short maxDurability;
-        private short durability;
-        private short stacks;
-        private int reqStr;
-        private int reqDex;
-        private int reqLvl;
-        private int invWidth;
-        private int invHeight;
-        private CharacterType restrictedToClass;
-
-        private final List<ItemProperty> properties = new ArrayList<>();
-        private final List<Item> socketedItems = new ArrayList<>();
-
-        private ItemLocation location;
-        private ItemQuality quality = ItemQuality.NONE;
-        private ItemPosition position;
-        private ItemContainer container;
-
-        private int treasureClass;
-
-        private short tomeId;
+        // package-private, so ItemTable.ItemTableBuilder can add the item as a row without building it
+        boolean isIdentified;
+        boolean isSocketed;
+        boolean isEar;
+        boolean isSimple;
+        boolean isEthereal;
+        boolean isPersonalized;
+        boolean isRuneword;
+        boolean isThrown;
+        boolean isTwoHanded;
+        int version;
+        short x;
+        short y;
+        String code;
+        String type;
+        String type2;
+        ItemType itemType;
+        short cntSockets;
+        short cntFilledSockets;
+        String fingerPrint;
+        String guid;
+        short level;
+        short pictureId;
+        final List<Short> prefixIds = new ArrayList<>();
+        final List<Short> suffixIds = new ArrayList<>();
+        short setItemId;
+        short uniqueId;
+        short rareNameId1;
+        short rareNameId2;
+        String itemName;
+        String setName;
+        String personalizedName;
+        int baseDefense;
+        short maxDurability;
+        short durability;
+        short stacks;
+        int reqStr;
+        int reqDex;
+        int reqLvl;
+        int invWidth;
+        int invHeight;
+        CharacterType restrictedToClass;
+
+        final PackedProperties.PackedPropertiesBuilder properties = new PackedProperties.PackedPropertiesBuilder();
+        final List<Item> socketedItems = new ArrayList<>();
+
+        ItemLocation location;
+        ItemQuality quality = ItemQuality.NONE;
+        ItemPosition position;
+        ItemContainer container;
+
+        int treasureClass;
+
+        short tomeId;
 
         /**
          * Sets the identification status of the item.
@@ -766,13 +766,13 @@ public record Item(boolean isIdentified, boolean isSocketed, boolean isEar,
          */
         public Item build() {
             // ensure the properties are stored in the correct order (high -> low) for display purposes
-            this.properties.sort(new ReverseItemPropertyOrderComparator());
+            this.properties.sortByDisplayOrder();
 
             return new Item(isIdentified, isSocketed, isEar, isSimple, isEthereal, isPersonalized, isRuneword, isThrown, isTwoHanded,
                     version, x, y, code, type, type2, itemType, cntSockets, cntFilledSockets, fingerPrint,
                     guid, level, pictureId, List.copyOf(prefixIds), List.copyOf(suffixIds),
                     setItemId, uniqueId, rareNameId1, rareNameId2, itemName, setName, personalizedName, baseDefense, maxDurability,
-                    durability, stacks, reqStr, reqDex, reqLvl, restrictedToClass, List.copyOf(properties),
+                    durability, stacks, reqStr, reqDex, reqLvl, restrictedToClass, properties.build(),
                     List.copyOf(socketedItems), location, quality, position, container, treasureClass, tomeId, invWidth, invHeight);
         }
     }
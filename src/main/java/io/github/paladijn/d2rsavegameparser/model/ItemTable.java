@@ -0,0 +1,812 @@
+/*
+ * Copyright (C) 2023   Paladijn (paladijn2960+d2rsavegameparser@gmail.com)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA 
+ */
+package io.github.paladijn.d2rsavegameparser.model;
+
+import io.github.paladijn.d2rsavegameparser.internal.parser.PackedProperties;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Columnar representation of a (large) number of {@link Item}s, such as all items of an account. Every item is a row, the fields of the
+ * items are stored in primitive arrays per column and all texts (codes, names, etc.) are stored once per table. The properties of all
+ * items share a single pool of columns as well. This takes a fraction of the heap of the equivalent {@link Item}s and makes a scan over
+ * one or a few columns of all items cache-friendly.
+ * <p>
+ * The items socketed into another item directly follow their parent as rows of their own, see {@link #parent(int)}. Use {@link #item(int)}
+ * or {@link #items()} to convert back to {@link Item}s, this is lossless. Instances are immutable, use the {@link ItemTableBuilder} (or
+ * {@link #of(Collection)}) to create them.
+ *
+ * @author Paladijn
+ */
+public final class ItemTable {
+
+    private static final ItemType[] ITEM_TYPES = ItemType.values();
+    private static final ItemLocation[] LOCATIONS = ItemLocation.values();
+    private static final ItemQuality[] QUALITIES = ItemQuality.values();
+    private static final ItemPosition[] POSITIONS = ItemPosition.values();
+    private static final ItemContainer[] CONTAINERS = ItemContainer.values();
+    private static final CharacterType[] CHARACTER_TYPES = CharacterType.values();
+
+    // enums are stored as their ordinal + 1, leaving 0 for null
+    private static final int ITEM_TYPE = 0;
+    private static final int LOCATION = 1;
+    private static final int QUALITY = 2;
+    private static final int POSITION = 3;
+    private static final int CONTAINER = 4;
+    private static final int RESTRICTED_TO_CLASS = 5;
+    private static final int CNT_PREFIXES = 6;
+    private static final int CNT_SUFFIXES = 7;
+    private static final int INV_WIDTH = 8;
+    private static final int INV_HEIGHT = 9;
+    private static final int BYTE_COLUMNS = 10;
+
+    private static final int X = 0;
+    private static final int Y = 1;
+    private static final int CNT_SOCKETS = 2;
+    private static final int CNT_FILLED_SOCKETS = 3;
+    private static final int LEVEL = 4;
+    private static final int PICTURE_ID = 5;
+    private static final int SET_ITEM_ID = 6;
+    private static final int UNIQUE_ID = 7;
+    private static final int RARE_NAME_ID1 = 8;
+    private static final int RARE_NAME_ID2 = 9;
+    private static final int MAX_DURABILITY = 10;
+    private static final int DURABILITY = 11;
+    private static final int STACKS = 12;
+    private static final int TOME_ID = 13;
+    private static final int FLAGS = 14;
+    private static final int VERSION = 15;
+    private static final int BASE_DEFENSE = 16;
+    private static final int REQ_STR = 17;
+    private static final int REQ_DEX = 18;
+    private static final int REQ_LVL = 19;
+    private static final int TREASURE_CLASS = 20;
+    private static final int SPAN = 21;
+    private static final int CNT_PROPERTIES = 22;
+    private static final int SHORT_COLUMNS = 23;
+
+    // texts are stored as their index in the strings of the table, -1 for null
+    private static final int CODE = 0;
+    private static final int TYPE = 1;
+    private static final int TYPE2 = 2;
+    private static final int ITEM_NAME = 3;
+    private static final int SET_NAME = 4;
+    private static final int PERSONALIZED_NAME = 5;
+    private static final int GUID = 6;
+    private static final int FINGER_PRINT = 7;
+    private static final int PARENT = 8;
+    private static final int AFFIX_START = 9;
+    private static final int PROPERTY_START = 10;
+    private static final int INT_COLUMNS = 11;
+
+    private static final int IDENTIFIED = 1;
+    private static final int SOCKETED = 1 << 1;
+    private static final int EAR = 1 << 2;
+    private static final int SIMPLE = 1 << 3;
+    private static final int ETHEREAL = 1 << 4;
+    private static final int PERSONALIZED = 1 << 5;
+    private static final int RUNEWORD = 1 << 6;
+    private static final int THROWN = 1 << 7;
+    private static final int TWO_HANDED = 1 << 8;
+    // the fingerprint is stored as an int instead of a string index
+    private static final int FINGER_PRINT_VALUE = 1 << 9;
+
+    private final int size;
+    private final byte[][] bytes;
+    private final short[][] shorts;
+    private final int[][] ints;
+    private final int[] topLevelRows;
+
+    private final short[] affixes;
+
+    // the property pool, the values of property p are at valueStarts[p] up to valueStarts[p + 1]
+    private final int propertyCount;
+    private final short[] propertyIds;
+    private final short[] propertyNames;
+    private final byte[] propertyQualityFlags;
+    private final short[] propertyOrders;
+    private final int[] valueStarts;
+    private final int[] values;
+
+    private final String[] strings;
+    private final String[] propertyNameStrings;
+
+    private ItemTable(final ItemTableBuilder builder) {
+        size = builder.size;
+        bytes = new byte[BYTE_COLUMNS][];
+        for (int c = 0; c < BYTE_COLUMNS; c++) {
+            bytes[c] = Arrays.copyOf(builder.bytes[c], size);
+        }
+        shorts = new short[SHORT_COLUMNS][];
+        for (int c = 0; c < SHORT_COLUMNS; c++) {
+            shorts[c] = Arrays.copyOf(builder.shorts[c], size);
+        }
+        ints = new int[INT_COLUMNS][];
+        for (int c = 0; c < INT_COLUMNS; c++) {
+            ints[c] = Arrays.copyOf(builder.ints[c], size);
+        }
+        topLevelRows = Arrays.copyOf(builder.topLevelRows, builder.topLevelCount);
+        affixes = Arrays.copyOf(builder.affixes, builder.affixCount);
+        propertyCount = builder.propertyCount;
+        propertyIds = Arrays.copyOf(builder.propertyIds, propertyCount);
+        propertyNames = Arrays.copyOf(builder.propertyNames, propertyCount);
+        propertyQualityFlags = Arrays.copyOf(builder.propertyQualityFlags, propertyCount);
+        propertyOrders = Arrays.copyOf(builder.propertyOrders, propertyCount);
+        valueStarts = Arrays.copyOf(builder.valueStarts, propertyCount + 1);
+        valueStarts[propertyCount] = builder.valueCount;
+        values = Arrays.copyOf(builder.values, builder.valueCount);
+        strings = builder.strings.toArray(new String[0]);
+        propertyNameStrings = builder.propertyNameStrings.toArray(new String[0]);
+    }
+
+    /**
+     * Create a table of the items, including the items socketed into them.
+     * @param items the {@link Item}s to store
+     * @return the {@link ItemTable}
+     */
+    public static ItemTable of(final Collection<Item> items) {
+        return new ItemTableBuilder().addAll(items).build();
+    }
+
+    /**
+     * @return the number of rows, including the socketed items
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return the number of items that are not socketed into another item
+     */
+    public int topLevelCount() {
+        return topLevelRows.length;
+    }
+
+    /**
+     * @param index the index of the top-level item, in the order they were added
+     * @return the row of the top-level item
+     */
+    public int topLevelRow(final int index) {
+        return topLevelRows[index];
+    }
+
+    /**
+     * @param row the row
+     * @return the row of the item this item is socketed into, or -1 for a top-level item
+     */
+    public int parent(final int row) {
+        return ints[PARENT][row];
+    }
+
+    /**
+     * @param row the row
+     * @return the item code, see {@link Item#code()}
+     */
+    public String code(final int row) {
+        return string(ints[CODE][row]);
+    }
+
+    /**
+     * @param row the row
+     * @return the item type, see {@link Item#type()}
+     */
+    public String type(final int row) {
+        return string(ints[TYPE][row]);
+    }
+
+    /**
+     * @param row the row
+     * @return the name of the item, see {@link Item#itemName()}
+     */
+    public String itemName(final int row) {
+        return string(ints[ITEM_NAME][row]);
+    }
+
+    /**
+     * @param row the row
+     * @return the {@link ItemQuality}
+     */
+    public ItemQuality quality(final int row) {
+        return decode(QUALITIES, bytes[QUALITY][row]);
+    }
+
+    /**
+     * @param row the row
+     * @return the {@link ItemLocation}
+     */
+    public ItemLocation location(final int row) {
+        return decode(LOCATIONS, bytes[LOCATION][row]);
+    }
+
+    /**
+     * @param row the row
+     * @return the {@link ItemPosition}
+     */
+    public ItemPosition position(final int row) {
+        return decode(POSITIONS, bytes[POSITION][row]);
+    }
+
+    /**
+     * @param row the row
+     * @return the {@link ItemContainer}
+     */
+    public ItemContainer container(final int row) {
+        return decode(CONTAINERS, bytes[CONTAINER][row]);
+    }
+
+    /**
+     * @param row the row
+     * @return the x coordinate of the item in its container
+     */
+    public short x(final int row) {
+        return shorts[X][row];
+    }
+
+    /**
+     * @param row the row
+     * @return the y coordinate of the item in its container
+     */
+    public short y(final int row) {
+        return shorts[Y][row];
+    }
+
+    /**
+     * @param row the row
+     * @return the id of the unique item, see {@link Item#uniqueId()}
+     */
+    public short uniqueId(final int row) {
+        return shorts[UNIQUE_ID][row];
+    }
+
+    /**
+     * @param row the row
+     * @return the id of the set item, see {@link Item#setItemId()}
+     */
+    public short setItemId(final int row) {
+        return shorts[SET_ITEM_ID][row];
+    }
+
+    /**
+     * @param row the row
+     * @return the number of sockets
+     */
+    public short cntSockets(final int row) {
+        return shorts[CNT_SOCKETS][row];
+    }
+
+    /**
+     * @param row the row
+     * @return the number of filled sockets
+     */
+    public short cntFilledSockets(final int row) {
+        return shorts[CNT_FILLED_SOCKETS][row];
+    }
+
+    /**
+     * @param row the row
+     * @return the item level
+     */
+    public short level(final int row) {
+        return shorts[LEVEL][row];
+    }
+
+    /**
+     * @param row the row
+     * @return true for an ethereal item
+     */
+    public boolean isEthereal(final int row) {
+        return (shorts[FLAGS][row] & ETHEREAL) != 0;
+    }
+
+    /**
+     * @param row the row
+     * @return true for a runeword
+     */
+    public boolean isRuneword(final int row) {
+        return (shorts[FLAGS][row] & RUNEWORD) != 0;
+    }
+
+    /**
+     * @param row the row
+     * @return the number of properties of the item
+     */
+    public int propertyCount(final int row) {
+        return shorts[CNT_PROPERTIES][row];
+    }
+
+    /**
+     * @param row the row
+     * @param property the index of the property of the item, in the order of {@link Item#properties()}
+     * @return the id of the property in itemstatcost.txt, see {@link ItemProperty#index()}
+     */
+    public int propertyId(final int row, final int property) {
+        return propertyIds[propertyIndex(row, property)];
+    }
+
+    /**
+     * @param row the row
+     * @param property the index of the property of the item, in the order of {@link Item#properties()}
+     * @return the quality flag of the property, see {@link ItemProperty#qualityFlag()}
+     */
+    public int propertyQualityFlag(final int row, final int property) {
+        return propertyQualityFlags[propertyIndex(row, property)];
+    }
+
+    /**
+     * @param row the row
+     * @param property the index of the property of the item, in the order of {@link Item#properties()}
+     * @return the number of values of the property
+     */
+    public int propertyValueCount(final int row, final int property) {
+        final int index = propertyIndex(row, property);
+        return valueStarts[index + 1] - valueStarts[index];
+    }
+
+    /**
+     * @param row the row
+     * @param property the index of the property of the item, in the order of {@link Item#properties()}
+     * @param value the index of the value
+     * @return the value of the property, see {@link ItemProperty#values()}
+     */
+    public int propertyValue(final int row, final int property, final int value) {
+        final int index = propertyIndex(row, property);
+        if (value < 0 || value >= valueStarts[index + 1] - valueStarts[index]) {
+            throw new IndexOutOfBoundsException("value %d of property %d of row %d".formatted(value, property, row));
+        }
+        return values[valueStarts[index] + value];
+    }
+
+    private int propertyIndex(final int row, final int property) {
+        if (property < 0 || property >= shorts[CNT_PROPERTIES][row]) {
+            throw new IndexOutOfBoundsException("property %d of row %d".formatted(property, row));
+        }
+        return ints[PROPERTY_START][row] + property;
+    }
+
+    /**
+     * Convert all top-level rows back to {@link Item}s.
+     * @return an immutable list of the {@link Item}s, in the order they were added
+     */
+    public List<Item> items() {
+        final List<Item> result = new ArrayList<>(topLevelRows.length);
+        for (int row : topLevelRows) {
+            result.add(item(row));
+        }
+        return List.copyOf(result);
+    }
+
+    /**
+     * Convert a row back to an {@link Item}, including the items socketed into it.
+     * @param row the row
+     * @return the {@link Item}
+     */
+    public Item item(final int row) {
+        final int flags = shorts[FLAGS][row];
+
+        final List<Short> prefixIds = new ArrayList<>(bytes[CNT_PREFIXES][row]);
+        final List<Short> suffixIds = new ArrayList<>(bytes[CNT_SUFFIXES][row]);
+        int affix = ints[AFFIX_START][row];
+        for (int i = 0; i < bytes[CNT_PREFIXES][row]; i++) {
+            prefixIds.add(affixes[affix++]);
+        }
+        for (int i = 0; i < bytes[CNT_SUFFIXES][row]; i++) {
+            suffixIds.add(affixes[affix++]);
+        }
+
+        final List<ItemProperty> itemProperties = new ArrayList<>(shorts[CNT_PROPERTIES][row]);
+        for (int p = ints[PROPERTY_START][row]; p < ints[PROPERTY_START][row] + shorts[CNT_PROPERTIES][row]; p++) {
+            final String name = propertyNames[p] < 0 ? null : propertyNameStrings[propertyNames[p]];
+            itemProperties.add(new ItemProperty(propertyIds[p], name, Arrays.copyOfRange(values, valueStarts[p], valueStarts[p + 1]),
+                    propertyQualityFlags[p], propertyOrders[p]));
+        }
+
+        final List<Item> socketedItems = new ArrayList<>();
+        for (int child = row + 1; child < row + shorts[SPAN][row]; child += shorts[SPAN][child]) {
+            socketedItems.add(item(child));
+        }
+
+        final String fingerPrint = (flags & FINGER_PRINT_VALUE) != 0
+                ? "0x" + Integer.toHexString(ints[FINGER_PRINT][row])
+                : string(ints[FINGER_PRINT][row]);
+
+        return new Item((flags & IDENTIFIED) != 0, (flags & SOCKETED) != 0, (flags & EAR) != 0,
+                (flags & SIMPLE) != 0, (flags & ETHEREAL) != 0, (flags & PERSONALIZED) != 0, (flags & RUNEWORD) != 0,
+                (flags & THROWN) != 0, (flags & TWO_HANDED) != 0,
+                shorts[VERSION][row], shorts[X][row], shorts[Y][row], string(ints[CODE][row]), string(ints[TYPE][row]), string(ints[TYPE2][row]),
+                decode(ITEM_TYPES, bytes[ITEM_TYPE][row]), shorts[CNT_SOCKETS][row], shorts[CNT_FILLED_SOCKETS][row], fingerPrint,
+                string(ints[GUID][row]), shorts[LEVEL][row], shorts[PICTURE_ID][row], List.copyOf(prefixIds), List.copyOf(suffixIds),
+                shorts[SET_ITEM_ID][row], shorts[UNIQUE_ID][row], shorts[RARE_NAME_ID1][row], shorts[RARE_NAME_ID2][row],
+                string(ints[ITEM_NAME][row]), string(ints[SET_NAME][row]), string(ints[PERSONALIZED_NAME][row]), shorts[BASE_DEFENSE][row],
+                shorts[MAX_DURABILITY][row], shorts[DURABILITY][row], shorts[STACKS][row], shorts[REQ_STR][row], shorts[REQ_DEX][row],
+                shorts[REQ_LVL][row], decode(CHARACTER_TYPES, bytes[RESTRICTED_TO_CLASS][row]), List.copyOf(itemProperties),
+                List.copyOf(socketedItems), decode(LOCATIONS, bytes[LOCATION][row]), decode(QUALITIES, bytes[QUALITY][row]),
+                decode(POSITIONS, bytes[POSITION][row]), decode(CONTAINERS, bytes[CONTAINER][row]), shorts[TREASURE_CLASS][row],
+                shorts[TOME_ID][row], bytes[INV_WIDTH][row], bytes[INV_HEIGHT][row]);
+    }
+
+    private String string(final int index) {
+        return index < 0 ? null : strings[index];
+    }
+
+    private static <E extends Enum<E>> E decode(final E[] constants, final byte value) {
+        return value == 0 ? null : constants[value - 1];
+    }
+
+    private static byte encode(final Enum<?> value) {
+        return value == null ? 0 : (byte) (value.ordinal() + 1);
+    }
+
+    @Override
+    public String toString() {
+        return "ItemTable(size=%d, topLevelCount=%d, propertyCount=%d, strings=%d)".formatted(size, topLevelRows.length, propertyCount, strings.length);
+    }
+
+    /**
+     * Builder class for creating instances of the {@link ItemTable} class, the items are appended as rows. The builder can be used to add to
+     * the same table across multiple savegames, for example with {@link io.github.paladijn.d2rsavegameparser.parser.CharacterParser}, and can
+     * be built more than once. The numeric fields are stored in the smallest type that fits the values of the savegame format, adding an
+     * item with a value outside of that range results in an {@link IllegalArgumentException}.
+     */
+    public static final class ItemTableBuilder {
+
+        private int size;
+        private final byte[][] bytes = new byte[BYTE_COLUMNS][16];
+        private final short[][] shorts = new short[SHORT_COLUMNS][16];
+        private final int[][] ints = new int[INT_COLUMNS][16];
+
+        private int[] topLevelRows = new int[16];
+        private int topLevelCount;
+
+        private short[] affixes = new short[16];
+        private int affixCount;
+
+        private int propertyCount;
+        private short[] propertyIds = new short[64];
+        private short[] propertyNames = new short[64];
+        private byte[] propertyQualityFlags = new byte[64];
+        private short[] propertyOrders = new short[64];
+        private int[] valueStarts = new int[65];
+
+        private int[] values = new int[64];
+        private int valueCount;
+
+        private final Map<String, Integer> stringIndices = new HashMap<>();
+        private final List<String> strings = new ArrayList<>();
+
+        private final Map<String, Integer> propertyNameIndices = new HashMap<>();
+        private final List<String> propertyNameStrings = new ArrayList<>();
+
+        /**
+         * Add an item as a row, along with the items socketed into it.
+         * @param item the {@link Item} to add
+         * @return The current ItemTableBuilder instance.
+         */
+        public ItemTableBuilder add(final Item item) {
+            if (topLevelCount == topLevelRows.length) {
+                topLevelRows = Arrays.copyOf(topLevelRows, topLevelCount * 2);
+            }
+            topLevelRows[topLevelCount++] = size;
+            addRow(item, -1);
+            return this;
+        }
+
+        /**
+         * Add the item that is being built as a row, along with the items socketed into it, without building the {@link Item} itself. This
+         * sorts the properties of the builder in display order, the same as {@link Item.ItemBuilder#build()} does.
+         * @param item the {@link Item.ItemBuilder} of the item to add
+         * @return The current ItemTableBuilder instance.
+         */
+        public ItemTableBuilder add(final Item.ItemBuilder item) {
+            if (topLevelCount == topLevelRows.length) {
+                topLevelRows = Arrays.copyOf(topLevelRows, topLevelCount * 2);
+            }
+            topLevelRows[topLevelCount++] = size;
+            addRow(item);
+            return this;
+        }
+
+        /**
+         * Add items as rows, along with the items socketed into them.
+         * @param items the {@link Item}s to add
+         * @return The current ItemTableBuilder instance.
+         */
+        public ItemTableBuilder addAll(final Collection<Item> items) {
+            for (Item item : items) {
+                add(item);
+            }
+            return this;
+        }
+
+        private void addRow(final Item item, final int parent) {
+            if (size == ints[0].length) {
+                grow();
+            }
+            final int row = size++;
+
+            bytes[ITEM_TYPE][row] = encode(item.itemType());
+            bytes[LOCATION][row] = encode(item.location());
+            bytes[QUALITY][row] = encode(item.quality());
+            bytes[POSITION][row] = encode(item.position());
+            bytes[CONTAINER][row] = encode(item.container());
+            bytes[RESTRICTED_TO_CLASS][row] = encode(item.restrictedToClass());
+            bytes[CNT_PREFIXES][row] = toByte(item.prefixIds().size(), "prefixIds");
+            bytes[CNT_SUFFIXES][row] = toByte(item.suffixIds().size(), "suffixIds");
+            bytes[INV_WIDTH][row] = toByte(item.invWidth(), "invWidth");
+            bytes[INV_HEIGHT][row] = toByte(item.invHeight(), "invHeight");
+
+            shorts[X][row] = item.x();
+            shorts[Y][row] = item.y();
+            shorts[CNT_SOCKETS][row] = item.cntSockets();
+            shorts[CNT_FILLED_SOCKETS][row] = item.cntFilledSockets();
+            shorts[LEVEL][row] = item.level();
+            shorts[PICTURE_ID][row] = item.pictureId();
+            shorts[SET_ITEM_ID][row] = item.setItemId();
+            shorts[UNIQUE_ID][row] = item.uniqueId();
+            shorts[RARE_NAME_ID1][row] = item.rareNameId1();
+            shorts[RARE_NAME_ID2][row] = item.rareNameId2();
+            shorts[MAX_DURABILITY][row] = item.maxDurability();
+            shorts[DURABILITY][row] = item.durability();
+            shorts[STACKS][row] = item.stacks();
+            shorts[TOME_ID][row] = item.tomeId();
+
+            int flags = (item.isIdentified() ? IDENTIFIED : 0)
+                    | (item.isSocketed() ? SOCKETED : 0)
+                    | (item.isEar() ? EAR : 0)
+                    | (item.isSimple() ? SIMPLE : 0)
+                    | (item.isEthereal() ? ETHEREAL : 0)
+                    | (item.isPersonalized() ? PERSONALIZED : 0)
+                    | (item.isRuneword() ? RUNEWORD : 0)
+                    | (item.isThrown() ? THROWN : 0)
+                    | (item.isTwoHanded() ? TWO_HANDED : 0);
+            final Integer fingerPrint = fingerPrintValue(item.fingerPrint());
+            if (fingerPrint != null) {
+                flags |= FINGER_PRINT_VALUE;
+                ints[FINGER_PRINT][row] = fingerPrint;
+            } else {
+                ints[FINGER_PRINT][row] = stringIndex(item.fingerPrint());
+            }
+            shorts[FLAGS][row] = (short) flags;
+            shorts[VERSION][row] = toShort(item.version(), "version");
+            shorts[BASE_DEFENSE][row] = toShort(item.baseDefense(), "baseDefense");
+            shorts[REQ_STR][row] = toShort(item.reqStr(), "reqStr");
+            shorts[REQ_DEX][row] = toShort(item.reqDex(), "reqDex");
+            shorts[REQ_LVL][row] = toShort(item.reqLvl(), "reqLvl");
+            shorts[TREASURE_CLASS][row] = toShort(item.treasureClass(), "treasureClass");
+            shorts[CNT_PROPERTIES][row] = toShort(item.properties().size(), "properties");
+            ints[CODE][row] = stringIndex(item.code());
+            ints[TYPE][row] = stringIndex(item.type());
+            ints[TYPE2][row] = stringIndex(item.type2());
+            ints[ITEM_NAME][row] = stringIndex(item.itemName());
+            ints[SET_NAME][row] = stringIndex(item.setName());
+            ints[PERSONALIZED_NAME][row] = stringIndex(item.personalizedName());
+            ints[GUID][row] = stringIndex(item.guid());
+            ints[PARENT][row] = parent;
+
+            ints[AFFIX_START][row] = affixCount;
+            for (short prefix : item.prefixIds()) {
+                addAffix(prefix);
+            }
+            for (short suffix : item.suffixIds()) {
+                addAffix(suffix);
+            }
+
+            ints[PROPERTY_START][row] = propertyCount;
+            final PackedProperties properties = PackedProperties.of(item.properties());
+            for (int i = 0; i < properties.size(); i++) {
+                addProperty(properties, i);
+            }
+
+            for (Item socketedItem : item.socketedItems()) {
+                addRow(socketedItem, row);
+            }
+            shorts[SPAN][row] = toShort(size - row, "socketedItems");
+        }
+
+        // mirrors addRow(Item, int) for a top-level item, reading the fields of the builder instead of the built item
+        private void addRow(final Item.ItemBuilder item) {
+            if (size == ints[0].length) {
+                grow();
+            }
+            final int row = size++;
+
+            bytes[ITEM_TYPE][row] = encode(item.itemType);
+            bytes[LOCATION][row] = encode(item.location);
+            bytes[QUALITY][row] = encode(item.quality);
+            bytes[POSITION][row] = encode(item.position);
+            bytes[CONTAINER][row] = encode(item.container);
+            bytes[RESTRICTED_TO_CLASS][row] = encode(item.restrictedToClass);
+            bytes[CNT_PREFIXES][row] = toByte(item.prefixIds.size(), "prefixIds");
+            bytes[CNT_SUFFIXES][row] = toByte(item.suffixIds.size(), "suffixIds");
+            bytes[INV_WIDTH][row] = toByte(item.invWidth, "invWidth");
+            bytes[INV_HEIGHT][row] = toByte(item.invHeight, "invHeight");
+
+            shorts[X][row] = item.x;
+            shorts[Y][row] = item.y;
+            shorts[CNT_SOCKETS][row] = item.cntSockets;
+            shorts[CNT_FILLED_SOCKETS][row] = item.cntFilledSockets;
+            shorts[LEVEL][row] = item.level;
+            shorts[PICTURE_ID][row] = item.pictureId;
+            shorts[SET_ITEM_ID][row] = item.setItemId;
+            shorts[UNIQUE_ID][row] = item.uniqueId;
+            shorts[RARE_NAME_ID1][row] = item.rareNameId1;
+            shorts[RARE_NAME_ID2][row] = item.rareNameId2;
+            shorts[MAX_DURABILITY][row] = item.maxDurability;
+            shorts[DURABILITY][row] = item.durability;
+            shorts[STACKS][row] = item.stacks;
+            shorts[TOME_ID][row] = item.tomeId;
+
+            int flags = (item.isIdentified ? IDENTIFIED : 0)
+                    | (item.isSocketed ? SOCKETED : 0)
+                    | (item.isEar ? EAR : 0)
+                    | (item.isSimple ? SIMPLE : 0)
+                    | (item.isEthereal ? ETHEREAL : 0)
+                    | (item.isPersonalized ? PERSONALIZED : 0)
+                    | (item.isRuneword ? RUNEWORD : 0)
+                    | (item.isThrown ? THROWN : 0)
+                    | (item.isTwoHanded ? TWO_HANDED : 0);
+            final Integer fingerPrint = fingerPrintValue(item.fingerPrint);
+            if (fingerPrint != null) {
+                flags |= FINGER_PRINT_VALUE;
+                ints[FINGER_PRINT][row] = fingerPrint;
+            } else {
+                ints[FINGER_PRINT][row] = stringIndex(item.fingerPrint);
+            }
+            shorts[FLAGS][row] = (short) flags;
+            shorts[VERSION][row] = toShort(item.version, "version");
+            shorts[BASE_DEFENSE][row] = toShort(item.baseDefense, "baseDefense");
+            shorts[REQ_STR][row] = toShort(item.reqStr, "reqStr");
+            shorts[REQ_DEX][row] = toShort(item.reqDex, "reqDex");
+            shorts[REQ_LVL][row] = toShort(item.reqLvl, "reqLvl");
+            shorts[TREASURE_CLASS][row] = toShort(item.treasureClass, "treasureClass");
+            shorts[CNT_PROPERTIES][row] = toShort(item.properties.size(), "properties");
+            ints[CODE][row] = stringIndex(item.code);
+            ints[TYPE][row] = stringIndex(item.type);
+            ints[TYPE2][row] = stringIndex(item.type2);
+            ints[ITEM_NAME][row] = stringIndex(item.itemName);
+            ints[SET_NAME][row] = stringIndex(item.setName);
+            ints[PERSONALIZED_NAME][row] = stringIndex(item.personalizedName);
+            ints[GUID][row] = stringIndex(item.guid);
+            ints[PARENT][row] = -1;
+
+            ints[AFFIX_START][row] = affixCount;
+            for (short prefix : item.prefixIds) {
+                addAffix(prefix);
+            }
+            for (short suffix : item.suffixIds) {
+                addAffix(suffix);
+            }
+
+            ints[PROPERTY_START][row] = propertyCount;
+            final PackedProperties properties = item.properties.sortByDisplayOrder().view();
+            for (int i = 0; i < properties.size(); i++) {
+                addProperty(properties, i);
+            }
+
+            for (Item socketedItem : item.socketedItems) {
+                addRow(socketedItem, row);
+            }
+            shorts[SPAN][row] = toShort(size - row, "socketedItems");
+        }
+
+        private void addAffix(final short affix) {
+            if (affixCount == affixes.length) {
+                affixes = Arrays.copyOf(affixes, affixCount * 2);
+            }
+            affixes[affixCount++] = affix;
+        }
+
+        private void addProperty(final PackedProperties properties, final int i) {
+            if (propertyCount == propertyIds.length) {
+                final int capacity = propertyCount * 2;
+                propertyIds = Arrays.copyOf(propertyIds, capacity);
+                propertyNames = Arrays.copyOf(propertyNames, capacity);
+                propertyQualityFlags = Arrays.copyOf(propertyQualityFlags, capacity);
+                propertyOrders = Arrays.copyOf(propertyOrders, capacity);
+                valueStarts = Arrays.copyOf(valueStarts, capacity + 1);
+            }
+            final int index = propertyCount++;
+            propertyIds[index] = toShort(properties.index(i), "property index");
+            propertyNames[index] = toShort(propertyNameIndex(properties.name(i)), "property names");
+            propertyQualityFlags[index] = toByte(properties.qualityFlag(i), "property qualityFlag");
+            propertyOrders[index] = toShort(properties.order(i), "property order");
+            valueStarts[index] = valueCount;
+
+            final int cntValues = properties.valueCount(i);
+            if (valueCount + cntValues > values.length) {
+                values = Arrays.copyOf(values, Math.max(values.length * 2, valueCount + cntValues));
+            }
+            for (int v = 0; v < cntValues; v++) {
+                values[valueCount++] = properties.value(i, v);
+            }
+        }
+
+        private void grow() {
+            final int capacity = size * 2;
+            for (int c = 0; c < BYTE_COLUMNS; c++) {
+                bytes[c] = Arrays.copyOf(bytes[c], capacity);
+            }
+            for (int c = 0; c < SHORT_COLUMNS; c++) {
+                shorts[c] = Arrays.copyOf(shorts[c], capacity);
+            }
+            for (int c = 0; c < INT_COLUMNS; c++) {
+                ints[c] = Arrays.copyOf(ints[c], capacity);
+            }
+        }
+
+        private int propertyNameIndex(final String name) {
+            if (name == null) {
+                return -1;
+            }
+            return propertyNameIndices.computeIfAbsent(name, key -> {
+                propertyNameStrings.add(key);
+                return propertyNameStrings.size() - 1;
+            });
+        }
+
+        private static byte toByte(final int value, final String field) {
+            if (value < Byte.MIN_VALUE || value > Byte.MAX_VALUE) {
+                throw new IllegalArgumentException("%s %d does not fit in an ItemTable".formatted(field, value));
+            }
+            return (byte) value;
+        }
+
+        private static short toShort(final int value, final String field) {
+            if (value < Short.MIN_VALUE || value > Short.MAX_VALUE) {
+                throw new IllegalArgumentException("%s %d does not fit in an ItemTable".formatted(field, value));
+            }
+            return (short) value;
+        }
+
+        private int stringIndex(final String value) {
+            if (value == null) {
+                return -1;
+            }
+            return stringIndices.computeIfAbsent(value, key -> {
+                strings.add(key);
+                return strings.size() - 1;
+            });
+        }
+
+        // the parser stores the fingerprint as "0x" followed by the hexadecimal int, anything else is kept as text
+        private static Integer fingerPrintValue(final String fingerPrint) {
+            if (fingerPrint == null || !fingerPrint.startsWith("0x") || fingerPrint.length() < 3 || fingerPrint.length() > 10) {
+                return null;
+            }
+            try {
+                final int value = Integer.parseUnsignedInt(fingerPrint, 2, fingerPrint.length(), 16);
+                return fingerPrint.equals("0x" + Integer.toHexString(value)) ? value : null;
+            } catch (NumberFormatException nfe) {
+                return null;
+            }
+        }
+
+        /**
+         * Build the {@link ItemTable} instance with the rows added so far.
+         *
+         * @return The constructed {@link ItemTable} instance.
+         */
+        public ItemTable build() {
+            return new ItemTable(this);
+        }
+    }
+}
@@ -19,6 +19,7 @@ package io.github.paladijn.d2rsavegameparser.parser;
 
 import io.github.paladijn.d2rsavegameparser.internal.parser.AttributeParser;
 import io.github.paladijn.d2rsavegameparser.internal.parser.BitReader;
+import io.github.paladijn.d2rsavegameparser.model.CharacterSummary;
 import io.github.paladijn.d2rsavegameparser.model.CharacterType;
 import io.github.paladijn.d2rsavegameparser.model.D2Character;
 import io.github.paladijn.d2rsavegameparser.model.Difficulty;
@@ -28,6 +29,7 @@ import io.github.paladijn.d2rsavegameparser.model.ItemLocation;
 import io.github.paladijn.d2rsavegameparser.model.ItemPosition;
 import io.github.paladijn.d2rsavegameparser.model.ItemProperty;
 import io.github.paladijn.d2rsavegameparser.model.ItemQuality;
+import io.github.paladijn.d2rsavegameparser.model.ItemTable;
 import io.github.paladijn.d2rsavegameparser.model.Location;
 import io.github.paladijn.d2rsavegameparser.model.Mercenary;
 import io.github.paladijn.d2rsavegameparser.model.QuestData;
@@ -41,9 +43,12 @@ import io.github.paladijn.d2rsavegameparser.txt.TXTProperties;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Executor;
 
 
 /**
@@ -72,6 +77,17 @@ public final class CharacterParser {
         attributeParser = new AttributeParser();
     }
 
+    /**
+     * Constructor for the {@link CharacterParser} that decodes larger item lists in parallel. The item boundaries are scanned first, after
+     * which batches of items are decoded on the executor and reassembled in their original order.
+     * @param printItemBytes helper boolean to log the bytes[] per Item for unit tests and debugging.
+     * @param itemExecutor the {@link Executor} to decode the items on, for example a {@link java.util.concurrent.ForkJoinPool}
+     */
+    public CharacterParser(boolean printItemBytes, Executor itemExecutor) {
+        itemParser = new ItemParser(printItemBytes, Objects.requireNonNull(itemExecutor, "itemExecutor"));
+        attributeParser = new AttributeParser();
+    }
+
     /**
      * parse the {@link ByteBuffer} of a savegame file to a {@link D2Character}.
      * @param buffer a {@link ByteBuffer} of a Diablo II: resurrected savegame file
@@ -79,38 +95,32 @@ public final class CharacterParser {
      * @throws ParseException in case there was an issue parsing the buffer
      */
     public D2Character parse(final ByteBuffer buffer) {
+        return parse(buffer, ParseOptions.all());
+    }
 
-        buffer.order(ByteOrder.LITTLE_ENDIAN);
-
-        if (buffer.limit() < 335) {
-            throw new ParseException("Less than 335 bytes read (%d), either the file is locked, or this is not a valid .d2s file".formatted(buffer.limit()));
-        }
-
-        final int header = buffer.getInt(0);
-        if (header != 0xaa55aa55) {
-            throw new ParseException("Wrong fileHeader %d, this is not a Diablo II saveGame file".formatted(header));
-        }
-        final FileData fileData = getFileData(buffer);
+    /**
+     * parse the {@link ByteBuffer} of a savegame file to a {@link D2Character}, only materializing the sections requested in the
+     * {@link ParseOptions}. Sections that are not requested are skipped by offset and left empty (or null) in the result.
+     * @param buffer a {@link ByteBuffer} of a Diablo II: resurrected savegame file
+     * @param options the {@link ParseOptions} with the sections to parse
+     * @return a {@link D2Character} filled with the requested sections
+     * @throws ParseException in case there was an issue parsing the buffer
+     */
+    public D2Character parse(final ByteBuffer buffer, final ParseOptions options) {
 
-        D2Character.D2CharacterBuilder characterBuilder = new D2Character.D2CharacterBuilder().fileData(fileData);
+        final CharacterSummary summary = parseSummary(buffer);
 
-        if (fileData.version() != 99) {
-            throw new ParseException("Unsupported version: " + fileData.version());
-        }
-        characterBuilder
+        D2Character.D2CharacterBuilder characterBuilder = new D2Character.D2CharacterBuilder()
+                .fileData(summary.fileData())
+                .name(summary.name())
                 .parseCharacterStatus(buffer.get(36))
-                .actProgression(buffer.get(37));
-
-        final CharacterType characterType = CharacterType.values()[buffer.get(40)];
-
-        characterBuilder.characterType(characterType)
-                .level(buffer.get(43))
+                .actProgression(summary.actProgression())
+                .characterType(summary.characterType())
+                .level(summary.level())
                 // not bothering to parse the hotkeys and selected left/right click assigned skills. We may in the future.
-                .locations(List.of(
-                        parseLocation(Difficulty.NORMAL, buffer.get(168)),
-                        parseLocation(Difficulty.NIGHTMARE, buffer.get(169)),
-                        parseLocation(Difficulty.HELL, buffer.get(170))
-                ));
+                .locations(summary.locations());
+
+        final CharacterType characterType = summary.characterType();
 
         Mercenary.MercenaryBuilder mercenaryBuilder = new Mercenary.MercenaryBuilder()
                 .id(buffer.getInt(179))
@@ -118,141 +128,199 @@ public final class CharacterParser {
                 .typeId(buffer.getShort(185))
                 .experience(buffer.getInt(187));
 
-        byte[] nameBytes = new byte[16];
-        buffer.get(267, nameBytes, 0, 16);
-        characterBuilder.name(new String(nameBytes).trim());
-
         if (buffer.limit() == 335) {
-            characterBuilder.attributes(StarterAttributes.getStarterAttributesByClass(characterType));
+            if (options.includes(ParseOptions.Section.ATTRIBUTES)) {
+                characterBuilder.attributes(StarterAttributes.getStarterAttributesByClass(characterType));
+            }
             return characterBuilder.build();
         }
 
         characterBuilder
-                .questDataPerDifficulty(parseQuestData(buffer))
-                .waypoints(parseWaypoints(buffer));
-
-        byte[] npcHeaderBytes = new byte[2];
-        buffer.get(714, npcHeaderBytes, 0, 2);
-        String npcHeader = new String(npcHeaderBytes); // "w4"
-        if (!"w4".equals(npcHeader)) {
-            throw new ParseException("Could not find NPC header");
-        }
+                .questDataPerDifficulty(summary.questDataPerDifficulty())
+                .waypoints(summary.waypoints());
 
-        // stats
-        byte[] statHeaderBytes = new byte[2];
-        buffer.get(765, statHeaderBytes, 0, 2);
-        String statHeader = new String(statHeaderBytes); // "gf" until "if"
-        if (!"gf".equals(statHeader)) {
-            throw new ParseException("Could not find stat header");
-        }
+        final SectionOffsets offsets = SectionLocator.locate(buffer);
+        final int skillIndex = offsets.skillIndex();
 
-        // stat length is at least xx bytes and at most yy bytes, followed by if header for the skills. We're assuming max 60 which so far seems to work (it should be < 36, but we've encountered one crash on >= 40 so far)
-        byte[] skillHeaderBytes = new byte[2];
-        int skillIndex = -1;
-        for(int i = 800; i < 860; i++) {
-            buffer.get(i, skillHeaderBytes, 0, 2);
-            if("if".equals(new String(skillHeaderBytes))) {
-                skillIndex = i;
-                break;
-            }
+        if (options.includes(ParseOptions.Section.ATTRIBUTES)) {
+            characterBuilder.attributes(attributeParser.parse(buffer, offsets.statIndex() + 2, skillIndex - offsets.statIndex() - 2));
         }
-        if (skillIndex == -1) {
-            throw new ParseException("Could not find skill header 'if' below index 860");
-        }
-
-        final int statLength = skillIndex - 767;
-        byte[] statBytes = new byte[statLength];
-        buffer.get(767, statBytes, 0, statLength);
-        characterBuilder.attributes(attributeParser.parse(statBytes));
 
-        byte[] skillBytes = new byte[30];
-        buffer.get(skillIndex + 2, skillBytes, 0, 30);
-        final List<Skill> skills = parseSkills(characterType, skillBytes);
+        final int itemIndex = offsets.itemIndex();
 
-        // (available) skills are 30 bytes after the skillindex plus the 2 header bytes
-        int itemIndex = skillIndex + 32;
-        final List<Item> items = itemParser.parseItems(buffer, itemIndex, buffer.limit());
-        final int minimalItemBytes = 9 * items.size(); // items have a minimum length of 9 bytes.
+        List<Item> items = List.of();
+        if (options.includesItems()) {
+            // without ITEMS only the equipped items are requested, the stored and belt items are skipped over without being decoded
+            final ItemFilter itemFilter = options.includes(ParseOptions.Section.ITEMS)
+                    ? options.itemFilter()
+                    : ItemFilter.location(ItemLocation.EQUIPPED).and(options.itemFilter());
+            items = itemParser.parseItems(buffer, itemIndex, buffer.limit(), itemFilter);
+        }
 
-        // adjusting sets
-        final HashMap<String, Integer> setCounts = getEquippedSetCounts(getEquippedSetItems(items));
-        final List<Item> adjustedItems = removeSetBonuses(items, setCounts);
-        final List<ItemProperty> activeSetBenefits = getActiveSetBenefits(setCounts);
+        List<ItemProperty> activeSetBenefits = List.of();
+        if (options.includes(ParseOptions.Section.SET_BONUSES)) {
+            // adjusting sets
+            final HashMap<String, Integer> setCounts = getEquippedSetCounts(getEquippedSetItems(items));
+            items = removeSetBonuses(items, setCounts);
+            activeSetBenefits = getActiveSetBenefits(setCounts);
+        }
         characterBuilder
-                .items(adjustedItems)
+                .items(items)
                 .equippedSetBenefits(activeSetBenefits);
 
-        // adjusting passive skill benefits
-        characterBuilder.skills(adjustSkillsForPassives(skills, getEquippedItems(adjustedItems), activeSetBenefits));
+        if (options.includes(ParseOptions.Section.SKILLS)) {
+            // adjusting passive skill benefits, based on the items and set benefits that were requested
+            final List<Skill> skills = parseSkills(characterType, buffer, skillIndex + 2);
+            characterBuilder.skills(adjustSkillsForPassives(skills, getEquippedItems(items), activeSetBenefits));
+        }
 
-        if(characterBuilder.isExpansion()) {
+        final boolean mercenaryOrGolem = options.includes(ParseOptions.Section.MERCENARY) || options.includes(ParseOptions.Section.GOLEM);
+        if(characterBuilder.isExpansion() && mercenaryOrGolem) {
             // the Classic characters don't have merc items, and don't store the iron golem item in the savegame file (it even disappears when switching acts!)
-
-            // for iron lem and merc we'll search backwards as that is faster.
             // iron golem starts with kf and in case the following byte is 1 the item will follow without a JM prefix
-            byte[] ironLemHeaderBytes = new byte[2];
-            int ironIndex = -1;
-            for (int i = buffer.limit() - 3; i > itemIndex + minimalItemBytes; i--) {
-                buffer.get(i, ironLemHeaderBytes, 0, 2);
-                if("kf".equals(new String(ironLemHeaderBytes))) {
-                    ironIndex = i;
-                    break;
-                }
-            }
-            if (ironIndex == -1) {
-                throw new ParseException("Could not find iron golem header 'kf'");
-            }
+            final int ironIndex = offsets.ironGolemIndex();
 
             // merc items are at "jf"
-            byte[] mercItemHeaderBytes = new byte[2];
-            int mercItemIndex = -1;
-            for (int i = ironIndex; i > itemIndex + minimalItemBytes; i--) {
-                buffer.get(i, mercItemHeaderBytes, 0, 2);
-                if("jf".equals(new String(mercItemHeaderBytes))) {
-                    mercItemIndex = i + 2;
-                    break;
-                }
-            }
+            final int mercItemIndex = offsets.mercenaryItemIndex();
 
-            if (ironIndex > mercItemIndex) {
-                final List<Item> mercItems = itemParser.parseItems(buffer, mercItemIndex, ironIndex);
-                final HashMap<String, Integer> mercSetCounts = getEquippedSetCounts(getEquippedSetItems(mercItems));
-                final List<Item> mercAdjustedItems = removeSetBonuses(mercItems, mercSetCounts);
-                mercenaryBuilder.items(mercAdjustedItems);
+            if (options.includes(ParseOptions.Section.MERCENARY) && ironIndex > mercItemIndex) {
+                List<Item> mercItems = itemParser.parseItems(buffer, mercItemIndex, ironIndex, options.itemFilter());
+                if (options.includes(ParseOptions.Section.SET_BONUSES)) {
+                    final HashMap<String, Integer> mercSetCounts = getEquippedSetCounts(getEquippedSetItems(mercItems));
+                    mercItems = removeSetBonuses(mercItems, mercSetCounts);
+                }
+                mercenaryBuilder.items(mercItems);
                 characterBuilder.mercenary(mercenaryBuilder.build());
             } else {
             }
 
             // parse the iron golem item
-            if (buffer.get(ironIndex + 2) == 1) {
-                final int ironItemLength = buffer.limit() - ironIndex - 3;
-                byte[] ironBytes = new byte[ironItemLength];
-                buffer.get(ironIndex + 3, ironBytes, 0, ironItemLength);
-                BitReader igBR = new BitReader(ironBytes);
-                characterBuilder.golemItem(itemParser.parseItem(igBR));
+            if (options.includes(ParseOptions.Section.GOLEM) && buffer.get(ironIndex + 2) == 1) {
+                BitReader igBR = new BitReader(buffer, ironIndex + 3, buffer.limit());
+                characterBuilder.golemItem(itemParser.parseItem(igBR, options.itemFilter()));
             }
         }
 
+        if (!options.includes(ParseOptions.Section.DEAD_BODY)) {
+            return characterBuilder.build();
+        }
+
         // There should be a dead body indicator here JM + short value = 0, you're alive. short value = 1, then we have the items of your dead body here.
         // Skip 16 bytes -> JM items on body. So we'll look for the next JM, if it's nearby with count 0 => we're alive.
-        byte[] deadBodyBytes = new byte[2];
-
-        final int deadBodySearchStart = itemIndex + minimalItemBytes;
-        for (int i = deadBodySearchStart; i < buffer.limit(); i++) {
-            buffer.get(i, deadBodyBytes, 0, 2);
-            if ("JM".equals(new String(deadBodyBytes))) {
-                final short deadIndicator = buffer.getShort(i + 2);
-                if (deadIndicator == 1) {
-                    characterBuilder.deadBodyItems(itemParser.parseItems(buffer, i + 16, buffer.limit()));
-                } else {
-                }
-                break;
+        final int deadBodyIndex = offsets.deadBodyIndex();
+        if (deadBodyIndex != -1) {
+            final short deadIndicator = buffer.getShort(deadBodyIndex + 2);
+            if (deadIndicator == 1) {
+                characterBuilder.deadBodyItems(itemParser.parseItems(buffer, deadBodyIndex + 16, buffer.limit(), options.itemFilter()));
             }
         }
 
         return characterBuilder.build();
     }
 
+    /**
+     * scan the items of the character in the {@link ByteBuffer} of a savegame file into {@link LazyItem}s, which only decode the full item on
+     * first access. The mercenary, golem and dead body items are not included. The buffer is retained by the {@link LazyItem}s, see its
+     * documentation for the restrictions that brings.
+     * @param buffer a {@link ByteBuffer} of a Diablo II: resurrected savegame file
+     * @return a list of {@link LazyItem}s of the character
+     * @throws ParseException in case there was an issue scanning the buffer
+     */
+    public List<LazyItem> parseItemsLazily(final ByteBuffer buffer) {
+        parseSummary(buffer);
+        if (buffer.limit() == 335) {
+            return List.of();
+        }
+
+        return itemParser.parseItemsLazily(buffer, SectionLocator.locate(buffer).itemIndex(), buffer.limit());
+    }
+
+    /**
+     * stream the items of the character in the {@link ByteBuffer} of a savegame file to an {@link ItemVisitor}, without building or keeping
+     * a list of {@link Item}s. The mercenary, golem and dead body items are not included.
+     * @param buffer a {@link ByteBuffer} of a Diablo II: resurrected savegame file
+     * @param visitor the {@link ItemVisitor} to report the items to
+     * @throws ParseException in case there was an issue parsing the buffer
+     */
+    public void visitItems(final ByteBuffer buffer, final ItemVisitor visitor) {
+        parseSummary(buffer);
+        if (buffer.limit() == 335) {
+            return;
+        }
+
+        itemParser.visitItems(buffer, SectionLocator.locate(buffer).itemIndex(), buffer.limit(), Objects.requireNonNull(visitor, "visitor"));
+    }
+
+    /**
+     * Add the items of the character in the {@link ByteBuffer} of a savegame file to the rows of an {@link ItemTable}, so the items of many
+     * savegames can be combined in one compact table. The mercenary, golem and dead body items are not included. The items are written to the
+     * table while they are decoded, without building an {@link Item} for them.
+     * @param buffer a {@link ByteBuffer} of a Diablo II: resurrected savegame file
+     * @param table the {@link ItemTable.ItemTableBuilder} to add the items to
+     * @throws ParseException in case there was an issue parsing the buffer
+     */
+    public void addItemsTo(final ByteBuffer buffer, final ItemTable.ItemTableBuilder table) {
+        parseSummary(buffer);
+        if (buffer.limit() == 335) {
+            return;
+        }
+
+        itemParser.addItemsTo(buffer, SectionLocator.locate(buffer).itemIndex(), buffer.limit(), Objects.requireNonNull(table, "table"));
+    }
+
+    /**
+     * parse only the fixed-offset header, quest and waypoint data of a savegame file to a {@link CharacterSummary}. This skips
+     * the attributes, skills and all items, which makes it suitable for listing a whole savegame folder.
+     * @param buffer a {@link ByteBuffer} of a Diablo II: resurrected savegame file
+     * @return the {@link CharacterSummary} of the character
+     * @throws ParseException in case there was an issue parsing the buffer
+     */
+    public CharacterSummary parseSummary(final ByteBuffer buffer) {
+
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+
+        if (buffer.limit() < 335) {
+            throw new ParseException("Less than 335 bytes read (%d), either the file is locked, or this is not a valid .d2s file".formatted(buffer.limit()));
+        }
+
+        final int header = buffer.getInt(0);
+        if (header != 0xaa55aa55) {
+            throw new ParseException("Wrong fileHeader %d, this is not a Diablo II saveGame file".formatted(header));
+        }
+        final FileData fileData = getFileData(buffer);
+
+        if (fileData.version() != 99) {
+            throw new ParseException("Unsupported version: " + fileData.version());
+        }
+
+        final byte status = buffer.get(36);
+
+        byte[] nameBytes = new byte[16];
+        buffer.get(267, nameBytes, 0, 16);
+
+        final List<Location> locations = List.of(
+                parseLocation(Difficulty.NORMAL, buffer.get(168)),
+                parseLocation(Difficulty.NIGHTMARE, buffer.get(169)),
+                parseLocation(Difficulty.HELL, buffer.get(170))
+        );
+
+        // a new character that has never been saved in-game does not contain the quest and waypoint sections yet
+        final boolean hasProgress = buffer.limit() > 335;
+        final List<QuestData> questData = hasProgress ? parseQuestData(buffer) : getEmptyQuestData();
+        final List<WaypointStatus> waypoints = hasProgress ? parseWaypoints(buffer) : List.of();
+
+        return new CharacterSummary(fileData, new String(nameBytes).trim(),
+                (status & 1 << 2) != 0, (status & 1 << 3) != 0, (status & 1 << 5) != 0, buffer.get(37),
+                CharacterType.values()[buffer.get(40)], buffer.get(43), locations,
+                List.copyOf(questData), List.copyOf(waypoints));
+    }
+
+    private static List<QuestData> getEmptyQuestData() {
+        return Arrays.stream(Difficulty.values())
+                .map(difficulty -> new QuestData.QuestDataBuilder(difficulty).build())
+                .toList();
+    }
+
     private static FileData getFileData(ByteBuffer buffer) {
         return new FileData(
                 buffer.getInt(4),   // file version
@@ -260,11 +328,11 @@ public final class CharacterParser {
                 buffer.getInt(48) * 1000L);  // timestamp seconds since Jan 1st, 1970 so * 1000L to get the proper unix value
     }
 
-    private List<Skill> parseSkills(final CharacterType characterType, final byte[] skillBytes) {
+    private List<Skill> parseSkills(final CharacterType characterType, final ByteBuffer buffer, final int skillStart) {
         List<Skill> skills = new ArrayList<>();
-        int index = 0;
+        int index = skillStart;
         for(SkillType skillType: SkillType.getSkillListForCharacter(characterType)) {
-            byte level = skillBytes[index];
+            byte level = buffer.get(index);
             index++;
 
             skills.add(new Skill(skillType, level, List.of()));
@@ -332,18 +400,11 @@ public final class CharacterParser {
 
     private List<WaypointStatus> parseWaypoints(ByteBuffer buffer) {
         List<WaypointStatus> result = new ArrayList<>();
-        byte[] wsHeaderBytes = new byte[2];
-        buffer.get(633, wsHeaderBytes, 0, 2);
-        String wsHeader = new String(wsHeaderBytes); // "WS"
-        if (!"WS".equals(wsHeader)) {
-            throw new ParseException("Could not find Waypoints header");
-        }
+        SectionLocator.checkWaypointHeader(buffer);
         // skip 6 unknown bytes to end up at 641 for normal. We read 24 bytes here per difficulty, even though the last 17 are (currently) not used.
         for (Difficulty difficulty : Difficulty.values()) {
-            byte[] waypointBytes = new byte[24];
             int startIndex = 641 + difficulty.ordinal() * 24;
-            buffer.get(startIndex, waypointBytes, 0, 24);
-            BitReader brWaypoints = new BitReader(waypointBytes);
+            BitReader brWaypoints = new BitReader(buffer, startIndex, startIndex + 24);
             brWaypoints.skip(16); // ignore the first two
 
             WaypointStatus.WaypointStatusBuilder waypointBuilder = new WaypointStatus.WaypointStatusBuilder()
@@ -405,12 +466,7 @@ public final class CharacterParser {
 
     private List<QuestData> parseQuestData(ByteBuffer buffer) {
         List<QuestData> result = new ArrayList<>();
-        byte[] questHeaderBytes = new byte[4];
-        buffer.get(335, questHeaderBytes, 0, 4);
-        String questHeader = new String(questHeaderBytes);
-        if (!"Woo!".equals(questHeader)) {
-            throw new ParseException("Could not find quest header");
-        }
+        SectionLocator.checkQuestHeader(buffer);
 
         for (Difficulty difficulty : Difficulty.values()) {
             // for now, we are only interested in Anya's scroll and Larzuk's socket quest reward still available
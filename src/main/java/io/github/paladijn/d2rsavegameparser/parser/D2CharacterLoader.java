@@ -27,6 +27,35 @@ public final class D2CharacterLoader {
         }
     }
 
+    /**
+     * Reads the file at the given path into a pooled direct buffer of the current thread, so loading many files does not
+     * allocate a new buffer for each of them. The buffer is returned to the pool when the lease is closed.
+     *
+     * @param filePath the path to the .d2s or .d2i file
+     * @return a {@link SaveFileLease} containing the file's contents, to be closed once parsing is done
+     * @throws IOException if the file cannot be read
+     */
+    public static SaveFileLease leaseFile(String filePath) throws IOException {
+        try (FileChannel fileChannel = FileChannel.open(Path.of(filePath), StandardOpenOption.READ)) {
+            return SaveFileBufferPool.read(fileChannel);
+        }
+    }
+
+    /**
+     * Memory-maps the file at the given path, so its contents are read by the parser directly from the page cache.
+     * Note that the mapping itself is released by the garbage collector, closing the lease only invalidates it.
+     *
+     * @param filePath the path to the .d2s or .d2i file
+     * @return a {@link SaveFileLease} containing the mapped file, to be closed once parsing is done
+     * @throws IOException if the file cannot be mapped
+     */
+    public static SaveFileLease mapFile(String filePath) throws IOException {
+        try (FileChannel fileChannel = FileChannel.open(Path.of(filePath), StandardOpenOption.READ)) {
+            final ByteBuffer mapped = fileChannel.map(FileChannel.MapMode.READ_ONLY, 0, fileChannel.size());
+            return new SaveFileLease(mapped, () -> { });
+        }
+    }
+
     /**
      * Parses a ByteBuffer into a D2Character using CharacterParser.
      * 
@@ -0,0 +1,95 @@
+/*
+ * Copyright (C) 2023   Paladijn (paladijn2960+d2rsavegameparser@gmail.com)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA 
+ */
+package io.github.paladijn.d2rsavegameparser.parser;
+
+import io.github.paladijn.d2rsavegameparser.model.ItemLocation;
+import io.github.paladijn.d2rsavegameparser.model.ItemPosition;
+import io.github.paladijn.d2rsavegameparser.model.ItemQuality;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Filter on the fields that are known at the start of an item, before its properties and socketed items. Items that are not accepted are
+ * skipped over without being decoded, so the parse time drops with the number of items that are filtered out. The filter only applies to
+ * top-level items, whatever is socketed into an accepted item is always part of it.
+ * <p>
+ * Pass it with {@link ParseOptions#withItemFilter(ItemFilter)} to the {@link CharacterParser} or with
+ * {@link SharedStashParser#parse(java.nio.ByteBuffer, ItemFilter)} for the shared stash.
+ *
+ * @author Paladijn
+ */
+@FunctionalInterface
+public interface ItemFilter {
+
+    /**
+     * @param code the item code, or null in case of an ear
+     * @param quality the {@link ItemQuality}, {@link ItemQuality#NONE} for simple items and ears
+     * @param location the {@link ItemLocation}
+     * @param position the {@link ItemPosition}
+     * @param socketed true when the item has sockets, filled or not
+     * @return true to parse the item, false to skip it
+     */
+    boolean accept(String code, ItemQuality quality, ItemLocation location, ItemPosition position, boolean socketed);
+
+    /**
+     * @return a filter accepting all items, which is the default
+     */
+    static ItemFilter all() {
+        return ItemParser.ACCEPT_ALL;
+    }
+
+    /**
+     * @param qualities the {@link ItemQuality}s to accept
+     * @return a filter accepting only items of one of the qualities, such as {@link ItemQuality#UNIQUE} and {@link ItemQuality#SET}
+     */
+    static ItemFilter quality(final ItemQuality... qualities) {
+        final Set<ItemQuality> accepted = EnumSet.noneOf(ItemQuality.class);
+        accepted.addAll(Arrays.asList(qualities));
+        return (code, quality, location, position, socketed) -> accepted.contains(quality);
+    }
+
+    /**
+     * @param locations the {@link ItemLocation}s to accept
+     * @return a filter accepting only items in one of the locations
+     */
+    static ItemFilter location(final ItemLocation... locations) {
+        final Set<ItemLocation> accepted = EnumSet.noneOf(ItemLocation.class);
+        accepted.addAll(Arrays.asList(locations));
+        return (code, quality, location, position, socketed) -> accepted.contains(location);
+    }
+
+    /**
+     * @return a filter accepting only items with sockets
+     */
+    static ItemFilter socketed() {
+        return (code, quality, location, position, socketed) -> socketed;
+    }
+
+    /**
+     * @param other the filter to combine with
+     * @return a filter accepting the items that are accepted by both this and the other filter
+     */
+    default ItemFilter and(final ItemFilter other) {
+        Objects.requireNonNull(other, "other");
+        return (code, quality, location, position, socketed) -> accept(code, quality, location, position, socketed)
+                && other.accept(code, quality, location, position, socketed);
+    }
+}
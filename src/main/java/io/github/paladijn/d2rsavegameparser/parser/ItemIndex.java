@@ -0,0 +1,215 @@
+/*
+ * Copyright (C) 2023   Paladijn (paladijn2960+d2rsavegameparser@gmail.com)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA 
+ */
+package io.github.paladijn.d2rsavegameparser.parser;
+
+import java.util.Arrays;
+
+/**
+ * Compact index of the item boundaries within a JM item list, as produced by {@link ItemParser#scanItems(java.nio.ByteBuffer, int, int)}.
+ * Every entry holds the bit offset (relative to the first item after the JM header and count) and the length in bits of one item,
+ * packed into a long, together with the entry of its parent item. Socketed items directly follow their parent, whose length spans
+ * the socketed items as well. This allows later stages to decode individual items on demand.
+ * <p>
+ * The flags, the packed location, position and coordinates and the code of every item are kept as well, as the scan reads those
+ * anyway. This way a {@link LazyItem} doesn't have to decode its header a second time.
+ * </p>
+ *
+ * @author Paladijn
+ */
+final class ItemIndex {
+
+    private static final int NO_PARENT = -1;
+
+    private final int dataOffset;
+
+    private final int dataEnd;
+
+    private long[] bounds;
+
+    private int[] parents;
+
+    private int[] flags;
+
+    private int[] headers;
+
+    private String[] codes;
+
+    private int size;
+
+    private int[] topLevel;
+
+    private int topLevelCount;
+
+    ItemIndex(final int dataOffset, final int dataEnd, final int expectedTopLevelCount) {
+        this.dataOffset = dataOffset;
+        this.dataEnd = dataEnd;
+        final int capacity = Math.max(expectedTopLevelCount, 1);
+        this.bounds = new long[capacity];
+        this.parents = new int[capacity];
+        this.flags = new int[capacity];
+        this.headers = new int[capacity];
+        this.codes = new String[capacity];
+        this.topLevel = new int[capacity];
+    }
+
+    /**
+     * @return the byte index in the buffer of the first item, directly after the JM header and item count
+     */
+    int dataOffset() {
+        return dataOffset;
+    }
+
+    /**
+     * @return the (exclusive) end index in the buffer of the item list
+     */
+    int dataEnd() {
+        return dataEnd;
+    }
+
+    /**
+     * @return the number of entries, including the socketed items
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * @return the number of items that are not socketed into another item, this matches the JM item count
+     */
+    int topLevelCount() {
+        return topLevelCount;
+    }
+
+    /**
+     * @param n the n-th top level item
+     * @return the entry of the n-th top level item
+     */
+    int topLevelEntry(final int n) {
+        return topLevel[n];
+    }
+
+    /**
+     * @param entry the entry in the index
+     * @return the bit offset of the item, relative to {@link #dataOffset()}
+     */
+    int startInBits(final int entry) {
+        return (int) (bounds[entry] >>> 32);
+    }
+
+    /**
+     * @param entry the entry in the index
+     * @return the length of the item in bits, including its socketed items
+     */
+    int lengthInBits(final int entry) {
+        return (int) bounds[entry];
+    }
+
+    /**
+     * @param entry the entry in the index
+     * @return the entry of the item this one is socketed into, or -1 for a top level item
+     */
+    int parent(final int entry) {
+        return parents[entry];
+    }
+
+    /**
+     * @param entry the entry in the index
+     * @return the 32 flag bits at the start of the item, flipped as by {@link io.github.paladijn.d2rsavegameparser.internal.parser.BitReader#readFlippedInt(int)}
+     */
+    int flags(final int entry) {
+        return flags[entry];
+    }
+
+    /**
+     * @param entry the entry in the index
+     * @return the value of the location bits of the item
+     */
+    int location(final int entry) {
+        return (headers[entry] >>> 3) & 0x7;
+    }
+
+    /**
+     * @param entry the entry in the index
+     * @return the value of the position bits of the item
+     */
+    int position(final int entry) {
+        return (headers[entry] >>> 6) & 0xf;
+    }
+
+    /**
+     * @param entry the entry in the index
+     * @return the row of the item in its container
+     */
+    short y(final int entry) {
+        return (short) ((headers[entry] >>> 10) & 0xf);
+    }
+
+    /**
+     * @param entry the entry in the index
+     * @return the column of the item in its container
+     */
+    short x(final int entry) {
+        return (short) ((headers[entry] >>> 14) & 0xf);
+    }
+
+    /**
+     * @param entry the entry in the index
+     * @return the value of the container bits of the item
+     */
+    int container(final int entry) {
+        return (headers[entry] >>> 18) & 0x7;
+    }
+
+    /**
+     * @param entry the entry in the index
+     * @return the code of the item, or null for an ear
+     */
+    String code(final int entry) {
+        return codes[entry];
+    }
+
+    int add(final int startInBits, final int parent) {
+        if (size == bounds.length) {
+            bounds = Arrays.copyOf(bounds, size * 2);
+            parents = Arrays.copyOf(parents, size * 2);
+            flags = Arrays.copyOf(flags, size * 2);
+            headers = Arrays.copyOf(headers, size * 2);
+            codes = Arrays.copyOf(codes, size * 2);
+        }
+        bounds[size] = (long) startInBits << 32;
+        parents[size] = parent;
+        if (parent == NO_PARENT) {
+            if (topLevelCount == topLevel.length) {
+                topLevel = Arrays.copyOf(topLevel, topLevelCount * 2);
+            }
+            topLevel[topLevelCount++] = size;
+        }
+        return size++;
+    }
+
+    // the header holds the 21 bits following the flags: 3 unknown, location, position, y, x and container, in reading order from bit 0
+    void header(final int entry, final int flags, final int header, final String code) {
+        this.flags[entry] = flags;
+        this.headers[entry] = header;
+        this.codes[entry] = code;
+    }
+
+    void end(final int entry, final int endInBits) {
+        bounds[entry] = bounds[entry] | (endInBits - startInBits(entry));
+    }
+}
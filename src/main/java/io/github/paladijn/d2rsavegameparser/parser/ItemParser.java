@@ -19,6 +19,8 @@ package io.github.paladijn.d2rsavegameparser.parser;
 
 import io.github.paladijn.d2rsavegameparser.internal.parser.BitReader;
 import io.github.paladijn.d2rsavegameparser.internal.parser.ItemScaffolding;
+import io.github.paladijn.d2rsavegameparser.internal.parser.MarkerSearch;
+import io.github.paladijn.d2rsavegameparser.internal.parser.PackedProperties;
 import io.github.paladijn.d2rsavegameparser.internal.parser.ParseHelper;
 import io.github.paladijn.d2rsavegameparser.model.CharacterType;
 import io.github.paladijn.d2rsavegameparser.model.Item;
@@ -27,11 +29,13 @@ import io.github.paladijn.d2rsavegameparser.model.ItemLocation;
 import io.github.paladijn.d2rsavegameparser.model.ItemPosition;
 import io.github.paladijn.d2rsavegameparser.model.ItemProperty;
 import io.github.paladijn.d2rsavegameparser.model.ItemQuality;
+import io.github.paladijn.d2rsavegameparser.model.ItemTable;
 import io.github.paladijn.d2rsavegameparser.model.ItemType;
 import io.github.paladijn.d2rsavegameparser.txt.ArmorStats;
 import io.github.paladijn.d2rsavegameparser.txt.ItemStatCost;
 import io.github.paladijn.d2rsavegameparser.txt.MagicAffix;
 import io.github.paladijn.d2rsavegameparser.txt.MiscStats;
+import io.github.paladijn.d2rsavegameparser.txt.Runeword;
 import io.github.paladijn.d2rsavegameparser.txt.SetItem;
 import io.github.paladijn.d2rsavegameparser.txt.TXTProperties;
 import io.github.paladijn.d2rsavegameparser.txt.UniqueItem;
@@ -39,7 +43,11 @@ import io.github.paladijn.d2rsavegameparser.txt.WeaponStats;
 
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 import java.util.stream.Collectors;
 
 
@@ -50,16 +58,42 @@ import java.util.stream.Collectors;
  */
 final class ItemParser {
 
+    // item lists below this size are decoded sequentially, as the scan and task overhead outweighs the gain
+    static final int PARALLEL_THRESHOLD = 32;
+
+    private static final int ITEMS_PER_TASK = 8;
+
+    private static final int ITEM_LIST_HEADER = MarkerSearch.marker("JM");
+
+    private static final ItemVisitor NO_VISITOR = new ItemVisitor() {
+    };
+
+    static final ItemFilter ACCEPT_ALL = (code, quality, location, position, socketed) -> true;
+
     private final boolean printItemBytes;
 
+    private final Executor executor;
+
     private final TXTProperties txtProperties = TXTProperties.getInstance();
 
+    private final PropertyDecoder propertyDecoder = PropertyDecoder.getInstance();
+
     /**
      * Constructor for the {@link ItemParser}
      * @param printItemBytes helper boolean to log the bytes[] per Item for unit tests and debugging.
      */
     ItemParser(boolean printItemBytes) {
+        this(printItemBytes, null);
+    }
+
+    /**
+     * Constructor for the {@link ItemParser} that decodes larger item lists in parallel
+     * @param printItemBytes helper boolean to log the bytes[] per Item for unit tests and debugging.
+     * @param executor the {@link Executor} to decode items on, or null to always decode sequentially
+     */
+    ItemParser(boolean printItemBytes, Executor executor) {
         this.printItemBytes = printItemBytes;
+        this.executor = executor;
     }
 
     /**
@@ -73,28 +107,223 @@ final class ItemParser {
      *
      */
     List<Item> parseItems(ByteBuffer buffer, int start, int end) {
+        return parseItems(buffer, start, end, ACCEPT_ALL);
+    }
+
+    /**
+     * Parse the {@link Item}s accepted by the {@link ItemFilter} from the {@link ByteBuffer}, the other items are skipped without decoding them.
+     *
+     * @param buffer a {@link ByteBuffer} of a savegame file starting at the character, mercenary or dead body itemlist or a shared stash tab
+     * @param start start index in the buffer
+     * @param end last index of the buffer to parse
+     * @param filter the {@link ItemFilter} to select the items with
+     * @return a list of the accepted {@link Item}s
+     */
+    List<Item> parseItems(ByteBuffer buffer, int start, int end, ItemFilter filter) {
+        checkItemListHeader(buffer, start);
+
+        int cntItems = buffer.getShort(start + 2);
+        if (executor != null && cntItems >= PARALLEL_THRESHOLD) {
+            return parseItemsInParallel(buffer, start, end, filter);
+        }
+
         final List<Item> result = new ArrayList<>();
-        int cntItemBytes = end - start - 4;
-        byte[] itemBytes = new byte[cntItemBytes];
-        buffer.get(start + 4, itemBytes, 0, cntItemBytes);
+        visitItems(buffer, start, end, new ItemCollector(result::add), filter);
+        return result;
+    }
+
+    /**
+     * Add the list of items from the {@link ByteBuffer} to the rows of an {@link ItemTable}. Every top-level item is written to the table
+     * from its {@link Item.ItemBuilder}, without building an {@link Item} for it. Only the socketed items are built, as their name and
+     * properties add to the item they are socketed into.
+     *
+     * @param buffer a {@link ByteBuffer} of a savegame file starting at the character, mercenary or dead body itemlist or a shared stash tab
+     * @param start start index in the buffer
+     * @param end last index of the buffer to parse
+     * @param table the {@link ItemTable.ItemTableBuilder} to add the items to
+     */
+    void addItemsTo(ByteBuffer buffer, int start, int end, ItemTable.ItemTableBuilder table) {
+        checkItemListHeader(buffer, start);
 
-        byte[] itemHeaderBytes = new byte[2];
-        buffer.get(start, itemHeaderBytes, 0, 2);
-        String itemHeader = new String(itemHeaderBytes);
-        if (!itemHeader.equals("JM")) {
-            throw new ParseException("Problem parsing item header (should be JM): " + itemHeader);
+        int cntItems = buffer.getShort(start + 2);
+
+        final BitReader itemData = new BitReader(buffer, start + 4, end);
+        for (int i = 0; i < cntItems; i++) {
+            table.add(decodeItem(itemData, NO_VISITOR));
         }
+    }
+
+    /**
+     * Stream the list of items from the {@link ByteBuffer} to an {@link ItemVisitor}. The top-level items are only built in case the visitor
+     * asks for them with {@link ItemVisitor#buildsItems()}. The method will throw a {@link ParseException} in case the buffer doesn't start with "JM", or in case there
+     * was an issue parsing one of the items in the buffer.
+     *
+     * @param buffer a {@link ByteBuffer} of a savegame file starting at the character, mercenary or dead body itemlist or a shared stash tab
+     * @param start start index in the buffer
+     * @param end last index of the buffer to parse
+     * @param visitor the {@link ItemVisitor} to report the items to
+     */
+    void visitItems(ByteBuffer buffer, int start, int end, ItemVisitor visitor) {
+        visitItems(buffer, start, end, visitor, ACCEPT_ALL);
+    }
+
+    // items rejected by the filter are passed through the boundary scanner instead, without recording their boundaries
+    private void visitItems(ByteBuffer buffer, int start, int end, ItemVisitor visitor, ItemFilter filter) {
+        checkItemListHeader(buffer, start);
 
         int cntItems = buffer.getShort(start + 2);
 
-        final BitReader itemData = new BitReader(itemBytes);
+        final boolean build = visitor.buildsItems();
+        final BitReader itemData = new BitReader(buffer, start + 4, end);
         for (int i = 0; i < cntItems; i++) {
-            result.add(parseItem(itemData));
+            if (filter != ACCEPT_ALL && !accepts(itemData, filter)) {
+                skipItem(itemData, null, -1);
+            } else if (build) {
+                visitor.onItem(parseItem(itemData, visitor, true));
+            } else {
+                parseItem(itemData, visitor, false);
+            }
+        }
+    }
+
+    private static void checkItemListHeader(ByteBuffer buffer, int start) {
+        if (!MarkerSearch.matchesAt(buffer, start, ITEM_LIST_HEADER, 2)) {
+            byte[] itemHeaderBytes = new byte[2];
+            buffer.get(start, itemHeaderBytes, 0, 2);
+            throw new ParseException("Problem parsing item header (should be JM): " + new String(itemHeaderBytes));
+        }
+    }
+
+    // the boundaries are scanned sequentially, after which batches of items are decoded on the executor, each with their own BitReader
+    private List<Item> parseItemsInParallel(ByteBuffer buffer, int start, int end, ItemFilter filter) {
+        final ItemIndex index = scanItems(buffer, start, end);
+        final int[] entries = acceptedEntries(buffer, index, filter);
+        final Item[] items = new Item[entries.length];
+
+        final List<CompletableFuture<Void>> tasks = new ArrayList<>();
+        for (int from = 0; from < items.length; from += ITEMS_PER_TASK) {
+            final int taskStart = from;
+            final int taskEnd = Math.min(from + ITEMS_PER_TASK, items.length);
+            tasks.add(CompletableFuture.runAsync(() -> {
+                final BitReader br = new BitReader(buffer, index.dataOffset(), index.dataEnd());
+                for (int i = taskStart; i < taskEnd; i++) {
+                    br.seek(index.startInBits(entries[i]));
+                    items[i] = parseItem(br);
+                }
+            }, executor));
+        }
+
+        try {
+            CompletableFuture.allOf(tasks.toArray(CompletableFuture<?>[]::new)).join();
+        } catch (CompletionException ce) {
+            if (ce.getCause() instanceof ParseException pe) {
+                throw pe;
+            }
+            throw new ParseException("Failed to decode items in parallel", ce.getCause());
         }
 
+        return new ArrayList<>(Arrays.asList(items));
+    }
+
+    private int[] acceptedEntries(ByteBuffer buffer, ItemIndex index, ItemFilter filter) {
+        final int[] entries = new int[index.topLevelCount()];
+        int cntAccepted = 0;
+        final BitReader br = new BitReader(buffer, index.dataOffset(), index.dataEnd());
+        for (int i = 0; i < index.topLevelCount(); i++) {
+            final int entry = index.topLevelEntry(i);
+            br.seek(index.startInBits(entry));
+            if (filter == ACCEPT_ALL || accepts(br, filter)) {
+                entries[cntAccepted++] = entry;
+            }
+        }
+        return Arrays.copyOf(entries, cntAccepted);
+    }
+
+    /**
+     * Check the fields at the start of the item against the {@link ItemFilter}, leaving the {@link BitReader} at the start of the item.
+     *
+     * @param br the {@link BitReader} positioned at the start of an item
+     * @param filter the {@link ItemFilter} to check
+     * @return true in case the filter accepts the item
+     */
+    private boolean accepts(final BitReader br, final ItemFilter filter) {
+        final int start = br.getPositionInBits();
+
+        final int flags = br.readFlippedInt(32);
+        br.skip(3);
+        final ItemLocation location = ItemLocation.findByValue(br.readShort(3));
+        final ItemPosition position = ItemPosition.findByValue(br.readShort(4));
+        br.skip(4 + 4 + 3); // y, x and container
+
+        String code = null;
+        ItemQuality quality = ItemQuality.NONE;
+        if (!isBitChecked(flags, 17)) { // not an ear
+            code = br.readHuffmanEncodedString();
+            if (!isBitChecked(flags, 22)) { // not simple
+                br.skip(3 + 32 + 7); // filled sockets, fingerprint and item level
+                quality = ItemQuality.findByValue(br.readShort(4));
+            }
+        }
+        br.seek(start);
+
+        return filter.accept(code, quality, location, position, isBitChecked(flags, 12));
+    }
+
+    /**
+     * Scan a list of items from the {@link ByteBuffer} without materializing them. Only the fields required to advance to the next item are
+     * decoded (flags, code, quality, property ids and socketed items), and the boundaries of every item are stored in an {@link ItemIndex}.
+     * The method will throw a {@link ParseException} in case the buffer doesn't start with "JM", or in case an item could not be scanned.
+     *
+     * @param buffer a {@link ByteBuffer} of a savegame file starting at the character, mercenary or dead body itemlist or a shared stash tab
+     * @param start start index in the buffer
+     * @param end last index of the buffer to scan
+     * @return the {@link ItemIndex} with the boundaries of the items
+     */
+    ItemIndex scanItems(ByteBuffer buffer, int start, int end) {
+        checkItemListHeader(buffer, start);
+
+        int cntItems = buffer.getShort(start + 2);
+
+        final ItemIndex index = new ItemIndex(start + 4, end, cntItems);
+        final BitReader itemData = new BitReader(buffer, start + 4, end);
+        for (int i = 0; i < cntItems; i++) {
+            skipItem(itemData, index, -1);
+        }
+
+        return index;
+    }
+
+    /**
+     * Scan a list of items from the {@link ByteBuffer} into {@link LazyItem}s, which only decode the full {@link Item} on first access.
+     *
+     * @param buffer a {@link ByteBuffer} of a savegame file starting at the character, mercenary or dead body itemlist or a shared stash tab
+     * @param start start index in the buffer
+     * @param end last index of the buffer to scan
+     * @return a list of {@link LazyItem}s, excluding the socketed items as those are part of their parent
+     */
+    List<LazyItem> parseItemsLazily(ByteBuffer buffer, int start, int end) {
+        final ItemIndex index = scanItems(buffer, start, end);
+        final List<LazyItem> result = new ArrayList<>(index.topLevelCount());
+        for (int i = 0; i < index.topLevelCount(); i++) {
+            result.add(new LazyItem(this, buffer, index, index.topLevelEntry(i)));
+        }
         return result;
     }
 
+    /**
+     * Parse a single {@link Item} (including its socketed items) from an entry of an {@link ItemIndex}.
+     *
+     * @param buffer the {@link ByteBuffer} that was scanned into the index
+     * @param index the {@link ItemIndex} of the item list
+     * @param entry the entry in the index to parse
+     * @return the parsed {@link Item}
+     */
+    Item parseItem(ByteBuffer buffer, ItemIndex index, int entry) {
+        final BitReader br = new BitReader(buffer, index.dataOffset(), index.dataEnd());
+        br.seek(index.startInBits(entry));
+        return parseItem(br);
+    }
+
     /**
      * Parse one {@link Item} using the {@link BitReader}. As the bits are not byte-aligned in each item we'll need to parse them bit by bit.
      * Will throw a {@link ParseException} in case the bits did not result in a valid item.
@@ -103,8 +332,50 @@ final class ItemParser {
      * @return the parsed {@link Item}
      */
     Item parseItem(final BitReader br) {
+        return parseItem(br, NO_VISITOR, true);
+    }
+
+    /**
+     * Parse one {@link Item} using the {@link BitReader} in case it is accepted by the {@link ItemFilter}.
+     *
+     * @param br a {@link BitReader} containing all bytes.
+     * @param filter the {@link ItemFilter} to check the item against
+     * @return the parsed {@link Item}, or null in case it was not accepted
+     */
+    Item parseItem(final BitReader br, final ItemFilter filter) {
+        return filter == ACCEPT_ALL || accepts(br, filter) ? parseItem(br) : null;
+    }
+
+    // reports the item to the visitor while it is decoded, the item itself is only built when requested (or when it's socketed into another)
+    private Item parseItem(final BitReader br, final ItemVisitor visitor, final boolean build) {
         int startIndex = br.getPositionInBits() / 8;
 
+        final Item.ItemBuilder itemBuilder = decodeItem(br, visitor);
+        if (!build) {
+            return null;
+        }
+
+        final Item result = itemBuilder.build();
+        boolean printBytesDueToError = false;
+
+        if (result.prefixIds().stream().anyMatch(id -> id == 2047)) {
+            printBytesDueToError = true;
+        }
+
+        if (result.suffixIds().stream().anyMatch(id -> id == 2047)) {
+            printBytesDueToError = true;
+        }
+
+        if (printItemBytes || printBytesDueToError) {
+            br.printBytes(result, startIndex);
+        }
+
+
+        return result;
+    }
+
+    // decodes the item into its builder, reporting it to the visitor on the way
+    private Item.ItemBuilder decodeItem(final BitReader br, final ItemVisitor visitor) {
         int flags = br.readFlippedInt(32);
         Item.ItemBuilder itemBuilder = new Item.ItemBuilder()
                 .identified(isBitChecked(flags, 5));
@@ -126,16 +397,20 @@ final class ItemParser {
         itemBuilder.runeword(isRuneword);
 
         br.skip(3);
+        final ItemLocation location = ItemLocation.findByValue(br.readShort(3));
+        final ItemPosition position = ItemPosition.findByValue(br.readShort(4));
         itemBuilder
-                .location(ItemLocation.findByValue(br.readShort(3)))
-                .position(ItemPosition.findByValue(br.readShort(4)))
+                .location(location)
+                .position(position)
                 .y(br.readShort(4))
                 .x(br.readShort(4))
                 .container(ItemContainer.findByValue(br.readShort(3)));
 
         if (isEar) {
             parseEar(br);
-            return itemBuilder.build();
+            visitor.onItemStart(null, ItemQuality.NONE, location, position);
+            visitor.onItemEnd();
+            return itemBuilder;
         }
 
         final String code = br.readHuffmanEncodedString();
@@ -162,6 +437,12 @@ final class ItemParser {
                 .itemType(itemType);
 
 
+        ItemQuality itemQuality = ItemQuality.NONE;
+        if (!isSimple) {
+            itemQuality = parseExtendedHeader(itemBuilder, itemScaffolding, br);
+        }
+        visitor.onItemStart(code, itemQuality, location, position);
+
         if (!isSimple) {
             parseExtendedPart1(itemBuilder, itemScaffolding, br);
         }
@@ -171,11 +452,11 @@ final class ItemParser {
         }
 
         if (!isSimple) {
-            parseExtendedPart2(itemBuilder, itemScaffolding, br);
+            parseExtendedPart2(itemBuilder, itemScaffolding, br, visitor);
         }
 
         if (Item.isGem(itemScaffolding.getType(), itemScaffolding.getType2()) || Item.isRune(itemScaffolding.getType())) {
-            itemBuilder.addProperties(txtProperties.getGemsAndRunesByCode(code).getAllProperties());
+            addProperties(itemBuilder, PackedProperties.of(txtProperties.getGemsAndRunesByCode(code).getAllProperties()), visitor);
         }
 
         // extra skip for special cases
@@ -186,24 +467,184 @@ final class ItemParser {
             br.skip(8);
         }
         br.moveToNextByteBoundary();
+        visitor.onItemEnd();
 
-        final Item result = itemBuilder.build();
-        boolean printBytesDueToError = false;
+        return itemBuilder;
+    }
 
-        if (result.prefixIds().stream().anyMatch(id -> id == 2047)) {
-            printBytesDueToError = true;
+    // mirrors parseItem, but only reads what is required to find the end of the item. The boundaries of the item and its socketed
+    // items are added to the index, unless that is null.
+    private void skipItem(final BitReader br, final ItemIndex index, final int parent) {
+        final int entry = index == null ? -1 : index.add(br.getPositionInBits(), parent);
+
+        final int flags = br.readFlippedInt(32);
+        final boolean isSocketed = isBitChecked(flags, 12);
+        final boolean isEar = isBitChecked(flags, 17);
+        final boolean isSimple = isBitChecked(flags, 22);
+        final boolean isPersonalized = isBitChecked(flags, 25);
+        final boolean isRuneword = isBitChecked(flags, 27);
+
+        final int header = br.readInt(3 + 3 + 4 + 4 + 4 + 3); // unknown, location, position, y, x and container
+
+        if (isEar) {
+            parseEar(br);
+            if (index != null) {
+                index.header(entry, flags, header, null);
+                index.end(entry, br.getPositionInBits());
+            }
+            return;
         }
 
-        if (result.suffixIds().stream().anyMatch(id -> id == 2047)) {
-            printBytesDueToError = true;
+        final String code = br.readHuffmanEncodedString();
+        if (index != null) {
+            index.header(entry, flags, header, code);
         }
 
-        if (printItemBytes || printBytesDueToError) {
-            br.printBytes(result, startIndex);
+        final ArmorStats armorStats = txtProperties.getArmorStatsByCode(code);
+        final WeaponStats weaponStats = txtProperties.getWeaponStatsByCode(code);
+        final MiscStats miscStats = txtProperties.getMiscItemsByCode(code);
+        final ItemType itemType = determineItemType(armorStats, weaponStats, miscStats);
+        final String type = switch (itemType) {
+            case ARMOR -> armorStats.getType();
+            case WEAPON -> weaponStats.getType();
+            case MISC -> miscStats.getType();
+        };
+
+        short cntFilledSockets = 0;
+        ItemQuality itemQuality = ItemQuality.NONE;
+        if (!isSimple) {
+            cntFilledSockets = br.readShort(3);
+            br.skip(32 + 7); // fingerprint and item level
+            itemQuality = ItemQuality.findByValue(br.readShort(4));
+            if (br.readShort(1) == 1) { // picture flag
+                br.skip(3);
+            }
+            if (br.readShort(1) == 1) { // class specific item flag
+                br.skip(11);
+            }
+            skipQualityData(br, itemQuality, code);
+            if (isRuneword) {
+                br.skip(16);
+            }
+            if (isPersonalized) {
+                for (int i = 0; i < 16 && br.readChar(8) != 0; i++) {
+                    // skip the personalized name
+                }
+            }
         }
 
+        if (br.readShort(1) == 1) { // has GUID
+            skipGUID(br, code, type, miscStats == null);
+        }
 
-        return result;
+        if (!isSimple) {
+            switch (itemType) {
+                case ARMOR -> {
+                    br.skip(11); // defense
+                    skipDurability(br);
+                }
+                case WEAPON -> {
+                    skipDurability(br);
+                    if (weaponStats.isStackable()) {
+                        br.skip(9);
+                    }
+                }
+                case MISC -> {
+                    if (miscStats.isStackable()) {
+                        br.skip(9);
+                    }
+                }
+            }
+
+            if (isSocketed) {
+                br.skip(4);
+            }
+
+            final int setListFlags = itemQuality == ItemQuality.SET ? br.readInt(5) : 0;
+
+            skipProperties(br);
+
+            for (int i = 0; i < 5; i++) {
+                if (((setListFlags >>> i) & 1) == 1) {
+                    skipProperties(br);
+                }
+            }
+
+            if (isRuneword) {
+                skipProperties(br);
+            }
+
+            if (cntFilledSockets > 0) {
+                br.moveToNextByteBoundary();
+                for (int i = 0; i < cntFilledSockets; i++) {
+                    skipItem(br, index, entry);
+                }
+            }
+        }
+
+        // extra skip for special cases
+        if (isSimple
+                && "ques".equals(type)
+                && ("j34".equals(code) || "bkd".equals(code))
+                && br.bitsToNextBoundary() == 0) {
+            br.skip(8);
+        }
+        br.moveToNextByteBoundary();
+
+        if (index != null) {
+            index.end(entry, br.getPositionInBits());
+        }
+    }
+
+    private static void skipQualityData(final BitReader br, final ItemQuality itemQuality, final String code) {
+        switch (itemQuality) {
+            case INFERIOR, SUPERIOR -> br.skip(3);
+            case NORMAL -> {
+                if (Item.isTome(code)) {
+                    br.skip(5);
+                }
+            }
+            case MAGIC -> br.skip(11 + 11);
+            case SET, UNIQUE -> br.skip(12);
+            case RARE, CRAFT -> {
+                br.skip(8 + 8);
+                for (int i = 0; i < 6; i++) { // three prefixes and suffixes, alternating
+                    if (br.readShort(1) == 1) {
+                        br.skip(11);
+                    }
+                }
+            }
+            case NONE, UNKNOWN -> {
+                throw new ParseException("unknown quality for item");
+            }
+        }
+    }
+
+    private static void skipGUID(final BitReader br, final String code, final String type, final boolean noMiscItem) {
+        if (Item.isRune(type)
+                || type.startsWith("gem")
+                || type.startsWith("amu")
+                || type.startsWith("rin")
+                || Item.isCharm(code)
+                || noMiscItem) {
+            br.skip(128);
+        } else if (!code.equals("bks")) {
+            br.skip(3);
+        }
+    }
+
+    private static void skipDurability(final BitReader br) {
+        if (br.readShort(8) != 0) { // max durability, followed by the current durability
+            br.skip(9);
+        }
+    }
+
+    private void skipProperties(final BitReader br) {
+        int rootProp = br.readInt(9);
+        while (rootProp != ParseHelper.PROPERTY_END) {
+            br.skip(propertyDecoder.skipBits(rootProp));
+            rootProp = br.readInt(9);
+        }
     }
 
     private void parseEar(BitReader br) {
@@ -227,7 +668,7 @@ final class ItemParser {
         // we only log the contents for now, perhaps store this as item data in the future
     }
 
-    private void parseExtendedPart1(Item.ItemBuilder itemBuilder, ItemScaffolding itemScaffolding, BitReader br) {
+    private static ItemQuality parseExtendedHeader(Item.ItemBuilder itemBuilder, ItemScaffolding itemScaffolding, BitReader br) {
         itemScaffolding.setCntFilledSockets(br.readShort(3));
         itemBuilder.cntFilledSockets(itemScaffolding.getCntFilledSockets());
 
@@ -239,6 +680,11 @@ final class ItemParser {
         final ItemQuality itemQuality = ItemQuality.findByValue(br.readShort(4));
         itemScaffolding.setQuality(itemQuality);
         itemBuilder.quality(itemQuality);
+        return itemQuality;
+    }
+
+    private void parseExtendedPart1(Item.ItemBuilder itemBuilder, ItemScaffolding itemScaffolding, BitReader br) {
+        final ItemQuality itemQuality = itemScaffolding.getItemQuality();
 
         if (br.readShort(1) == 1) { // picture flag
             itemBuilder.pictureId(br.readShort(3));
@@ -273,11 +719,11 @@ final class ItemParser {
         }
     }
 
-    private void parseExtendedPart2(Item.ItemBuilder itemBuilder, ItemScaffolding itemScaffolding, BitReader br) {
+    private void parseExtendedPart2(Item.ItemBuilder itemBuilder, ItemScaffolding itemScaffolding, BitReader br, ItemVisitor visitor) {
 
         switch (itemScaffolding.getItemType()) {
             case ItemType.ARMOR -> parseArmorStats(itemBuilder, br);
-            case ItemType.WEAPON -> parseWeaponStats(itemBuilder, itemScaffolding, br, txtProperties.getWeaponStatsByCode(itemScaffolding.getCode()));
+            case ItemType.WEAPON -> parseWeaponStats(itemBuilder, itemScaffolding, br, txtProperties.getWeaponStatsByCode(itemScaffolding.getCode()), visitor);
             case ItemType.MISC -> parseMiscStats(itemBuilder, br, txtProperties.getMiscItemsByCode(itemScaffolding.getCode()));
         }
 
@@ -294,18 +740,18 @@ final class ItemParser {
             }
         }
 
-        itemBuilder.addProperties(readProperties(br, Item.isJewel(itemScaffolding.getCode()) ? 1 : 0));
+        addProperties(itemBuilder, readProperties(br, Item.isJewel(itemScaffolding.getCode()) ? 1 : 0), visitor);
 
         if (itemScaffolding.getItemQuality() == ItemQuality.SET) {
-            parseSetProperties(itemBuilder, br, lSet);
+            parseSetProperties(itemBuilder, br, lSet, visitor);
         }
 
         if (itemScaffolding.isRuneword()) {
-            itemBuilder.addProperties(readProperties(br, 0));
+            addProperties(itemBuilder, readProperties(br, 0), visitor);
         }
 
         if (itemScaffolding.getCntFilledSockets() > 0) {
-            parseSocketedItems(itemBuilder, itemScaffolding, br);
+            parseSocketedItems(itemBuilder, itemScaffolding, br, visitor);
         }
 
         if (itemScaffolding.isRuneword()) {
@@ -313,10 +759,10 @@ final class ItemParser {
                     .map(item -> item.itemName().replace(" Rune", ""))
                     .collect(Collectors.joining());
 
-            txtProperties.getRunewords().stream()
-                    .filter(rw -> rw.isThisARuneword(runes))
-                    .findFirst()
-                    .ifPresent(value -> itemBuilder.itemName(value.getName()));
+            final Runeword runeword = txtProperties.getRunewordByRunes(runes);
+            if (runeword != null) {
+                itemBuilder.itemName(runeword.getName());
+            }
         }
 
         if (itemScaffolding.getCntFilledSockets() > 0
@@ -330,10 +776,19 @@ final class ItemParser {
         }
     }
 
-    private void parseSetProperties(Item.ItemBuilder itemBuilder, BitReader br, int[] lSet) {
+    private void parseSetProperties(Item.ItemBuilder itemBuilder, BitReader br, int[] lSet, ItemVisitor visitor) {
         for (int i = 0; i < 5; i++) {
             if (lSet[i] == 1) {
-                itemBuilder.addProperties(readProperties(br, i + 2));
+                addProperties(itemBuilder, readProperties(br, i + 2), visitor);
+            }
+        }
+    }
+
+    private static void addProperties(Item.ItemBuilder itemBuilder, PackedProperties properties, ItemVisitor visitor) {
+        itemBuilder.addProperties(properties);
+        if (visitor != NO_VISITOR) {
+            for (int i = 0; i < properties.size(); i++) {
+                visitor.onProperty(properties.index(i), properties.qualityFlag(i), properties.values(i));
             }
         }
     }
@@ -366,7 +821,7 @@ final class ItemParser {
         }
     }
 
-    private void parseWeaponStats(Item.ItemBuilder itemBuilder, ItemScaffolding itemScaffolding, BitReader br, WeaponStats weaponStats) {
+    private void parseWeaponStats(Item.ItemBuilder itemBuilder, ItemScaffolding itemScaffolding, BitReader br, WeaponStats weaponStats, ItemVisitor visitor) {
         itemBuilder.twohanded(weaponStats.isTwoHanded());
         itemBuilder.thrown(weaponStats.isThrown());
         final short maxDurability = br.readShort(8);
@@ -387,7 +842,7 @@ final class ItemParser {
                 || "hamm".equals(itemScaffolding.getType())) {
             final ItemStatCost isc = txtProperties.getItemStatCostsByID(ParseHelper.PROPERTY_UNDEAD_DMG);
             final ItemProperty bluntProperty = new ItemProperty(isc.getId(), isc.getStat(), new int[]{150}, 0, isc.getDescPriority());
-            itemBuilder.addProperty(bluntProperty);
+            addProperties(itemBuilder, PackedProperties.of(List.of(bluntProperty)), visitor);
         }
     }
 
@@ -429,22 +884,23 @@ final class ItemParser {
         }
     }
 
-    private void parseSocketedItems(Item.ItemBuilder itemBuilder, ItemScaffolding itemScaffolding, BitReader br) {
+    private void parseSocketedItems(Item.ItemBuilder itemBuilder, ItemScaffolding itemScaffolding, BitReader br, ItemVisitor visitor) {
         List<Item> socketedItems = new ArrayList<>();
 
         br.moveToNextByteBoundary();
         for (int i = 0; i < itemScaffolding.getCntFilledSockets(); i++) {
-            Item socketedItem = parseItem(br); // read the socketed sub-item
+            visitor.onSocketedItem(i);
+            Item socketedItem = parseItem(br, visitor, true); // read the socketed sub-item, it's always built as its properties and name add to ours
 
             if (Item.isJewel(itemScaffolding.getCode())) {
-                itemBuilder.addProperties(filterPropertiesByQuality(socketedItem.properties(), 1));
+                addProperties(itemBuilder, filterPropertiesByQuality(socketedItem.properties(), 1), visitor);
             } else if (itemScaffolding.getItemType() == ItemType.WEAPON) {
-                itemBuilder.addProperties(filterPropertiesByQuality(socketedItem.properties(), 7));
+                addProperties(itemBuilder, filterPropertiesByQuality(socketedItem.properties(), 7), visitor);
             } else if (itemScaffolding.getItemType() == ItemType.ARMOR) {
                 if (Item.isHelmetOrTorso(itemScaffolding.getType())) {
-                    itemBuilder.addProperties(filterPropertiesByQuality(socketedItem.properties(), 8));
+                    addProperties(itemBuilder, filterPropertiesByQuality(socketedItem.properties(), 8), visitor);
                 } else {
-                    itemBuilder.addProperties(filterPropertiesByQuality(socketedItem.properties(), 9));
+                    addProperties(itemBuilder, filterPropertiesByQuality(socketedItem.properties(), 9), visitor);
                 }
             }
 
@@ -468,49 +924,19 @@ final class ItemParser {
         throw new ParseException("All item types are null, issue parsing 'item'");
     }
 
-    private List<ItemProperty> readProperties(BitReader br, int qflag) {
-        List<ItemProperty> properties = new ArrayList<>();
+    PackedProperties readProperties(BitReader br, int qflag) {
+        final PackedProperties.PackedPropertiesBuilder properties = new PackedProperties.PackedPropertiesBuilder();
         int rootProp = br.readInt(9);
-        if (rootProp == ParseHelper.PROPERTY_END) {
-        }
         while (rootProp != ParseHelper.PROPERTY_END) {
-            ItemProperty itemProperty = parseItemProperty(br, rootProp, qflag);
-            properties.add(itemProperty);
-            if (rootProp == ParseHelper.PROPERTY_PHYS_MAX_DMG
-                    || rootProp == ParseHelper.PROPERTY_FIRE_MIN_DMG
-                    || rootProp == ParseHelper.PROPERTY_LIGHT_MIN_DMG
-                    || rootProp == ParseHelper.PROPERTY_MAGIC_MIN_DMG) {
-                properties.add(parseItemProperty(br, rootProp + 1, qflag));
-            } else if (rootProp == ParseHelper.PROPERTY_COLD_MIN_DMG || rootProp == ParseHelper.PROPERTY_POISON_MIN_DMG) { // these also include the duration value
-                properties.add(parseItemProperty(br, rootProp + 1, qflag));
-                properties.add(parseItemProperty(br, rootProp + 2, qflag));
+            propertyDecoder.read(br, rootProp, qflag, properties);
+            // follow-ups such as the max damage after the min damage are stored without an id of their own
+            for (int followUp = 1; followUp <= propertyDecoder.followUps(rootProp); followUp++) {
+                propertyDecoder.read(br, rootProp + followUp, qflag, properties);
             }
 
             rootProp = br.readInt(9);
         }
-        return properties;
-    }
-
-    private ItemProperty parseItemProperty(BitReader br, int rootProp, int qflag) {
-        ItemStatCost itemStatCost = txtProperties.getItemStatCostsByID(rootProp);
-        int length = itemStatCost.getSaveBits();
-        int saveAdd = itemStatCost.getSaveAdd();
-
-
-        if (rootProp == ParseHelper.PROPERTY_SKILL_GET_HIT
-                || rootProp == ParseHelper.PROPERTY_SKILL_DEATH
-                || rootProp == ParseHelper.PROPERTY_SKILL_LEVEL_UP
-                || rootProp == ParseHelper.PROPERTY_SKILL_ATTACK
-                || rootProp == ParseHelper.PROPERTY_SKILL_HIT
-                || rootProp == ParseHelper.PROPERTY_SKILL_KILL) {
-            return new ItemProperty(rootProp, itemStatCost.getStat(), new int[]{br.readInt(6) - saveAdd, br.readInt(10) - saveAdd, br.readInt(length) - saveAdd}, qflag, itemStatCost.getDescPriority());
-        } else if (rootProp == ParseHelper.PROPERTY_CHARGED_SKILL) {
-            return new ItemProperty(rootProp, itemStatCost.getStat(), new int[]{br.readInt(6) - saveAdd, br.readInt(10) - saveAdd, br.readInt(8) - saveAdd, br.readInt(8) - saveAdd}, qflag, itemStatCost.getDescPriority());
-        } else if (itemStatCost.getSaveParamBits() >= 0) {
-            return new ItemProperty(rootProp, itemStatCost.getStat(), new int[]{br.readInt(itemStatCost.getSaveParamBits()) - saveAdd, br.readInt(length) - saveAdd}, qflag, itemStatCost.getDescPriority());
-        }
-
-        return new ItemProperty(rootProp, itemStatCost.getStat(), new int[]{br.readInt(length) - saveAdd}, qflag, itemStatCost.getDescPriority());
+        return properties.build();
     }
 
     private ItemScaffolding getBasicItemStats(String code, ItemType itemType, ArmorStats armorStats, WeaponStats weaponStats, final MiscStats miscStats,
@@ -525,10 +951,8 @@ final class ItemParser {
         };
     }
 
-    private List<ItemProperty> filterPropertiesByQuality(List<ItemProperty> properties, int qualityFlag) {
-        return properties.stream()
-                .filter(ip -> ip.qualityFlag() == qualityFlag)
-                .toList();
+    private static PackedProperties filterPropertiesByQuality(List<ItemProperty> properties, int qualityFlag) {
+        return PackedProperties.of(properties).withQualityFlag(qualityFlag);
     }
 
     private void parseNormal(Item.ItemBuilder itemBuilder, String code, BitReader br) {
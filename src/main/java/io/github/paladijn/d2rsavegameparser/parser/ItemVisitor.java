@@ -0,0 +1,87 @@
+/*
+ * Copyright (C) 2023   Paladijn (paladijn2960+d2rsavegameparser@gmail.com)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA 
+ */
+package io.github.paladijn.d2rsavegameparser.parser;
+
+import io.github.paladijn.d2rsavegameparser.model.Item;
+import io.github.paladijn.d2rsavegameparser.model.ItemLocation;
+import io.github.paladijn.d2rsavegameparser.model.ItemPosition;
+import io.github.paladijn.d2rsavegameparser.model.ItemQuality;
+
+/**
+ * Callbacks for streaming through the items of a savegame, see {@link CharacterParser#visitItems(java.nio.ByteBuffer, ItemVisitor)} and
+ * {@link SharedStashParser#visitItems(java.nio.ByteBuffer, ItemVisitor)}. The callbacks are made while the items are decoded, without the
+ * top-level items being collected or even built, so a visitor can aggregate over any number of savegames with constant memory. A visitor
+ * that does need the complete {@link Item}s can ask for them with {@link #buildsItems()}.
+ * <p>
+ * Every item is reported as {@link #onItemStart} followed by its properties and closed by {@link #onItemEnd()}. The items socketed into it are
+ * reported in between, each preceded by {@link #onSocketedItem(int)}, so keep track of the depth in case you need to tell them apart.
+ * All callbacks do nothing by default, so only override the ones you need.
+ *
+ * @author Paladijn
+ */
+public interface ItemVisitor {
+
+    /**
+     * Called when an item starts, as soon as its code, quality, location and position are decoded.
+     * @param code the item code, or null in case of an ear
+     * @param quality the {@link ItemQuality}, {@link ItemQuality#NONE} for simple items and ears
+     * @param location the {@link ItemLocation}
+     * @param position the {@link ItemPosition}
+     */
+    default void onItemStart(String code, ItemQuality quality, ItemLocation location, ItemPosition position) {
+    }
+
+    /**
+     * Called for every property of the current item in the order they are decoded, which is not the display order of
+     * {@link io.github.paladijn.d2rsavegameparser.model.Item#properties()}. This includes the properties of gems and runes and those
+     * the item gains from what is socketed into it.
+     * @param id the id of the property in itemstatcost.txt
+     * @param qualityFlag the quality flag, see {@link io.github.paladijn.d2rsavegameparser.model.ItemProperty#qualityFlag()}
+     * @param values the values of the property, do not modify these
+     */
+    default void onProperty(int id, int qualityFlag, int[] values) {
+    }
+
+    /**
+     * Called before an item that is socketed into the current item is reported.
+     * @param socket the index of the filled socket, starting at 0
+     */
+    default void onSocketedItem(int socket) {
+    }
+
+    /**
+     * Called when the current item has been decoded completely.
+     */
+    default void onItemEnd() {
+    }
+
+    /**
+     * @return true to have every top-level item built and reported to {@link #onItem(Item)}, false (the default) to only receive the
+     * callbacks, which saves building the top-level items
+     */
+    default boolean buildsItems() {
+        return false;
+    }
+
+    /**
+     * Called with the built top-level item directly after its {@link #onItemEnd()}, only in case {@link #buildsItems()} returns true.
+     * @param item the built {@link Item}, including its socketed items
+     */
+    default void onItem(Item item) {
+    }
+}
@@ -0,0 +1,225 @@
+/*
+ * Copyright (C) 2023   Paladijn (paladijn2960+d2rsavegameparser@gmail.com)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA 
+ */
+package io.github.paladijn.d2rsavegameparser.parser;
+
+import io.github.paladijn.d2rsavegameparser.model.Item;
+import io.github.paladijn.d2rsavegameparser.model.ItemContainer;
+import io.github.paladijn.d2rsavegameparser.model.ItemLocation;
+import io.github.paladijn.d2rsavegameparser.model.ItemPosition;
+import io.github.paladijn.d2rsavegameparser.model.ItemProperty;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+
+/**
+ * Lazy view on an {@link Item} in a savegame or shared stash buffer. Only the flags, code, location and position are decoded when the
+ * item list is scanned, and kept in its {@link ItemIndex}, which is enough to render an inventory grid. The full {@link Item} (name,
+ * properties, affixes, socketed items, etc.) is decoded on the first call to {@link #item()} or one of its delegating accessors, and cached
+ * afterwards.
+ * <p>
+ * The view retains the {@link ByteBuffer} it was read from, so the buffer must not be changed or reused until the items have been
+ * decoded. This means a pooled {@link SaveFileLease} from {@link D2CharacterLoader#leaseFile(String)} can only be used when all
+ * required items are decoded before the lease is closed. Use a heap buffer or {@link D2CharacterLoader#mapFile(String)} otherwise.
+ * </p>
+ *
+ * @author Paladijn
+ */
+public final class LazyItem {
+
+    private final ItemParser itemParser;
+
+    private final ByteBuffer buffer;
+
+    private final ItemIndex index;
+
+    private final int entry;
+
+    private final int flags;
+
+    private final ItemLocation location;
+
+    private final ItemPosition position;
+
+    private final short x;
+
+    private final short y;
+
+    private final ItemContainer container;
+
+    private final String code;
+
+    private volatile Item item;
+
+    LazyItem(final ItemParser itemParser, final ByteBuffer buffer, final ItemIndex index, final int entry) {
+        this.itemParser = itemParser;
+        this.buffer = buffer;
+        this.index = index;
+        this.entry = entry;
+
+        // the header fields were recorded while scanning the item list, so they don't need to be decoded again
+        flags = index.flags(entry);
+        location = ItemLocation.findByValue(index.location(entry));
+        position = ItemPosition.findByValue(index.position(entry));
+        y = index.y(entry);
+        x = index.x(entry);
+        container = ItemContainer.findByValue(index.container(entry));
+        code = index.code(entry);
+    }
+
+    /**
+     * @return the code of the item, or null for an ear
+     */
+    public String code() {
+        return code;
+    }
+
+    /**
+     * @return the {@link ItemLocation} of the item
+     */
+    public ItemLocation location() {
+        return location;
+    }
+
+    /**
+     * @return the {@link ItemPosition} of the item
+     */
+    public ItemPosition position() {
+        return position;
+    }
+
+    /**
+     * @return the column of the item in its container
+     */
+    public short x() {
+        return x;
+    }
+
+    /**
+     * @return the row of the item in its container
+     */
+    public short y() {
+        return y;
+    }
+
+    /**
+     * @return the {@link ItemContainer} of the item
+     */
+    public ItemContainer container() {
+        return container;
+    }
+
+    /**
+     * @return true in case the item is identified
+     */
+    public boolean isIdentified() {
+        return isBitChecked(5);
+    }
+
+    /**
+     * @return true in case the item is socketed
+     */
+    public boolean isSocketed() {
+        return isBitChecked(12);
+    }
+
+    /**
+     * @return true in case the item is an ear
+     */
+    public boolean isEar() {
+        return isBitChecked(17);
+    }
+
+    /**
+     * @return true in case the item is a simple item without extended data
+     */
+    public boolean isSimple() {
+        return isBitChecked(22);
+    }
+
+    /**
+     * @return true in case the item is ethereal
+     */
+    public boolean isEthereal() {
+        return isBitChecked(23);
+    }
+
+    /**
+     * @return true in case the item is personalized
+     */
+    public boolean isPersonalized() {
+        return isBitChecked(25);
+    }
+
+    /**
+     * @return true in case the item is a runeword
+     */
+    public boolean isRuneword() {
+        return isBitChecked(27);
+    }
+
+    /**
+     * @return true in case the full {@link Item} has been decoded already
+     */
+    public boolean isDecoded() {
+        return item != null;
+    }
+
+    /**
+     * Decode the full {@link Item} on first access, subsequent calls return the cached result.
+     * @return the decoded {@link Item}
+     * @throws ParseException in case there was an issue parsing the item
+     */
+    public Item item() {
+        Item result = item;
+        if (result == null) {
+            synchronized (this) {
+                result = item;
+                if (result == null) {
+                    result = itemParser.parseItem(buffer, index, entry);
+                    item = result;
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @return the name of the item, decoding the full {@link Item}
+     */
+    public String itemName() {
+        return item().itemName();
+    }
+
+    /**
+     * @return the properties of the item, decoding the full {@link Item}
+     */
+    public List<ItemProperty> properties() {
+        return item().properties();
+    }
+
+    /**
+     * @return the socketed items, decoding the full {@link Item}
+     */
+    public List<Item> socketedItems() {
+        return item().socketedItems();
+    }
+
+    private boolean isBitChecked(final int index) {
+        return ((flags >>> (32 - index)) & 1) == 1;
+    }
+}
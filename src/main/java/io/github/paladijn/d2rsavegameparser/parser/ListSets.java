@@ -25,7 +25,6 @@ import org.slf4j.Logger;
 
 import java.io.IOException;
 import java.io.InputStream;
-import java.nio.ByteBuffer;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
@@ -77,14 +76,14 @@ public class ListSets {
             System.out.println(savegames.size()+ " savegame files found");
 
             for (Path savegame: savegames) {
-                final ByteBuffer byteBuffer = ByteBuffer.wrap(Files.readAllBytes(savegame));
-
-                SampleHelpers.getCharacter(byteBuffer, savegame)
-                        .ifPresent(d2Character -> {
-                            if (d2Character.hardcore() == filterHardcore) {
-                                filterSetItems(savegame.getFileName(), d2Character, setItems);
-                            }
-                        });
+                try (SaveFileLease lease = D2CharacterLoader.leaseFile(savegame.toString())) {
+                    SampleHelpers.getCharacter(lease.buffer(), savegame)
+                            .ifPresent(d2Character -> {
+                                if (d2Character.hardcore() == filterHardcore) {
+                                    filterSetItems(savegame.getFileName(), d2Character, setItems);
+                                }
+                            });
+                }
             }
         } catch (IOException e) {
             throw new RuntimeException("Problem occurred reading savegame files", e);
@@ -95,14 +94,13 @@ public class ListSets {
         final SharedStashParser sharedStashParser = new SharedStashParser(false);
         final Path sharedStash = Path.of(saveGameLocation, stashLocation);
 
-        final ByteBuffer byteBuffer;
-        try {
-            byteBuffer = ByteBuffer.wrap(Files.readAllBytes(sharedStash));
+        final List<SharedStashTab> sharedStashTabs;
+        try (SaveFileLease lease = D2CharacterLoader.leaseFile(sharedStash.toString())) {
+            sharedStashTabs = sharedStashParser.parse(lease.buffer());
         } catch (IOException e) {
             throw new RuntimeException(e);
         }
 
-        final List<SharedStashTab> sharedStashTabs = sharedStashParser.parse(byteBuffer);
         sharedStashTabs.forEach(sharedStashTab -> sharedStashTab.items().stream()
                 .filter(item -> item.quality() == ItemQuality.SET)
                 .forEach(item -> setItems.add(new SavegameWithItem(stashLocation, item)))
@@ -0,0 +1,120 @@
+/*
+ * Copyright (C) 2023   Paladijn (paladijn2960+d2rsavegameparser@gmail.com)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA 
+ */
+package io.github.paladijn.d2rsavegameparser.parser;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Projection of the sections {@link CharacterParser#parse(java.nio.ByteBuffer, ParseOptions)} should materialize. The header, quest and
+ * waypoint data is always read as that is covered by fixed offsets. Sections that are not requested are skipped and left empty (or null)
+ * in the resulting {@link io.github.paladijn.d2rsavegameparser.model.D2Character}. The items of the requested sections can be narrowed down
+ * further with an {@link ItemFilter}.
+ *
+ * @param sections the {@link Section}s to parse
+ * @param itemFilter the {@link ItemFilter} selecting the items to parse
+ * @author Paladijn
+ */
+public record ParseOptions(Set<Section> sections, ItemFilter itemFilter) {
+
+    private static final ParseOptions ALL = new ParseOptions(EnumSet.allOf(Section.class));
+
+    /**
+     * The optional sections of a character savegame file.
+     */
+    public enum Section {
+        /** the character attributes (strength, life, experience, etc.) */
+        ATTRIBUTES,
+        /** the skills, adjusted for passives when items and/or set bonuses are parsed as well */
+        SKILLS,
+        /** all items on the character, in the inventory, cube and private stash */
+        ITEMS,
+        /** only the equipped items, ignored when {@link #ITEMS} is requested as well */
+        EQUIPPED_ITEMS,
+        /** removal of inactive set bonuses from the (mercenary) set items and the active set benefits of the character */
+        SET_BONUSES,
+        /** the mercenary and its items */
+        MERCENARY,
+        /** the item used to create the iron golem */
+        GOLEM,
+        /** the items on the dead body of the character */
+        DEAD_BODY
+    }
+
+    /**
+     * Compact constructor making an immutable copy of the sections
+     * @param sections the {@link Section}s to parse
+     * @param itemFilter the {@link ItemFilter} selecting the items to parse
+     */
+    public ParseOptions {
+        final EnumSet<Section> copy = EnumSet.noneOf(Section.class);
+        copy.addAll(sections);
+        sections = Collections.unmodifiableSet(copy);
+        Objects.requireNonNull(itemFilter, "itemFilter");
+    }
+
+    /**
+     * Constructor for options that parse all items of the requested sections
+     * @param sections the {@link Section}s to parse
+     */
+    public ParseOptions(final Set<Section> sections) {
+        this(sections, ItemFilter.all());
+    }
+
+    /**
+     * @return options to parse all sections, which is the default of {@link CharacterParser#parse(java.nio.ByteBuffer)}
+     */
+    public static ParseOptions all() {
+        return ALL;
+    }
+
+    /**
+     * @param sections the {@link Section}s to parse
+     * @return options that only parse the requested sections
+     */
+    public static ParseOptions of(final Section... sections) {
+        final EnumSet<Section> requested = EnumSet.noneOf(Section.class);
+        requested.addAll(Arrays.asList(sections));
+        return new ParseOptions(requested);
+    }
+
+    /**
+     * Only parse the (character, mercenary, golem and dead body) items accepted by the filter, the others are skipped. Note that the set
+     * bonuses and passive skills are calculated over the accepted items only.
+     * @param filter the {@link ItemFilter} selecting the items to parse
+     * @return options with the same sections that only parse the accepted items
+     */
+    public ParseOptions withItemFilter(final ItemFilter filter) {
+        return new ParseOptions(sections, filter);
+    }
+
+    /**
+     * @param section the {@link Section} to check
+     * @return true when the section is requested
+     */
+    public boolean includes(final Section section) {
+        return sections.contains(section);
+    }
+
+    boolean includesItems() {
+        return sections.contains(Section.ITEMS) || sections.contains(Section.EQUIPPED_ITEMS);
+    }
+}
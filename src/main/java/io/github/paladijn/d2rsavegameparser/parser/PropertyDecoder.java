@@ -0,0 +1,166 @@
+/*
+ * Copyright (C) 2023   Paladijn (paladijn2960+d2rsavegameparser@gmail.com)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA 
+ */
+package io.github.paladijn.d2rsavegameparser.parser;
+
+import io.github.paladijn.d2rsavegameparser.internal.parser.BitReader;
+import io.github.paladijn.d2rsavegameparser.internal.parser.PackedProperties;
+import io.github.paladijn.d2rsavegameparser.internal.parser.ParseHelper;
+import io.github.paladijn.d2rsavegameparser.txt.ItemStatCost;
+import io.github.paladijn.d2rsavegameparser.txt.TXTProperties;
+
+/**
+ * Decoding plans for item properties, compiled once from itemstatcost.txt. For every 9-bit property id it holds the number of fields,
+ * the bit width of each field, the saveAdd value and the number of follow-up properties (such as the max damage after min damage) in
+ * flat arrays, so reading a property is a single lookup followed by fixed reads rather than a chain of id comparisons.
+ *
+ * @author Paladijn
+ */
+final class PropertyDecoder {
+
+    private static final int PROPERTY_IDS = 512;
+
+    // skill properties (chance to cast, charges) have the most fields
+    private static final int MAX_FIELDS = 4;
+
+    // 0 for ids that are not in itemstatcost.txt
+    private final int[] fieldCounts = new int[PROPERTY_IDS];
+
+    // the bit width of field f of property id is at [id * MAX_FIELDS + f]
+    private final int[] fieldWidths = new int[PROPERTY_IDS * MAX_FIELDS];
+
+    private final int[] saveAdds = new int[PROPERTY_IDS];
+
+    // the properties that are always stored directly after this one, with the next ids
+    private final int[] followUps = new int[PROPERTY_IDS];
+
+    // the bits of the property itself and its follow-ups, used to skip it
+    private final int[] skipBits = new int[PROPERTY_IDS];
+
+    private final int[] descPriorities = new int[PROPERTY_IDS];
+
+    private static final class Holder {
+        private static final PropertyDecoder INSTANCE = new PropertyDecoder(TXTProperties.getInstance());
+    }
+
+    static PropertyDecoder getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    PropertyDecoder(final TXTProperties txtProperties) {
+        for (int id = 0; id < PROPERTY_IDS; id++) {
+            final ItemStatCost itemStatCost = txtProperties.getItemStatCostsByID(id);
+            if (itemStatCost != null && id != ParseHelper.PROPERTY_END) {
+                compile(id, itemStatCost);
+            }
+        }
+        for (int id = 0; id < PROPERTY_IDS; id++) {
+            followUps[id] = switch (id) {
+                case ParseHelper.PROPERTY_PHYS_MAX_DMG, ParseHelper.PROPERTY_FIRE_MIN_DMG, ParseHelper.PROPERTY_LIGHT_MIN_DMG,
+                     ParseHelper.PROPERTY_MAGIC_MIN_DMG -> 1;
+                case ParseHelper.PROPERTY_COLD_MIN_DMG, ParseHelper.PROPERTY_POISON_MIN_DMG -> 2; // these also include the duration value
+                default -> 0;
+            };
+            skipBits[id] = fieldBits(id);
+            for (int followUp = 1; followUp <= followUps[id]; followUp++) {
+                skipBits[id] += fieldBits(id + followUp);
+            }
+        }
+    }
+
+    private void compile(final int id, final ItemStatCost itemStatCost) {
+        final int[] widths = switch (id) {
+            case ParseHelper.PROPERTY_SKILL_GET_HIT, ParseHelper.PROPERTY_SKILL_DEATH, ParseHelper.PROPERTY_SKILL_LEVEL_UP,
+                 ParseHelper.PROPERTY_SKILL_ATTACK, ParseHelper.PROPERTY_SKILL_HIT, ParseHelper.PROPERTY_SKILL_KILL ->
+                    new int[]{6, 10, itemStatCost.getSaveBits()}; // level, skill, chance
+            case ParseHelper.PROPERTY_CHARGED_SKILL -> new int[]{6, 10, 8, 8}; // level, skill, charges, max charges
+            default -> itemStatCost.getSaveParamBits() >= 0
+                    ? new int[]{itemStatCost.getSaveParamBits(), itemStatCost.getSaveBits()}
+                    : new int[]{itemStatCost.getSaveBits()};
+        };
+        fieldCounts[id] = widths.length;
+        System.arraycopy(widths, 0, fieldWidths, id * MAX_FIELDS, widths.length);
+        saveAdds[id] = itemStatCost.getSaveAdd();
+        descPriorities[id] = itemStatCost.getDescPriority();
+    }
+
+    private int fieldBits(final int id) {
+        int bits = 0;
+        for (int f = 0; f < fieldCounts[id]; f++) {
+            bits += fieldWidths[id * MAX_FIELDS + f];
+        }
+        return bits;
+    }
+
+    /**
+     * Read a single property (without its follow-ups) from the current position and add it to the supplied properties.
+     *
+     * @param br the {@link BitReader} positioned after the 9-bit property id
+     * @param id the property id
+     * @param qflag the quality flag of the property
+     * @param properties the properties to add it to
+     */
+    void read(final BitReader br, final int id, final int qflag, final PackedProperties.PackedPropertiesBuilder properties) {
+        final int cntFields = fieldCounts[checkId(id)];
+        final int offset = id * MAX_FIELDS;
+        final int saveAdd = saveAdds[id];
+        properties.addStat(id, qflag, descPriorities[id]);
+        for (int f = 0; f < cntFields; f++) {
+            properties.addValue(br.readInt(fieldWidths[offset + f]) - saveAdd);
+        }
+    }
+
+    /**
+     * @param id the property id
+     * @return the number of properties that directly follow this one without an id of their own, using the next ids.
+     */
+    int followUps(final int id) {
+        return followUps[checkId(id)];
+    }
+
+    /**
+     * @param id the property id
+     * @return the number of bits of this property and its follow-ups, after the 9-bit property id.
+     */
+    int skipBits(final int id) {
+        return skipBits[checkId(id)];
+    }
+
+    /**
+     * @param id the property id
+     * @return the number of fields (values) this property stores.
+     */
+    int fieldCount(final int id) {
+        return fieldCounts[checkId(id)];
+    }
+
+    /**
+     * @param id the property id
+     * @param field the index of the field
+     * @return the bit width of the field.
+     */
+    int fieldWidth(final int id, final int field) {
+        return fieldWidths[checkId(id) * MAX_FIELDS + field];
+    }
+
+    private int checkId(final int id) {
+        if (fieldCounts[id] == 0) {
+            throw new ParseException("Unknown item property id " + id);
+        }
+        return id;
+    }
+}
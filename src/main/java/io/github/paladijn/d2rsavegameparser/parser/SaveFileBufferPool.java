@@ -0,0 +1,79 @@
+/*
+ * Copyright (C) 2023   Paladijn (paladijn2960+d2rsavegameparser@gmail.com)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA 
+ */
+package io.github.paladijn.d2rsavegameparser.parser;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Thread-local pool of direct buffers used by the {@link D2CharacterLoader} to read savegame files without allocating a new
+ * buffer per file. Each thread owns one buffer, which grows to the largest file read on that thread.
+ *
+ * @author Paladijn
+ */
+final class SaveFileBufferPool {
+
+    private static final int MIN_CAPACITY = 16 * 1024; // a fully stuffed character file is around 10 KiB
+
+    private static final ThreadLocal<PooledBuffer> POOL = ThreadLocal.withInitial(PooledBuffer::new);
+
+    private SaveFileBufferPool() {
+        // Helper class, don't instantiate me.
+    }
+
+    static SaveFileLease read(final FileChannel fileChannel) throws IOException {
+        final int size = Math.toIntExact(fileChannel.size());
+        final PooledBuffer pooled = POOL.get();
+        if (!pooled.leased.compareAndSet(false, true)) {
+            // the buffer of this thread is still leased out (nested loads), fall back to a one-off buffer
+            final ByteBuffer oneOff = ByteBuffer.allocate(size);
+            readFully(fileChannel, oneOff);
+            return new SaveFileLease(oneOff.flip().asReadOnlyBuffer(), () -> { });
+        }
+
+        try {
+            final ByteBuffer buffer = pooled.withCapacity(size);
+            readFully(fileChannel, buffer.clear().limit(size));
+            return new SaveFileLease(buffer.flip().asReadOnlyBuffer(), () -> pooled.leased.set(false));
+        } catch (IOException | RuntimeException e) {
+            pooled.leased.set(false);
+            throw e;
+        }
+    }
+
+    private static void readFully(final FileChannel fileChannel, final ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining() && fileChannel.read(buffer) != -1) {
+            // keep reading, a channel may return fewer bytes than requested
+        }
+    }
+
+    private static final class PooledBuffer {
+        private final AtomicBoolean leased = new AtomicBoolean();
+
+        private ByteBuffer buffer = ByteBuffer.allocateDirect(MIN_CAPACITY);
+
+        private ByteBuffer withCapacity(final int size) {
+            if (buffer.capacity() < size) {
+                buffer = ByteBuffer.allocateDirect(Math.max(size, buffer.capacity() * 2));
+            }
+            return buffer;
+        }
+    }
+}
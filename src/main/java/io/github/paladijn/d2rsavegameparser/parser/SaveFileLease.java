@@ -0,0 +1,64 @@
+/*
+ * Copyright (C) 2023   Paladijn (paladijn2960+d2rsavegameparser@gmail.com)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA 
+ */
+package io.github.paladijn.d2rsavegameparser.parser;
+
+import java.nio.ByteBuffer;
+
+/**
+ * A savegame file loaded by the {@link D2CharacterLoader} into a pooled or memory-mapped {@link ByteBuffer}. The buffer
+ * belongs to the lease and may only be used until the lease is closed, after which a pooled buffer will be re-used for the
+ * next file loaded on the same thread. Use it in a try-with-resources block and do not hold on to the buffer afterwards.
+ *
+ * @author Paladijn
+ */
+public final class SaveFileLease implements AutoCloseable {
+
+    private final ByteBuffer buffer;
+
+    private final Runnable release;
+
+    private boolean closed;
+
+    SaveFileLease(final ByteBuffer buffer, final Runnable release) {
+        this.buffer = buffer;
+        this.release = release;
+    }
+
+    /**
+     * Retrieve the read-only contents of the file.
+     * @return a read-only {@link ByteBuffer} with the contents of the file, positioned at 0 with the file size as limit
+     * @throws IllegalStateException in case the lease was already closed
+     */
+    public ByteBuffer buffer() {
+        if (closed) {
+            throw new IllegalStateException("This lease has already been closed, the buffer may have been re-used");
+        }
+        return buffer;
+    }
+
+    /**
+     * Return the buffer to the pool. Closing a lease more than once has no effect.
+     */
+    @Override
+    public void close() {
+        if (!closed) {
+            closed = true;
+            release.run();
+        }
+    }
+}
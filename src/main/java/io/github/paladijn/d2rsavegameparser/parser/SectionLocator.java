@@ -0,0 +1,124 @@
+/*
+ * Copyright (C) 2023   Paladijn (paladijn2960+d2rsavegameparser@gmail.com)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA 
+ */
+package io.github.paladijn.d2rsavegameparser.parser;
+
+import io.github.paladijn.d2rsavegameparser.internal.parser.MarkerSearch;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Locates the sections of a Diablo II: resurrected savegame file in a single pass, without decoding them. The headers are compared as
+ * little-endian values read straight from the buffer, so no temporary arrays or Strings are created per scanned byte. This is used by
+ * the {@link CharacterParser} and can be used by tooling that needs the raw offsets.
+ *
+ * @author Paladijn
+ */
+public final class SectionLocator {
+
+    private static final int QUEST_HEADER = MarkerSearch.marker("Woo!");
+
+    private static final int WAYPOINT_HEADER = MarkerSearch.marker("WS");
+
+    private static final int NPC_HEADER = MarkerSearch.marker("w4");
+
+    private static final int STAT_HEADER = MarkerSearch.marker("gf");
+
+    private static final int SKILL_HEADER = MarkerSearch.marker("if");
+
+    private static final int ITEM_LIST_HEADER = MarkerSearch.marker("JM");
+
+    private static final int MERC_ITEM_HEADER = MarkerSearch.marker("jf");
+
+    private static final int IRON_GOLEM_HEADER = MarkerSearch.marker("kf");
+
+    private static final int QUEST_INDEX = 335;
+
+    private static final int WAYPOINT_INDEX = 633;
+
+    private static final int NPC_INDEX = 714;
+
+    private static final int STAT_INDEX = 765;
+
+    private SectionLocator() {
+        // Helper class, don't instantiate me.
+    }
+
+    /**
+     * Locate the sections of a savegame file that contains more than the 335 header bytes of a newly created character.
+     * @param buffer a {@link ByteBuffer} of a Diablo II: resurrected savegame file, its byte order will be set to little-endian.
+     * @return the {@link SectionOffsets} of the file
+     * @throws ParseException in case one of the mandatory headers could not be found
+     */
+    public static SectionOffsets locate(final ByteBuffer buffer) {
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+
+        checkQuestHeader(buffer);
+        checkWaypointHeader(buffer);
+        if (!MarkerSearch.matchesAt(buffer, NPC_INDEX, NPC_HEADER, 2)) {
+            throw new ParseException("Could not find NPC header");
+        }
+        // stats, "gf" until "if"
+        if (!MarkerSearch.matchesAt(buffer, STAT_INDEX, STAT_HEADER, 2)) {
+            throw new ParseException("Could not find stat header");
+        }
+
+        // stat length is at least xx bytes and at most yy bytes, followed by if header for the skills. We're assuming max 60 which so far seems to work (it should be < 36, but we've encountered one crash on >= 40 so far)
+        final int skillIndex = MarkerSearch.indexOf(buffer, 800, 860, SKILL_HEADER, 2);
+        if (skillIndex == -1) {
+            throw new ParseException("Could not find skill header 'if' below index 860");
+        }
+
+        // (available) skills are 30 bytes after the skillindex plus the 2 header bytes
+        final int itemIndex = skillIndex + 32;
+        final int itemCount = Short.toUnsignedInt(buffer.getShort(itemIndex + 2));
+        final int itemSearchStart = itemIndex + 9 * itemCount; // items have a minimum length of 9 bytes.
+
+        // There should be a dead body indicator here JM + short value = 0, you're alive. short value = 1, then we have the items of your dead body here.
+        final int deadBodyIndex = MarkerSearch.indexOf(buffer, itemSearchStart, buffer.limit(), ITEM_LIST_HEADER, 2);
+
+        int mercenaryItemIndex = -1;
+        int ironGolemIndex = -1;
+        if ((buffer.get(36) & 1 << 5) != 0) {
+            // the Classic characters don't have merc items, and don't store the iron golem item in the savegame file (it even disappears when switching acts!)
+            // for iron lem and merc we'll search backwards as that is faster.
+            ironGolemIndex = MarkerSearch.lastIndexOf(buffer, itemSearchStart + 1, buffer.limit() - 2, IRON_GOLEM_HEADER, 2);
+            if (ironGolemIndex == -1) {
+                throw new ParseException("Could not find iron golem header 'kf'");
+            }
+
+            final int mercHeaderIndex = MarkerSearch.lastIndexOf(buffer, itemSearchStart + 1, ironGolemIndex + 1, MERC_ITEM_HEADER, 2);
+            mercenaryItemIndex = mercHeaderIndex == -1 ? -1 : mercHeaderIndex + 2;
+        }
+
+        return new SectionOffsets(QUEST_INDEX, WAYPOINT_INDEX, NPC_INDEX, STAT_INDEX, skillIndex, itemIndex, itemCount,
+                deadBodyIndex, mercenaryItemIndex, ironGolemIndex);
+    }
+
+    static void checkQuestHeader(final ByteBuffer buffer) {
+        if (!MarkerSearch.matchesAt(buffer, QUEST_INDEX, QUEST_HEADER, 4)) {
+            throw new ParseException("Could not find quest header");
+        }
+    }
+
+    static void checkWaypointHeader(final ByteBuffer buffer) {
+        if (!MarkerSearch.matchesAt(buffer, WAYPOINT_INDEX, WAYPOINT_HEADER, 2)) {
+            throw new ParseException("Could not find Waypoints header");
+        }
+    }
+}
@@ -0,0 +1,38 @@
+/*
+ * Copyright (C) 2023   Paladijn (paladijn2960+d2rsavegameparser@gmail.com)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA 
+ */
+package io.github.paladijn.d2rsavegameparser.parser;
+
+/**
+ * Byte offsets of the sections in a Diablo II: resurrected savegame file, as located by {@link SectionLocator#locate(java.nio.ByteBuffer)}.
+ * Optional sections that are not present in the file have an offset of -1.
+ *
+ * @param questIndex the index of the quest header "Woo!"
+ * @param waypointIndex the index of the waypoint header "WS"
+ * @param npcIndex the index of the NPC header "w4"
+ * @param statIndex the index of the character statistics header "gf"
+ * @param skillIndex the index of the skill header "if"
+ * @param itemIndex the index of the "JM" header of the character items
+ * @param itemCount the number of character items, excluding the socketed items
+ * @param deadBodyIndex the index of the "JM" header of the dead body indicator, or -1
+ * @param mercenaryItemIndex the index of the "JM" header of the mercenary items directly after "jf", or -1 for classic characters
+ * @param ironGolemIndex the index of the iron golem header "kf", or -1 for classic characters
+ * @author Paladijn
+ */
+public record SectionOffsets(int questIndex, int waypointIndex, int npcIndex, int statIndex, int skillIndex, int itemIndex, int itemCount,
+                             int deadBodyIndex, int mercenaryItemIndex, int ironGolemIndex) {
+}
@@ -18,14 +18,19 @@
 package io.github.paladijn.d2rsavegameparser.parser;
 
 
-import io.github.paladijn.d2rsavegameparser.internal.parser.BitReader;
+import io.github.paladijn.d2rsavegameparser.internal.parser.MarkerSearch;
+import io.github.paladijn.d2rsavegameparser.model.ItemTable;
 import io.github.paladijn.d2rsavegameparser.model.SharedStashTab;
 
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
+import java.time.Duration;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 
 /**
  * Parser for the shared stash files that were introduced by Diablo II: resurrected. This reads both the SharedStashSoftCoreV2.d2i and the SharedStashHardCoreV2.d2i.
@@ -33,7 +38,8 @@ import java.util.List;
  * @author Paladijn
  */
 public final class SharedStashParser {
-    private static final byte[] STASH_INIT_BYTES = {85, -86, 85, -86};
+    // 55 AA 55 AA
+    private static final int STASH_TAB_HEADER = 0xaa55aa55;
 
     /** Softcore shared stash filename */
     public static final String SOFTCORE_SHARED_STASH = "SharedStashSoftCoreV2.d2i";
@@ -51,6 +57,16 @@ public final class SharedStashParser {
         itemParser = new ItemParser(printItemBytes);
     }
 
+    /**
+     * Constructor for the {@link SharedStashParser} that decodes the items of larger tabs in parallel. The item boundaries of a tab are
+     * scanned first, after which batches of items are decoded on the executor and reassembled in their original order.
+     * @param printItemBytes helper boolean to log the bytes[] per Item for unit tests and debugging.
+     * @param itemExecutor the {@link Executor} to decode the items on, for example a {@link java.util.concurrent.ForkJoinPool}
+     */
+    public SharedStashParser(boolean printItemBytes, Executor itemExecutor) {
+        itemParser = new ItemParser(printItemBytes, Objects.requireNonNull(itemExecutor, "itemExecutor"));
+    }
+
     /**
      * Parse the {@link ByteBuffer} of a shared stash file to a list of {@link SharedStashTab}.
      * @param buffer a {@link ByteBuffer} of a Diablo II: resurrected savegame file
@@ -58,17 +74,126 @@ public final class SharedStashParser {
      * @throws ParseException in case there was an issue parsing the buffer
      */
     public List<SharedStashTab> parse(final ByteBuffer buffer) {
+        return parseTimed(buffer, Runnable::run).tabs();
+    }
+
+    /**
+     * Parse the {@link ByteBuffer} of a shared stash file to a list of {@link SharedStashTab}, only containing the items accepted by the
+     * {@link ItemFilter}. The other items are skipped without decoding them.
+     * @param buffer a {@link ByteBuffer} of a Diablo II: resurrected savegame file
+     * @param filter the {@link ItemFilter} selecting the items to parse
+     * @return a list of {@link SharedStashTab}
+     * @throws ParseException in case there was an issue parsing the buffer
+     */
+    public List<SharedStashTab> parse(final ByteBuffer buffer, final ItemFilter filter) {
+        return parseTimed(buffer, Runnable::run, Objects.requireNonNull(filter, "filter")).tabs();
+    }
+
+    /**
+     * Parse the {@link ByteBuffer} of a shared stash file to a list of {@link SharedStashTab}, decoding the tabs concurrently on the executor.
+     * @param buffer a {@link ByteBuffer} of a Diablo II: resurrected savegame file
+     * @param executor the {@link Executor} to parse the tabs on
+     * @return a list of {@link SharedStashTab} in file order
+     * @throws ParseException in case there was an issue parsing the buffer
+     */
+    public List<SharedStashTab> parse(final ByteBuffer buffer, final Executor executor) {
+        return parseTimed(buffer, executor).tabs();
+    }
+
+    /**
+     * Parse the {@link ByteBuffer} of a shared stash file, decoding the tabs concurrently on the executor, and record the time spent per tab.
+     * @param buffer a {@link ByteBuffer} of a Diablo II: resurrected savegame file
+     * @param executor the {@link Executor} to parse the tabs on, use {@code Runnable::run} to parse them sequentially
+     * @return the {@link TimedSharedStash} with the tabs in file order and their parse durations
+     * @throws ParseException in case there was an issue parsing the buffer
+     */
+    public TimedSharedStash parseTimed(final ByteBuffer buffer, final Executor executor) {
+        return parseTimed(buffer, executor, ItemFilter.all());
+    }
+
+    private TimedSharedStash parseTimed(final ByteBuffer buffer, final Executor executor, final ItemFilter filter) {
         buffer.order(ByteOrder.LITTLE_ENDIAN);
 
-        final List<SharedStashTab> tabs = new ArrayList<>();
         final List<Integer> tabIndeces = getStartIndices(buffer);
+        final SharedStashTab[] tabs = new SharedStashTab[tabIndeces.size()];
+        final Duration[] durations = new Duration[tabIndeces.size()];
+
+        final CompletableFuture<?>[] tasks = new CompletableFuture<?>[tabIndeces.size()];
+        for (int i = 0; i < tasks.length; i++) {
+            final int tab = i;
+            tasks[i] = CompletableFuture.runAsync(() -> {
+                final long start = System.nanoTime();
+                tabs[tab] = parseTab(tabIndeces.get(tab), buffer, filter);
+                durations[tab] = Duration.ofNanos(System.nanoTime() - start);
+            }, executor);
+        }
 
-        tabIndeces.forEach( index -> tabs.add(parseTab(index, buffer)));
+        try {
+            CompletableFuture.allOf(tasks).join();
+        } catch (CompletionException ce) {
+            if (ce.getCause() instanceof ParseException pe) {
+                throw pe;
+            }
+            throw new ParseException("Failed to parse the shared stash tabs", ce.getCause());
+        }
+
+        return new TimedSharedStash(List.of(tabs), List.of(durations));
+    }
+
+    /**
+     * Scan the {@link ByteBuffer} of a shared stash file into {@link LazyItem}s per tab, which only decode the full item on first access.
+     * The buffer is retained by the {@link LazyItem}s, see its documentation for the restrictions that brings.
+     * @param buffer a {@link ByteBuffer} of a Diablo II: resurrected shared stash file
+     * @return a list of {@link LazyItem}s per tab
+     * @throws ParseException in case there was an issue scanning the buffer
+     */
+    public List<List<LazyItem>> parseLazily(final ByteBuffer buffer) {
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+
+        final List<List<LazyItem>> tabs = new ArrayList<>();
+        for (int index : getStartIndices(buffer)) {
+            final SharedStashTab header = parseHeader(index, buffer);
+            tabs.add(itemParser.parseItemsLazily(buffer, index + 64, index + header.lengthInBytes()));
+        }
 
         return tabs;
     }
 
-    private SharedStashTab parseTab(final int index, final ByteBuffer buffer) {
+    /**
+     * Stream the items of all tabs in the {@link ByteBuffer} of a shared stash file to an {@link ItemVisitor}, in file order, without building or
+     * keeping a list of {@link io.github.paladijn.d2rsavegameparser.model.Item}s.
+     * @param buffer a {@link ByteBuffer} of a Diablo II: resurrected shared stash file
+     * @param visitor the {@link ItemVisitor} to report the items to
+     * @throws ParseException in case there was an issue parsing the buffer
+     */
+    public void visitItems(final ByteBuffer buffer, final ItemVisitor visitor) {
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        Objects.requireNonNull(visitor, "visitor");
+
+        for (int index : getStartIndices(buffer)) {
+            final SharedStashTab header = parseHeader(index, buffer);
+            itemParser.visitItems(buffer, index + 64, index + header.lengthInBytes(), visitor);
+        }
+    }
+
+    /**
+     * Add the items of all tabs in the {@link ByteBuffer} of a shared stash file to the rows of an {@link ItemTable}, in file order. The items are
+     * written to the table while they are decoded, without building an {@link io.github.paladijn.d2rsavegameparser.model.Item} for them.
+     * @param buffer a {@link ByteBuffer} of a Diablo II: resurrected shared stash file
+     * @param table the {@link ItemTable.ItemTableBuilder} to add the items to
+     * @throws ParseException in case there was an issue parsing the buffer
+     */
+    public void addItemsTo(final ByteBuffer buffer, final ItemTable.ItemTableBuilder table) {
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        Objects.requireNonNull(table, "table");
+
+        for (int index : getStartIndices(buffer)) {
+            final SharedStashTab header = parseHeader(index, buffer);
+            itemParser.addItemsTo(buffer, index + 64, index + header.lengthInBytes(), table);
+        }
+    }
+
+    private SharedStashTab parseTab(final int index, final ByteBuffer buffer, final ItemFilter filter) {
         final SharedStashTab stashWithoutItems = parseHeader(index, buffer);
 
         // the items start at byte 64, this feels a bit hacky because we have to re-use the header content to calculate the end index of the items
@@ -76,39 +201,30 @@ public final class SharedStashParser {
                 .version(stashWithoutItems.version())
                 .gold(stashWithoutItems.gold())
                 .lengthInBytes(stashWithoutItems.lengthInBytes())
-                .items(itemParser.parseItems(buffer, index + 64, index + stashWithoutItems.lengthInBytes()))
+                .items(itemParser.parseItems(buffer, index + 64, index + stashWithoutItems.lengthInBytes(), filter))
                 .build();
     }
 
     private SharedStashTab parseHeader(final int index, final ByteBuffer buffer) {
-        byte[] headerBytes = new byte[20];
-        buffer.get(index, headerBytes, 0, 20);
-        final BitReader headerData = new BitReader(headerBytes);
-        headerData.skip(64); // skip the first 8 bytes
-
-        final int version = headerData.readInt();
+        // skip the first 8 bytes, the header values are little-endian ints and read straight from the buffer
+        final int version = buffer.getInt(index + 8);
         if (version != 99) {
             throw new ParseException("Unsupported shared stash version " + version);
         }
 
         return new SharedStashTab.SharedStashTabBuilder()
                 .version(version)
-                .gold(headerData.readInt())
-                .lengthInBytes(headerData.readInt())
+                .gold(buffer.getInt(index + 12))
+                .lengthInBytes(buffer.getInt(index + 16))
                 .build();
     }
 
     private List<Integer> getStartIndices(ByteBuffer buffer) {
         List<Integer> indices = new ArrayList<>();
-        for (int i = 0; i < buffer.limit() - 3; i++) {
-            if (buffer.get(i) == 85) { // in this case check for 55 AA 55 AA
-                byte[] header = new byte[4];
-                buffer.get(i, header, 0, 4);
-                if (Arrays.equals(header, STASH_INIT_BYTES)) {
-                    indices.add(i);
-                    i += 3; // we can skip the next 3 bytes
-                }
-            }
+        int index = MarkerSearch.indexOf(buffer, 0, buffer.limit(), STASH_TAB_HEADER, 4);
+        while (index != -1) {
+            indices.add(index);
+            index = MarkerSearch.indexOf(buffer, index + 4, buffer.limit(), STASH_TAB_HEADER, 4); // we can skip the rest of the header
         }
         if (indices.size() != 3) {
             throw new ParseException("SharedStash did not contain three tabs, but " + indices.size());
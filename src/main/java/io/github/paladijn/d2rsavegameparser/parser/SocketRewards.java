@@ -20,7 +20,6 @@ import io.github.paladijn.d2rsavegameparser.model.Difficulty;
 import org.slf4j.Logger;
 
 import java.io.IOException;
-import java.nio.ByteBuffer;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.List;
@@ -47,10 +46,10 @@ public class SocketRewards {
             log.info("{} savegame files found", savegames.size());
 
             for (Path savegame: savegames) {
-                final ByteBuffer byteBuffer = ByteBuffer.wrap(Files.readAllBytes(savegame));
-
-                SampleHelpers.getCharacter(byteBuffer, savegame) //TODO this line reads the file and parses it into a D2Character object
-                        .ifPresent(d2Character -> checkCharacterForSocketReward(d2Character, savegame.getFileName(), filesWithSocketAvailable));
+                try (SaveFileLease lease = D2CharacterLoader.leaseFile(savegame.toString())) {
+                    SampleHelpers.getCharacter(lease.buffer(), savegame) //TODO this line reads the file and parses it into a D2Character object
+                            .ifPresent(d2Character -> checkCharacterForSocketReward(d2Character, savegame.getFileName(), filesWithSocketAvailable));
+                }
             }
         } catch (IOException e) {
             throw new RuntimeException("Problem occurred reading savegame files", e);
@@ -0,0 +1,34 @@
+/*
+ * Copyright (C) 2023   Paladijn (paladijn2960+d2rsavegameparser@gmail.com)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA 
+ */
+package io.github.paladijn.d2rsavegameparser.parser;
+
+import io.github.paladijn.d2rsavegameparser.model.SharedStashTab;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * The parsed tabs of a shared stash file along with the time it took to parse each of them, as returned by
+ * {@link SharedStashParser#parseTimed(java.nio.ByteBuffer, java.util.concurrent.Executor)}.
+ *
+ * @param tabs the {@link SharedStashTab}s in file order
+ * @param tabDurations the time spent parsing each tab, in the same order as the tabs
+ * @author Paladijn
+ */
+public record TimedSharedStash(List<SharedStashTab> tabs, List<Duration> tabDurations) {
+}
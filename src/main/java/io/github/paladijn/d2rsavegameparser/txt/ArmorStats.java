@@ -19,6 +19,10 @@ package io.github.paladijn.d2rsavegameparser.txt;
 
 import io.github.paladijn.d2rsavegameparser.internal.parser.ParseHelper;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
 /**
  * Representation of an item from the armor.txt resource file.
  *
@@ -60,6 +64,30 @@ public final class ArmorStats {
         reqLvl = Integer.parseInt(blocks[15]);
     }
 
+    ArmorStats(final DataInput in) throws IOException {
+        name = in.readUTF();
+        type = in.readUTF();
+        type2 = in.readUTF();
+        code = in.readUTF();
+        reqStr = in.readInt();
+        reqDex = in.readInt();
+        reqLvl = in.readInt();
+        invWidth = in.readInt();
+        invHeight = in.readInt();
+    }
+
+    void write(final DataOutput out) throws IOException {
+        out.writeUTF(name);
+        out.writeUTF(type);
+        out.writeUTF(type2);
+        out.writeUTF(code);
+        out.writeInt(reqStr);
+        out.writeInt(reqDex);
+        out.writeInt(reqLvl);
+        out.writeInt(invWidth);
+        out.writeInt(invHeight);
+    }
+
     /**
      * Get the code of the armor.
      *
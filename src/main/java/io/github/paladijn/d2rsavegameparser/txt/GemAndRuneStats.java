@@ -17,8 +17,12 @@
  */
 package io.github.paladijn.d2rsavegameparser.txt;
 
+import io.github.paladijn.d2rsavegameparser.internal.parser.PackedProperties;
 import io.github.paladijn.d2rsavegameparser.model.ItemProperty;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -30,13 +34,13 @@ import java.util.List;
 public final class GemAndRuneStats {
     private final String code;
 
-    private final List<ItemProperty> weaponProperties = new ArrayList<>();
+    private final PackedProperties weaponProperties;
 
-    private final List<ItemProperty> helmProperties = new ArrayList<>();
+    private final PackedProperties helmProperties;
 
-    private final List<ItemProperty> armorProperties = new ArrayList<>();
+    private final PackedProperties armorProperties;
 
-    private final List<ItemProperty> allProperties = new ArrayList<>();
+    private final PackedProperties allProperties;
 
     /**
      * Constructor which parses a tab-separated line from gems.txt
@@ -54,6 +58,9 @@ public final class GemAndRuneStats {
 
         code = blocks[3];
 
+        final List<ItemProperty> weapon = new ArrayList<>();
+        final List<ItemProperty> helm = new ArrayList<>();
+        final List<ItemProperty> armor = new ArrayList<>();
         for (int x = 0; x < 3; x++) {
             for (int y = 0; y < 3; y++) {
                 final int index = typeIndixes[x][y];
@@ -67,16 +74,40 @@ public final class GemAndRuneStats {
                 final String max = blocks[index + 3];
 
                 switch (x) {
-                    case 0 -> weaponProperties.addAll(TXTProperties.getPropertiesByName(name, min, max, param, 7, itemStatCostAndProperties));
-                    case 1 -> helmProperties.addAll(TXTProperties.getPropertiesByName(name, min, max, param, 8, itemStatCostAndProperties));
-                    case 2 -> armorProperties.addAll(TXTProperties.getPropertiesByName(name, min, max, param, 9, itemStatCostAndProperties));
+                    case 0 -> weapon.addAll(TXTProperties.getPropertiesByName(name, min, max, param, 7, itemStatCostAndProperties));
+                    case 1 -> helm.addAll(TXTProperties.getPropertiesByName(name, min, max, param, 8, itemStatCostAndProperties));
+                    case 2 -> armor.addAll(TXTProperties.getPropertiesByName(name, min, max, param, 9, itemStatCostAndProperties));
                 }
             }
         }
 
-        allProperties.addAll(weaponProperties);
-        allProperties.addAll(helmProperties);
-        allProperties.addAll(armorProperties);
+        weaponProperties = PackedProperties.of(weapon);
+        helmProperties = PackedProperties.of(helm);
+        armorProperties = PackedProperties.of(armor);
+        allProperties = combine(weaponProperties, helmProperties, armorProperties);
+    }
+
+    GemAndRuneStats(final DataInput in) throws IOException {
+        code = in.readUTF();
+        weaponProperties = PackedProperties.of(TXTSnapshot.readProperties(in));
+        helmProperties = PackedProperties.of(TXTSnapshot.readProperties(in));
+        armorProperties = PackedProperties.of(TXTSnapshot.readProperties(in));
+        allProperties = combine(weaponProperties, helmProperties, armorProperties);
+    }
+
+    private static PackedProperties combine(PackedProperties weapon, PackedProperties helm, PackedProperties armor) {
+        return new PackedProperties.PackedPropertiesBuilder(weapon.size() + helm.size() + armor.size())
+                .addAll(weapon)
+                .addAll(helm)
+                .addAll(armor)
+                .build();
+    }
+
+    void write(final DataOutput out) throws IOException {
+        out.writeUTF(code);
+        TXTSnapshot.writeProperties(out, weaponProperties);
+        TXTSnapshot.writeProperties(out, helmProperties);
+        TXTSnapshot.writeProperties(out, armorProperties);
     }
 
     /**
@@ -93,6 +124,6 @@ public final class GemAndRuneStats {
      * @return an immutable list of {@link ItemProperty} offered by this item
      */
     public List<ItemProperty> getAllProperties() {
-        return List.copyOf(allProperties);
+        return allProperties;
     }
 }
@@ -0,0 +1,155 @@
+/*
+ * Copyright (C) 2023   Paladijn (paladijn2960+d2rsavegameparser@gmail.com)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA 
+ */
+package io.github.paladijn.d2rsavegameparser.txt;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Lookup table for the .txt tables that are keyed on a numeric id, such as itemstatcost.txt and uniqueitems.txt. These ids are small
+ * and nearly dense, so the values are stored in an array indexed by the id. Ids that are negative or far beyond the others are kept in a
+ * sorted int[] and found through a binary search instead, so neither lookup boxes the id like a {@code HashMap<Integer, T>} would.
+ * <p>
+ * The table is filled while loading its .txt file and only read afterwards.
+ *
+ * @param <T> the type of the values
+ * @author Paladijn
+ */
+final class IdTable<T> {
+
+    // ids up to this far past the end of the dense array still grow it, anything beyond is stored as a sparse id
+    private static final int MAX_GAP = 1024;
+
+    private Object[] dense = new Object[64];
+
+    // always negative or beyond the dense array, so every id is stored in one place only
+    private int[] sparseIds = new int[0];
+
+    private Object[] sparseValues = new Object[0];
+
+    private int size;
+
+    /**
+     * Store a value for an id, replacing the previous value for the same id (if any).
+     *
+     * @param id the id
+     * @param value the value, not null
+     */
+    void put(final int id, final T value) {
+        if (id >= 0 && id < dense.length + MAX_GAP) {
+            if (id >= dense.length) {
+                growDense(Math.max(id + 1, dense.length * 2));
+            }
+            if (dense[id] == null) {
+                size++;
+            }
+            dense[id] = value;
+            return;
+        }
+
+        final int index = Arrays.binarySearch(sparseIds, id);
+        if (index >= 0) {
+            sparseValues[index] = value;
+            return;
+        }
+        final int insertAt = -index - 1;
+        final int[] ids = new int[sparseIds.length + 1];
+        final Object[] values = new Object[sparseValues.length + 1];
+        System.arraycopy(sparseIds, 0, ids, 0, insertAt);
+        System.arraycopy(sparseValues, 0, values, 0, insertAt);
+        ids[insertAt] = id;
+        values[insertAt] = value;
+        System.arraycopy(sparseIds, insertAt, ids, insertAt + 1, sparseIds.length - insertAt);
+        System.arraycopy(sparseValues, insertAt, values, insertAt + 1, sparseValues.length - insertAt);
+        sparseIds = ids;
+        sparseValues = values;
+        size++;
+    }
+
+    // sparse ids that now fit in the dense array are moved there, they're sorted so these are consecutive
+    private void growDense(final int length) {
+        dense = Arrays.copyOf(dense, length);
+        int from = 0;
+        while (from < sparseIds.length && sparseIds[from] < 0) {
+            from++;
+        }
+        int to = from;
+        while (to < sparseIds.length && sparseIds[to] < length) {
+            dense[sparseIds[to]] = sparseValues[to];
+            to++;
+        }
+        if (to > from) {
+            final int[] ids = new int[sparseIds.length - (to - from)];
+            final Object[] values = new Object[ids.length];
+            System.arraycopy(sparseIds, 0, ids, 0, from);
+            System.arraycopy(sparseValues, 0, values, 0, from);
+            System.arraycopy(sparseIds, to, ids, from, sparseIds.length - to);
+            System.arraycopy(sparseValues, to, values, from, sparseValues.length - to);
+            sparseIds = ids;
+            sparseValues = values;
+        }
+    }
+
+    /**
+     * Retrieve the value for an id.
+     *
+     * @param id the id
+     * @return the value, or null in case there is none for this id
+     */
+    @SuppressWarnings("unchecked")
+    T get(final int id) {
+        if (id >= 0 && id < dense.length) {
+            return (T) dense[id];
+        }
+        if (sparseIds.length == 0) {
+            return null;
+        }
+        final int index = Arrays.binarySearch(sparseIds, id);
+        return index >= 0 ? (T) sparseValues[index] : null;
+    }
+
+    /**
+     * @return the number of ids with a value
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * @return an immutable {@link List} of all values, ordered by id
+     */
+    @SuppressWarnings("unchecked")
+    List<T> values() {
+        final List<T> result = new ArrayList<>(size);
+        int sparse = 0;
+        while (sparse < sparseIds.length && sparseIds[sparse] < 0) {
+            result.add((T) sparseValues[sparse++]);
+        }
+        for (Object value : dense) {
+            if (value != null) {
+                result.add((T) value);
+            }
+        }
+        while (sparse < sparseIds.length) {
+            result.add((T) sparseValues[sparse++]);
+        }
+        return Collections.unmodifiableList(result);
+    }
+}
@@ -19,6 +19,10 @@ package io.github.paladijn.d2rsavegameparser.txt;
 
 import io.github.paladijn.d2rsavegameparser.model.ItemProperty;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
 /**
  * Representation of itemstatcost.txt which is used to retrieve the values of {@link ItemProperty} from a savegame file.
  *
@@ -57,6 +61,26 @@ public final class ItemStatCost {
         }
     }
 
+    ItemStatCost(final DataInput in) throws IOException {
+        id = in.readInt();
+        stat = TXTSnapshot.readString(in);
+        saveBits = in.readInt();
+        saveAdd = in.readInt();
+        saveParamBits = in.readInt();
+        descPriority = in.readInt();
+        descStrPos = TXTSnapshot.readString(in);
+    }
+
+    void write(final DataOutput out) throws IOException {
+        out.writeInt(id);
+        TXTSnapshot.writeString(out, stat);
+        out.writeInt(saveBits);
+        out.writeInt(saveAdd);
+        out.writeInt(saveParamBits);
+        out.writeInt(descPriority);
+        TXTSnapshot.writeString(out, descStrPos);
+    }
+
     /**
      * ItemStatCost id
      * @return The numerical id of the ItemStatCost field
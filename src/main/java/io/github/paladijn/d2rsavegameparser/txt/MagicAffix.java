@@ -20,6 +20,10 @@ package io.github.paladijn.d2rsavegameparser.txt;
 import io.github.paladijn.d2rsavegameparser.internal.parser.ParseHelper;
 import io.github.paladijn.d2rsavegameparser.model.CharacterType;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
 /**
  * Representation of the magical prefixes and suffixes from magicprefix.txt and magicsuffix.txt.
  *
@@ -57,6 +61,21 @@ public final class MagicAffix {
         }
     }
 
+    MagicAffix(final DataInput in) throws IOException {
+        index = in.readInt();
+        name = in.readUTF();
+        reqLvl = in.readInt();
+        final int restriction = in.readByte();
+        restrictedToClass = restriction == -1 ? null : CharacterType.values()[restriction];
+    }
+
+    void write(final DataOutput out) throws IOException {
+        out.writeInt(index);
+        out.writeUTF(name);
+        out.writeInt(reqLvl);
+        out.writeByte(restrictedToClass == null ? -1 : restrictedToClass.ordinal());
+    }
+
     /**
      * Get the index value of the affix.
      * @return the index value of the affix
@@ -19,6 +19,10 @@ package io.github.paladijn.d2rsavegameparser.txt;
 
 import io.github.paladijn.d2rsavegameparser.internal.parser.ParseHelper;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
 /**
  * Representation of stats from the misc.txt resource file.
  *
@@ -70,6 +74,32 @@ public final class MiscStats {
         isStackable = blocks[42].equals("1");
     }
 
+    MiscStats(final DataInput in) throws IOException {
+        name = in.readUTF();
+        type = in.readUTF();
+        type2 = in.readUTF();
+        code = in.readUTF();
+        isStackable = in.readBoolean();
+        reqStr = in.readInt();
+        reqDex = in.readInt();
+        reqLvl = in.readInt();
+        invWidth = in.readInt();
+        invHeight = in.readInt();
+    }
+
+    void write(final DataOutput out) throws IOException {
+        out.writeUTF(name);
+        out.writeUTF(type);
+        out.writeUTF(type2);
+        out.writeUTF(code);
+        out.writeBoolean(isStackable);
+        out.writeInt(reqStr);
+        out.writeInt(reqDex);
+        out.writeInt(reqLvl);
+        out.writeInt(invWidth);
+        out.writeInt(invHeight);
+    }
+
     /**
      * Gets the code of the item.
      *
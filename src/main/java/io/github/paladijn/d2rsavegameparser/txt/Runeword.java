@@ -17,12 +17,14 @@
  */
 package io.github.paladijn.d2rsavegameparser.txt;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
-
 /**
  * Representation of a runeword from the runes.txt resource file.
  *
@@ -42,6 +44,9 @@ public final class Runeword {
 
     private final Map<String, Integer> runes = new HashMap<>();
 
+    // bit n is set when the runeword needs rune r(n+1), see runeIndex()
+    private long runeMask;
+
     /**
      * Constructor which parses a tab-separated line from runes.txt
      * @param line a tab-separated line which contains the fields we need for this item representation
@@ -70,6 +75,63 @@ public final class Runeword {
             int count = runes.getOrDefault(rune, 0);
             runes.put(rune, ++count);
         }
+        runeMask = maskOf(runes);
+    }
+
+    Runeword(final DataInput in) throws IOException {
+        name = in.readUTF();
+        active = in.readBoolean();
+        patch = TXTSnapshot.readString(in);
+        final int cntTypes = in.readInt();
+        for (int i = 0; i < cntTypes; i++) {
+            supportedTypes.add(in.readUTF());
+        }
+        runeString = TXTSnapshot.readString(in);
+        final int cntRunes = in.readInt();
+        for (int i = 0; i < cntRunes; i++) {
+            runes.put(in.readUTF(), in.readInt());
+        }
+        runeMask = maskOf(runes);
+    }
+
+    private static long maskOf(final Map<String, Integer> runes) {
+        long mask = 0;
+        for (String rune : runes.keySet()) {
+            final int runeIndex = runeIndex(rune);
+            if (runeIndex >= 0) {
+                mask |= 1L << runeIndex;
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * The index of a rune code, r01 (El) being 0 up to r33 (Zod) being 32.
+     * @param code the item code of the rune
+     * @return the index of the rune, or -1 in case the code is not that of a rune
+     */
+    static int runeIndex(final String code) {
+        if (code.length() != 3 || code.charAt(0) != 'r' || !Character.isDigit(code.charAt(1)) || !Character.isDigit(code.charAt(2))) {
+            return -1;
+        }
+        final int runeIndex = (code.charAt(1) - '0') * 10 + code.charAt(2) - '1';
+        return runeIndex < 0 ? -1 : runeIndex;
+    }
+
+    void write(final DataOutput out) throws IOException {
+        out.writeUTF(name);
+        out.writeBoolean(active);
+        TXTSnapshot.writeString(out, patch);
+        out.writeInt(supportedTypes.size());
+        for (String supportedType : supportedTypes) {
+            out.writeUTF(supportedType);
+        }
+        TXTSnapshot.writeString(out, runeString);
+        out.writeInt(runes.size());
+        for (Map.Entry<String, Integer> rune : runes.entrySet()) {
+            out.writeUTF(rune.getKey());
+            out.writeInt(rune.getValue());
+        }
     }
 
     /**
@@ -101,6 +163,30 @@ public final class Runeword {
         return true;
     }
 
+    /**
+     * Is this runeword enabled in runes.txt.
+     * @return true if this runeword can be made in the game, false if not
+     */
+    public boolean isActive() {
+        return active;
+    }
+
+    /**
+     * Get the runes of this Runeword in socket order, without any separator.
+     * @return the runes, such as "TalEthTal", or null in case this runeword isn't active
+     */
+    public String getRuneString() {
+        return runeString;
+    }
+
+    long getRuneMask() {
+        return runeMask;
+    }
+
+    Map<String, Integer> getRunes() {
+        return runes;
+    }
+
     /**
      * Get the name of this Runeword.
      * @return the name of this {@link Runeword}
@@ -0,0 +1,247 @@
+/*
+ * Copyright (C) 2023   Paladijn (paladijn2960+d2rsavegameparser@gmail.com)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA 
+ */
+package io.github.paladijn.d2rsavegameparser.txt;
+
+import io.github.paladijn.d2rsavegameparser.model.D2Character;
+import io.github.paladijn.d2rsavegameparser.model.Item;
+import io.github.paladijn.d2rsavegameparser.model.SharedStashTab;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Calculates which runewords can be made from the runes of a whole account: all characters (.d2s) and shared stashes (.d2i).
+ * <p>
+ * The runes of each savegame are counted separately, keyed on a name of your choosing (typically the file name), so when a single
+ * savegame changes only that one has to be parsed and {@code put} again. The requirements of all active runewords are compiled into a
+ * matrix of rune counts once, which makes {@link #getCraftableRunewords()} and {@link #getNearMisses(int)} a pass over that matrix
+ * rather than over maps of runes.
+ * <p>
+ * Only runes that are items of their own count, runes socketed into an item are used up. This class is not thread-safe.
+ *
+ * @author Paladijn
+ */
+public final class RunewordCalculator {
+
+    /**
+     * The number of different runes, El (r01) up to Zod (r33). Rune counts are indexed by the number of the rune minus one.
+     */
+    public static final int RUNE_TYPES = 33;
+
+    private final Runeword[] runewords;
+
+    // the number of rune r needed for runeword w is at [w * RUNE_TYPES + r]
+    private final int[] requirements;
+
+    // bit r is set when runeword w needs rune r
+    private final long[] requirementMasks;
+
+    private final Map<String, int[]> runeCountsBySave = new HashMap<>();
+
+    private final int[] runeCounts = new int[RUNE_TYPES];
+
+    /**
+     * Set up a calculator for all active runewords of {@link TXTProperties}.
+     */
+    public RunewordCalculator() {
+        final List<Runeword> active = TXTProperties.getInstance().getRunewords().stream()
+                .filter(Runeword::isActive)
+                .toList();
+        runewords = active.toArray(new Runeword[0]);
+        requirements = new int[runewords.length * RUNE_TYPES];
+        requirementMasks = new long[runewords.length];
+        for (int w = 0; w < runewords.length; w++) {
+            for (Map.Entry<String, Integer> rune : runewords[w].getRunes().entrySet()) {
+                final int runeIndex = Runeword.runeIndex(rune.getKey());
+                if (runeIndex >= 0) {
+                    requirements[w * RUNE_TYPES + runeIndex] = rune.getValue();
+                }
+            }
+            requirementMasks[w] = runewords[w].getRuneMask();
+        }
+    }
+
+    /**
+     * Count (or recount) the runes of a character, replacing the earlier count for the same savegame.
+     *
+     * @param saveName the name to track this savegame by, typically the file name
+     * @param character the parsed character
+     */
+    public void putCharacter(final String saveName, final D2Character character) {
+        putItems(saveName, character.items());
+    }
+
+    /**
+     * Count (or recount) the runes of a shared stash, replacing the earlier count for the same savegame.
+     *
+     * @param saveName the name to track this savegame by, typically the file name
+     * @param tabs the parsed tabs of the shared stash
+     */
+    public void putSharedStash(final String saveName, final List<SharedStashTab> tabs) {
+        final List<Item> items = new ArrayList<>();
+        for (SharedStashTab tab : tabs) {
+            items.addAll(tab.items());
+        }
+        putItems(saveName, items);
+    }
+
+    /**
+     * Count (or recount) the runes among a list of items, replacing the earlier count for the same savegame.
+     *
+     * @param saveName the name to track these items by, typically the file name
+     * @param items the (top-level) items
+     */
+    public void putItems(final String saveName, final List<Item> items) {
+        final int[] counts = new int[RUNE_TYPES];
+        for (Item item : items) {
+            if (Item.isRune(item.type())) {
+                final int runeIndex = Runeword.runeIndex(item.code());
+                if (runeIndex >= 0) {
+                    counts[runeIndex]++;
+                }
+            }
+        }
+        remove(saveName);
+        runeCountsBySave.put(saveName, counts);
+        for (int r = 0; r < RUNE_TYPES; r++) {
+            runeCounts[r] += counts[r];
+        }
+    }
+
+    /**
+     * Stop counting the runes of a savegame, for example after it was deleted.
+     *
+     * @param saveName the name the savegame was put with
+     */
+    public void remove(final String saveName) {
+        final int[] previous = runeCountsBySave.remove(saveName);
+        if (previous != null) {
+            for (int r = 0; r < RUNE_TYPES; r++) {
+                runeCounts[r] -= previous[r];
+            }
+        }
+    }
+
+    /**
+     * Get the number of runes of each type over all savegames.
+     *
+     * @return a copy of the rune counts, index 0 being El (r01) up to 32 for Zod (r33)
+     */
+    public int[] getRuneCounts() {
+        return runeCounts.clone();
+    }
+
+    /**
+     * Return all runewords that can be made with the runes over all savegames, each on its own.
+     *
+     * @return An immutable {@link List} of the craftable {@link Runeword}s, in the order of runes.txt.
+     */
+    public List<Runeword> getCraftableRunewords() {
+        final long availableMask = availableMask();
+        final List<Runeword> result = new ArrayList<>();
+        for (int w = 0; w < runewords.length; w++) {
+            if ((requirementMasks[w] & ~availableMask) == 0 && countMissing(w, null) == 0) {
+                result.add(runewords[w]);
+            }
+        }
+        return List.copyOf(result);
+    }
+
+    /**
+     * Return the runewords that are only a few runes short of being craftable, together with those runes.
+     *
+     * @param maxMissingRunes the maximum number of runes that may be missing, at least 1
+     * @return An immutable {@link List} of {@link NearMiss}es, with the fewest missing runes first.
+     */
+    public List<NearMiss> getNearMisses(final int maxMissingRunes) {
+        final List<NearMiss> result = new ArrayList<>();
+        final int[] missing = new int[RUNE_TYPES];
+        for (int w = 0; w < runewords.length; w++) {
+            final int cntMissing = countMissing(w, missing);
+            if (cntMissing > 0 && cntMissing <= maxMissingRunes) {
+                result.add(new NearMiss(runewords[w], missingRunes(w, missing), cntMissing));
+            }
+        }
+        result.sort(Comparator.comparingInt(NearMiss::cntMissingRunes));
+        return List.copyOf(result);
+    }
+
+    private long availableMask() {
+        long mask = 0;
+        for (int r = 0; r < RUNE_TYPES; r++) {
+            if (runeCounts[r] > 0) {
+                mask |= 1L << r;
+            }
+        }
+        return mask;
+    }
+
+    // the number of missing runes, when supplied the missing count of each rune of the runeword is stored in missing as well
+    private int countMissing(final int runeword, final int[] missing) {
+        int cntMissing = 0;
+        long mask = requirementMasks[runeword];
+        while (mask != 0) {
+            final int r = Long.numberOfTrailingZeros(mask);
+            final int missingRune = Math.max(0, requirements[runeword * RUNE_TYPES + r] - runeCounts[r]);
+            if (missing != null) {
+                missing[r] = missingRune;
+            }
+            cntMissing += missingRune;
+            mask &= mask - 1;
+        }
+        return cntMissing;
+    }
+
+    // the runes missing according to the last countMissing() of this runeword, in rune order
+    private Map<String, Integer> missingRunes(final int runeword, final int[] missing) {
+        final Map<String, Integer> result = new LinkedHashMap<>();
+        long mask = requirementMasks[runeword];
+        while (mask != 0) {
+            final int r = Long.numberOfTrailingZeros(mask);
+            if (missing[r] > 0) {
+                result.put("r%02d".formatted(r + 1), missing[r]);
+            }
+            mask &= mask - 1;
+        }
+        return result;
+    }
+
+    /**
+     * A runeword that can't be made yet, with the runes it still needs.
+     *
+     * @param runeword the {@link Runeword}
+     * @param missingRunes the number of each rune that is missing, by rune code (r01 for El up to r33 for Zod) in rune order
+     * @param cntMissingRunes the total number of missing runes
+     */
+    public record NearMiss(Runeword runeword, Map<String, Integer> missingRunes, int cntMissingRunes) {
+        public NearMiss {
+            missingRunes = Collections.unmodifiableMap(new LinkedHashMap<>(missingRunes));
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "RunewordCalculator(saves=%s, runeCounts=%s)".formatted(runeCountsBySave.keySet(), Arrays.toString(runeCounts));
+    }
+}
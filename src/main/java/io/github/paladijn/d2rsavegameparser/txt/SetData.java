@@ -17,8 +17,12 @@
  */
 package io.github.paladijn.d2rsavegameparser.txt;
 
+import io.github.paladijn.d2rsavegameparser.internal.parser.PackedProperties;
 import io.github.paladijn.d2rsavegameparser.model.ItemProperty;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
@@ -34,8 +38,8 @@ public final class SetData {
 
     private final List<Short> itemIDs;
 
-    private final List<ItemProperty> partialBonuses = new ArrayList<>();
-    private final List<ItemProperty> fullBonuses = new ArrayList<>();
+    private final PackedProperties partialBonuses;
+    private final PackedProperties fullBonuses;
 
     /**
      * Constructor which parses a tab-separated line from sets.txt
@@ -49,6 +53,7 @@ public final class SetData {
 
         itemIDs = setIDs.getOrDefault(name, new ArrayList<>());
 
+        final List<ItemProperty> partial = new ArrayList<>();
         int startPartial = 3;
         for (int i = 2; i < 6; i++) {
             if (!blocks[startPartial].isBlank()) {
@@ -56,11 +61,14 @@ public final class SetData {
                 String min = blocks[startPartial + 2];
                 String max = blocks[startPartial + 3];
                 String param = blocks[startPartial + 1];
-                partialBonuses.addAll(TXTProperties.getPropertiesByName(propName, min, max, param, i + 20, itemStatCostAndProperties));
+                partial.addAll(TXTProperties.getPropertiesByName(propName, min, max, param, i + 20, itemStatCostAndProperties));
             }
             startPartial = startPartial + 8;
         }
 
+        partialBonuses = PackedProperties.of(partial);
+
+        final List<ItemProperty> full = new ArrayList<>();
         int startFullSet = 35;
         for (int i = 1; i < 9; i++) {
             if (!blocks[startFullSet].isBlank()) {
@@ -68,10 +76,32 @@ public final class SetData {
                 String min = blocks[startFullSet + 2];
                 String max = blocks[startFullSet + 3];
                 String param = blocks[startFullSet + 1];
-                fullBonuses.addAll(TXTProperties.getPropertiesByName(propName, min, max, param, 26, itemStatCostAndProperties));
+                full.addAll(TXTProperties.getPropertiesByName(propName, min, max, param, 26, itemStatCostAndProperties));
             }
             startFullSet = startFullSet + 4;
         }
+        fullBonuses = PackedProperties.of(full);
+    }
+
+    SetData(final DataInput in) throws IOException {
+        name = in.readUTF();
+        final int cntIDs = in.readInt();
+        itemIDs = new ArrayList<>(cntIDs);
+        for (int i = 0; i < cntIDs; i++) {
+            itemIDs.add(in.readShort());
+        }
+        partialBonuses = PackedProperties.of(TXTSnapshot.readProperties(in));
+        fullBonuses = PackedProperties.of(TXTSnapshot.readProperties(in));
+    }
+
+    void write(final DataOutput out) throws IOException {
+        out.writeUTF(name);
+        out.writeInt(itemIDs.size());
+        for (short id : itemIDs) {
+            out.writeShort(id);
+        }
+        TXTSnapshot.writeProperties(out, partialBonuses);
+        TXTSnapshot.writeProperties(out, fullBonuses);
     }
 
     /**
@@ -87,7 +117,7 @@ public final class SetData {
      * @return List of immutable {@link ItemProperty} of partial bonuses for this set
      */
     public List<ItemProperty> getPartialBonuses() {
-        return List.copyOf(partialBonuses);
+        return partialBonuses;
     }
 
     /**
@@ -103,6 +133,6 @@ public final class SetData {
      * @return List of immutable {@link ItemProperty} of full set bonuses for this set
      */
     public Collection<ItemProperty> getFullBonuses() {
-        return List.copyOf(fullBonuses);
+        return fullBonuses;
     }
 }
@@ -17,6 +17,10 @@
  */
 package io.github.paladijn.d2rsavegameparser.txt;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
 /**
  * Representation of a set item from the setitems.txt resource file.
  *
@@ -42,6 +46,22 @@ public final class SetItem {
         itemName = blocks[4];
     }
 
+    SetItem(final DataInput in) throws IOException {
+        name = in.readUTF();
+        id = in.readInt();
+        setName = in.readUTF();
+        code = in.readUTF();
+        itemName = in.readUTF();
+    }
+
+    void write(final DataOutput out) throws IOException {
+        out.writeUTF(name);
+        out.writeInt(id);
+        out.writeUTF(setName);
+        out.writeUTF(code);
+        out.writeUTF(itemName);
+    }
+
     /**
      * Get the name of the set item.
      * @return the name of the set item
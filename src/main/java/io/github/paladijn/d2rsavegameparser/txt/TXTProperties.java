@@ -22,14 +22,26 @@ import io.github.paladijn.d2rsavegameparser.model.ItemProperty;
 import io.github.paladijn.d2rsavegameparser.parser.ParseException;
 
 import java.io.BufferedReader;
+import java.io.DataInput;
+import java.io.DataOutput;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 
 /**
@@ -37,31 +49,41 @@ import java.util.Optional;
  * or speeding up load times with the -direct -txt parameters, but in our case are used to map the values in the savegame
  * to more meaningful names as well as combining types.
  * <p>
- * The data is parsed the first time {@link #getInstance()} is called and cached from that point on.
+ * The data is parsed the first time it's needed and cached from that point on. Initialisation is thread-safe without
+ * locking on later calls, and can be started ahead of the first parse with {@link #warmUp()}.
+ * <p>
+ * To keep startup short each table is only loaded the first time it's accessed, from a binary snapshot that is generated at build time.
+ * When the snapshot is missing or was made from different .txt files it falls back to parsing the .txt files themselves. Use
+ * {@link #loadAllTables()} to load everything up front instead.
  *
  * @author Paladijn
  */
 public final class TXTProperties {
 
-    private static TXTProperties INSTANCE;
-
     private final HashMap<String, String> genericPropertiesByCode = new HashMap<>();
 
+    // item codes are interned so the (pooled) codes read from the savegame match on identity
     private final HashMap<String, WeaponStats> weaponsByCode = new HashMap<>();
     private final HashMap<String, ArmorStats> armorsByCode = new HashMap<>();
     private final HashMap<String, MiscStats> miscItemsByCode = new HashMap<>();
 
     private final HashMap<String, GemAndRuneStats> gemsAndRunes = new HashMap<>();
 
-    private final HashMap<Short, UniqueItem> uniqueItemById = new HashMap<>();
-    private final HashMap<Short, SetItem> setItems = new HashMap<>();
+    // id-keyed tables are looked up for every item (property), so they're backed by arrays rather than boxed HashMap keys
+    private final IdTable<UniqueItem> uniqueItemById = new IdTable<>();
+    private final IdTable<SetItem> setItems = new IdTable<>();
     private final HashMap<String, List<Short>> setIDs = new HashMap<>();
     private final HashMap<String, SetData> setData = new HashMap<>();
-    private final HashMap<Integer, ItemStatCost> itemStatcosts = new HashMap<>();
+    private final IdTable<ItemStatCost> itemStatcosts = new IdTable<>();
     private final HashMap<String, ItemStatCost> itemStatcostsByCode = new HashMap<>();
 
     private final List<Runeword> runewords = new ArrayList<>();
 
+    private final List<Runeword> unmodifiableRunewords = Collections.unmodifiableList(runewords);
+
+    // active runewords by their runes in socket order, such as "TalEthTal"
+    private final HashMap<String, Runeword> runewordsByRunes = new HashMap<>();
+
     private final List<String> rarePrefixes = new ArrayList<>();
 
     private final List<String> rareSuffixes = new ArrayList<>();
@@ -72,34 +94,431 @@ public final class TXTProperties {
 
     private final HashMap<String, Integer> treasureClassByItem = new HashMap<>();
 
+    // null when the .txt files are parsed
+    private final TXTSnapshot snapshot;
+
+    // a table is loaded once its duration is set, which also publishes its contents to other threads
+    private final AtomicReferenceArray<Duration> loadDurations = new AtomicReferenceArray<>(TXTTable.values().length);
+    private final boolean[] loadedFromSnapshot = new boolean[TXTTable.values().length];
+    private final Object[] tableLocks = new Object[TXTTable.values().length];
+
+    // the loading threads don't share the context class loader of the caller, so keep a reference to it for the resources
+    private final ClassLoader resourceLoader = Thread.currentThread().getContextClassLoader();
+
     /**
      * Retrieve the singleton instance of the txt file properties so they're only read once.
      *
      * @return the instance of {@link TXTProperties}.
      */
     public static TXTProperties getInstance() {
-        if (INSTANCE == null) {
-            INSTANCE = new TXTProperties();
-        }
-        return INSTANCE;
-    }
-
-    private TXTProperties() {
-        parseProperties();
-        parseItemStatCost();
-        parseRunewords();
-        parseSetItems();
-        parseSets();
-        parseWeapons();
-        parseArmor();
-        parseMisc();
-        parseGems();
-        parseUniqueItems();
-        parseRarePrefix();
-        parseRareSuffix();
-        parseMagicPrefix();
-        parseMagicSuffix();
-        parseTreasureClass();
+        return Holder.INSTANCE;
+    }
+
+    /**
+     * Start loading all txt file properties on a background (daemon) thread, so the first parse doesn't have to wait for it.
+     * Accessing a table while this is running will block until that table is loaded, it won't load the files twice.
+     *
+     * @return a {@link CompletableFuture} that completes with the instance of {@link TXTProperties}, or exceptionally in case loading failed.
+     */
+    public static CompletableFuture<TXTProperties> warmUp() {
+        final CompletableFuture<TXTProperties> result = new CompletableFuture<>();
+        final Thread warmUpThread = new Thread(() -> {
+            try {
+                result.complete(getInstance().loadAllTables());
+            } catch (Throwable t) {
+                result.completeExceptionally(t);
+            }
+        }, "txt-properties-warm-up");
+        warmUpThread.setDaemon(true);
+        warmUpThread.start();
+        return result;
+    }
+
+    /**
+     * Start loading all txt file properties on the supplied {@link Executor}, so the first parse doesn't have to wait for it.
+     *
+     * @param executor the {@link Executor} to load the txt files on
+     * @return a {@link CompletableFuture} that completes with the instance of {@link TXTProperties}, or exceptionally in case loading failed.
+     */
+    public static CompletableFuture<TXTProperties> warmUp(final Executor executor) {
+        return CompletableFuture.supplyAsync(() -> getInstance().loadAllTables(), executor);
+    }
+
+    // lazy initialisation through the class loader, which guarantees the instance is only created once and safely published to all threads
+    private static final class Holder {
+        private static final TXTProperties INSTANCE = load();
+    }
+
+    private static TXTProperties load() {
+        try (InputStream snapshot = Thread.currentThread().getContextClassLoader().getResourceAsStream(TXTSnapshot.RESOURCE)) {
+            if (snapshot != null) {
+                return fromSnapshot(TXTSnapshot.read(snapshot));
+            }
+        } catch (IOException | RuntimeException e) {
+            // a broken snapshot is not fatal, we can still parse the .txt files instead
+        }
+        return fromTextFiles();
+    }
+
+    static TXTProperties fromTextFiles() {
+        return new TXTProperties(null);
+    }
+
+    static TXTProperties fromSnapshot(final TXTSnapshot snapshot) {
+        return new TXTProperties(snapshot);
+    }
+
+    // tables are only loaded on first access, see ensureLoaded()
+    private TXTProperties(final TXTSnapshot snapshot) {
+        this.snapshot = snapshot;
+        for (int i = 0; i < tableLocks.length; i++) {
+            tableLocks[i] = new Object();
+        }
+    }
+
+    /**
+     * Load all tables now rather than on first access, for example on startup of a server where the first request shouldn't pay for
+     * loading the .txt files. Tables that don't depend on each other are loaded in parallel on a dedicated {@link ForkJoinPool}, rather
+     * than the common pool, so a caller that is itself running on the common pool can't starve the load. The pool is shut down once all
+     * tables are loaded.
+     *
+     * @return this instance, with all tables loaded
+     */
+    public TXTProperties loadAllTables() {
+        final int parallelism = Math.min(Runtime.getRuntime().availableProcessors(), TXTTable.values().length);
+        // on a single core the pool only adds overhead, declaration order already satisfies all dependencies
+        final ForkJoinPool pool = parallelism > 1 ? new ForkJoinPool(parallelism) : null;
+        final Executor executor = pool != null ? pool : Runnable::run;
+        try {
+            final EnumMap<TXTTable, CompletableFuture<Void>> loaded = new EnumMap<>(TXTTable.class);
+            for (TXTTable table : TXTTable.values()) {
+                final CompletableFuture<?>[] dependencies = table.dependencies().stream().map(loaded::get).toArray(CompletableFuture[]::new);
+                loaded.put(table, CompletableFuture.allOf(dependencies)
+                        .thenRunAsync(() -> ensureLoaded(table), executor));
+            }
+            CompletableFuture.allOf(loaded.values().toArray(CompletableFuture[]::new)).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof ParseException parseException) {
+                throw parseException;
+            }
+            throw new ParseException("Could not load the txt files", e.getCause());
+        } finally {
+            if (pool != null) {
+                pool.shutdown();
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Make sure a table is loaded, exactly once, before it's accessed. Each table has its own lock, so loading different tables from
+     * different threads doesn't block each other.
+     *
+     * @param table the table that is about to be accessed
+     */
+    private void ensureLoaded(final TXTTable table) {
+        if (loadDurations.get(table.ordinal()) != null) {
+            return;
+        }
+        synchronized (tableLocks[table.ordinal()]) {
+            if (loadDurations.get(table.ordinal()) == null) {
+                final long start = System.nanoTime();
+                loadedFromSnapshot[table.ordinal()] = loadTable(table);
+                loadDurations.set(table.ordinal(), Duration.ofNanos(System.nanoTime() - start));
+            }
+        }
+    }
+
+    // read the table from the snapshot if it's there and up-to-date, or parse the .txt file otherwise. Only parsing needs the dependencies,
+    // which are loaded while holding the lock of this table. That is safe as the locks are always taken in the direction of the dependencies.
+    private boolean loadTable(final TXTTable table) {
+        if (snapshot != null) {
+            try {
+                final DataInput section = snapshot.takeSection(table, resourceLoader);
+                if (section != null) {
+                    readTable(table, section);
+                    return true;
+                }
+            } catch (IOException e) {
+                throw new ParseException("Could not read %s from the snapshot".formatted(table.source()), e);
+            }
+        }
+        for (TXTTable dependency : table.dependencies()) {
+            ensureLoaded(dependency);
+        }
+        parseTable(table);
+        return false;
+    }
+
+    private void parseTable(final TXTTable table) {
+        switch (table) {
+            case PROPERTIES -> parseProperties();
+            case ITEM_STAT_COST -> parseItemStatCost();
+            case RUNEWORDS -> parseRunewords();
+            case SET_ITEMS -> parseSetItems();
+            case SETS -> parseSets();
+            case WEAPONS -> parseWeapons();
+            case ARMOR -> parseArmor();
+            case MISC -> parseMisc();
+            case GEMS -> parseGems();
+            case UNIQUE_ITEMS -> parseUniqueItems();
+            case RARE_PREFIX -> parseRarePrefix();
+            case RARE_SUFFIX -> parseRareSuffix();
+            case MAGIC_PREFIX -> parseMagicPrefix();
+            case MAGIC_SUFFIX -> parseMagicSuffix();
+            case TREASURE_CLASS -> parseTreasureClass();
+        }
+    }
+
+    private void readTable(final TXTTable table, final DataInput in) throws IOException {
+        switch (table) {
+            case PROPERTIES -> {
+                final int count = in.readInt();
+                for (int i = 0; i < count; i++) {
+                    genericPropertiesByCode.put(in.readUTF(), in.readUTF());
+                }
+            }
+            case ITEM_STAT_COST -> {
+                int count = in.readInt();
+                for (int i = 0; i < count; i++) {
+                    final ItemStatCost isc = new ItemStatCost(in);
+                    itemStatcosts.put(isc.getId(), isc);
+                }
+                count = in.readInt();
+                for (int i = 0; i < count; i++) {
+                    final ItemStatCost isc = new ItemStatCost(in);
+                    itemStatcostsByCode.put(isc.getStat(), isc);
+                }
+            }
+            case RUNEWORDS -> {
+                final int count = in.readInt();
+                for (int i = 0; i < count; i++) {
+                    addRuneword(new Runeword(in));
+                }
+            }
+            case SET_ITEMS -> {
+                int count = in.readInt();
+                for (int i = 0; i < count; i++) {
+                    final SetItem setItem = new SetItem(in);
+                    setItems.put(setItem.getId(), setItem);
+                }
+                count = in.readInt();
+                for (int i = 0; i < count; i++) {
+                    final String setName = in.readUTF();
+                    final int cntIDs = in.readInt();
+                    final List<Short> ids = new ArrayList<>(cntIDs);
+                    for (int id = 0; id < cntIDs; id++) {
+                        ids.add(in.readShort());
+                    }
+                    setIDs.put(setName, ids);
+                }
+            }
+            case SETS -> {
+                final int count = in.readInt();
+                for (int i = 0; i < count; i++) {
+                    final SetData set = new SetData(in);
+                    setData.put(set.getName(), set);
+                }
+            }
+            case WEAPONS -> {
+                final int count = in.readInt();
+                for (int i = 0; i < count; i++) {
+                    final WeaponStats weaponStats = new WeaponStats(in);
+                    weaponsByCode.put(weaponStats.getCode().intern(), weaponStats);
+                }
+            }
+            case ARMOR -> {
+                final int count = in.readInt();
+                for (int i = 0; i < count; i++) {
+                    final ArmorStats armorStats = new ArmorStats(in);
+                    armorsByCode.put(armorStats.getCode().intern(), armorStats);
+                }
+            }
+            case MISC -> {
+                final int count = in.readInt();
+                for (int i = 0; i < count; i++) {
+                    final MiscStats miscStats = new MiscStats(in);
+                    miscItemsByCode.put(miscStats.getCode().intern(), miscStats);
+                }
+            }
+            case GEMS -> {
+                final int count = in.readInt();
+                for (int i = 0; i < count; i++) {
+                    final GemAndRuneStats gemsAndRuneStats = new GemAndRuneStats(in);
+                    gemsAndRunes.put(gemsAndRuneStats.getCode().intern(), gemsAndRuneStats);
+                }
+            }
+            case UNIQUE_ITEMS -> {
+                final int count = in.readInt();
+                for (int i = 0; i < count; i++) {
+                    final UniqueItem uniqueItem = new UniqueItem(in);
+                    uniqueItemById.put(uniqueItem.getId(), uniqueItem);
+                }
+            }
+            case RARE_PREFIX -> {
+                final int count = in.readInt();
+                for (int i = 0; i < count; i++) {
+                    rarePrefixes.add(in.readUTF());
+                }
+            }
+            case RARE_SUFFIX -> {
+                final int count = in.readInt();
+                for (int i = 0; i < count; i++) {
+                    rareSuffixes.add(in.readUTF());
+                }
+            }
+            case MAGIC_PREFIX -> {
+                final int count = in.readInt();
+                for (int i = 0; i < count; i++) {
+                    magicPrefixes.add(new MagicAffix(in));
+                }
+            }
+            case MAGIC_SUFFIX -> {
+                final int count = in.readInt();
+                for (int i = 0; i < count; i++) {
+                    magicSuffixes.add(new MagicAffix(in));
+                }
+            }
+            case TREASURE_CLASS -> {
+                final int count = in.readInt();
+                for (int i = 0; i < count; i++) {
+                    treasureClassByItem.put(in.readUTF(), in.readInt());
+                }
+            }
+        }
+    }
+
+    void writeTable(final TXTTable table, final DataOutput out) throws IOException {
+        switch (table) {
+            case PROPERTIES -> {
+                out.writeInt(genericPropertiesByCode.size());
+                for (Map.Entry<String, String> property : genericPropertiesByCode.entrySet()) {
+                    out.writeUTF(property.getKey());
+                    out.writeUTF(property.getValue());
+                }
+            }
+            case ITEM_STAT_COST -> {
+                // itemstatcost.txt reuses some ids, so both maps are written separately
+                out.writeInt(itemStatcosts.size());
+                for (ItemStatCost isc : itemStatcosts.values()) {
+                    isc.write(out);
+                }
+                out.writeInt(itemStatcostsByCode.size());
+                for (ItemStatCost isc : itemStatcostsByCode.values()) {
+                    isc.write(out);
+                }
+            }
+            case RUNEWORDS -> {
+                out.writeInt(runewords.size());
+                for (Runeword runeword : runewords) {
+                    runeword.write(out);
+                }
+            }
+            case SET_ITEMS -> {
+                out.writeInt(setItems.size());
+                for (SetItem setItem : setItems.values()) {
+                    setItem.write(out);
+                }
+                out.writeInt(setIDs.size());
+                for (Map.Entry<String, List<Short>> ids : setIDs.entrySet()) {
+                    out.writeUTF(ids.getKey());
+                    out.writeInt(ids.getValue().size());
+                    for (short id : ids.getValue()) {
+                        out.writeShort(id);
+                    }
+                }
+            }
+            case SETS -> {
+                out.writeInt(setData.size());
+                for (SetData set : setData.values()) {
+                    set.write(out);
+                }
+            }
+            case WEAPONS -> {
+                out.writeInt(weaponsByCode.size());
+                for (WeaponStats weaponStats : weaponsByCode.values()) {
+                    weaponStats.write(out);
+                }
+            }
+            case ARMOR -> {
+                out.writeInt(armorsByCode.size());
+                for (ArmorStats armorStats : armorsByCode.values()) {
+                    armorStats.write(out);
+                }
+            }
+            case MISC -> {
+                out.writeInt(miscItemsByCode.size());
+                for (MiscStats miscStats : miscItemsByCode.values()) {
+                    miscStats.write(out);
+                }
+            }
+            case GEMS -> {
+                out.writeInt(gemsAndRunes.size());
+                for (GemAndRuneStats gemAndRuneStats : gemsAndRunes.values()) {
+                    gemAndRuneStats.write(out);
+                }
+            }
+            case UNIQUE_ITEMS -> {
+                out.writeInt(uniqueItemById.size());
+                for (UniqueItem uniqueItem : uniqueItemById.values()) {
+                    uniqueItem.write(out);
+                }
+            }
+            case RARE_PREFIX -> {
+                out.writeInt(rarePrefixes.size());
+                for (String rarePrefix : rarePrefixes) {
+                    out.writeUTF(rarePrefix);
+                }
+            }
+            case RARE_SUFFIX -> {
+                out.writeInt(rareSuffixes.size());
+                for (String rareSuffix : rareSuffixes) {
+                    out.writeUTF(rareSuffix);
+                }
+            }
+            case MAGIC_PREFIX -> {
+                out.writeInt(magicPrefixes.size());
+                for (MagicAffix magicPrefix : magicPrefixes) {
+                    magicPrefix.write(out);
+                }
+            }
+            case MAGIC_SUFFIX -> {
+                out.writeInt(magicSuffixes.size());
+                for (MagicAffix magicSuffix : magicSuffixes) {
+                    magicSuffix.write(out);
+                }
+            }
+            case TREASURE_CLASS -> {
+                out.writeInt(treasureClassByItem.size());
+                for (Map.Entry<String, Integer> treasureClass : treasureClassByItem.entrySet()) {
+                    out.writeUTF(treasureClass.getKey());
+                    out.writeInt(treasureClass.getValue());
+                }
+            }
+        }
+    }
+
+    /**
+     * Diagnostics on how long loading each of the .txt files took, either by parsing them or by reading them from the binary snapshot.
+     * Tables are loaded on first access, so only the ones that have been used so far (or all after {@link #loadAllTables()}) are included.
+     * As tables can be loaded in parallel the durations can add up to more than the total load time.
+     *
+     * @return An immutable {@link Map} of the load duration by .txt file name of the loaded tables.
+     */
+    public Map<String, Duration> getLoadDurations() {
+        final LinkedHashMap<String, Duration> result = new LinkedHashMap<>();
+        for (TXTTable table : TXTTable.values()) {
+            final Duration duration = loadDurations.get(table.ordinal());
+            if (duration != null) {
+                result.put(table.source(), duration);
+            }
+        }
+        return Collections.unmodifiableMap(result);
+    }
+
+    boolean isLoadedFromSnapshot(final TXTTable table) {
+        ensureLoaded(table);
+        return loadedFromSnapshot[table.ordinal()];
     }
 
     /**
@@ -108,6 +527,7 @@ public final class TXTProperties {
      * @return The associated {@link ArmorStats} or null if it wasn't found
      */
     public ArmorStats getArmorStatsByCode(String code) {
+        ensureLoaded(TXTTable.ARMOR);
         return armorsByCode.get(code);
     }
 
@@ -117,6 +537,7 @@ public final class TXTProperties {
      * @return The associated {@link WeaponStats} or null if it wasn't found
      */
     public WeaponStats getWeaponStatsByCode(String code) {
+        ensureLoaded(TXTTable.WEAPONS);
         return weaponsByCode.get(code);
     }
 
@@ -126,6 +547,7 @@ public final class TXTProperties {
      * @return The associated {@link MiscStats} or null if it wasn't found
      */
     public MiscStats getMiscItemsByCode(String code) {
+        ensureLoaded(TXTTable.MISC);
         return miscItemsByCode.get(code);
     }
 
@@ -135,6 +557,7 @@ public final class TXTProperties {
      * @return The associated {@link GemAndRuneStats} or null if it wasn't found
      */
     public GemAndRuneStats getGemsAndRunesByCode(String code) {
+        ensureLoaded(TXTTable.GEMS);
         return gemsAndRunes.get(code);
     }
 
@@ -144,6 +567,7 @@ public final class TXTProperties {
      * @return The associated name or null if it wasn't found
      */
     public String getRarePrefixById(int id) {
+        ensureLoaded(TXTTable.RARE_PREFIX);
         return rarePrefixes.get(id);
     }
 
@@ -153,6 +577,7 @@ public final class TXTProperties {
      * @return The associated name or null if it wasn't found
      */
     public String getRareSuffixById(int id) {
+        ensureLoaded(TXTTable.RARE_SUFFIX);
         return rareSuffixes.get(id);
     }
 
@@ -162,6 +587,7 @@ public final class TXTProperties {
      * @return The associated {@link UniqueItem} or null if it wasn't found
      */
     public UniqueItem getUniqueNameById(short id) {
+        ensureLoaded(TXTTable.UNIQUE_ITEMS);
         return uniqueItemById.get(id);
     }
 
@@ -170,7 +596,8 @@ public final class TXTProperties {
      * @return An immutable {@link List} of  all available {@link UniqueItem}s.
      */
     public List<UniqueItem> getUniques() {
-        return uniqueItemById.values().stream().toList();
+        ensureLoaded(TXTTable.UNIQUE_ITEMS);
+        return uniqueItemById.values();
     }
 
     /**
@@ -178,7 +605,42 @@ public final class TXTProperties {
      * @return An immutable {@link List} of all available {@link Runeword}s.
      */
     public List<Runeword> getRunewords() {
-        return List.copyOf(runewords);
+        ensureLoaded(TXTTable.RUNEWORDS);
+        return unmodifiableRunewords;
+    }
+
+    /**
+     * Retrieve the active {@link Runeword} that is made by socketing the supplied runes.
+     * @param runes The rune names in the order they were inserted into the item, without any separator, such as "TalEthTal"
+     * @return The associated {@link Runeword} or null if these runes don't make one
+     */
+    public Runeword getRunewordByRunes(String runes) {
+        ensureLoaded(TXTTable.RUNEWORDS);
+        return runewordsByRunes.get(runes);
+    }
+
+    /**
+     * Return all runewords that can be made from the supplied runes, see {@link Runeword#isRunewordPossible(Map)}. Runewords that need a
+     * rune which isn't available are rejected on a bitmask of their runes before the counts are checked.
+     * @param availableRunes a map per rune code (r01 for El up to r33 for Zod) with the number of them available.
+     * @return An immutable {@link List} of the {@link Runeword}s that are possible with the supplied runes.
+     */
+    public List<Runeword> getPossibleRunewords(Map<String, Integer> availableRunes) {
+        ensureLoaded(TXTTable.RUNEWORDS);
+        long availableMask = 0;
+        for (Map.Entry<String, Integer> rune : availableRunes.entrySet()) {
+            final int runeIndex = Runeword.runeIndex(rune.getKey());
+            if (runeIndex >= 0 && rune.getValue() > 0) {
+                availableMask |= 1L << runeIndex;
+            }
+        }
+        final List<Runeword> result = new ArrayList<>();
+        for (Runeword runeword : runewords) {
+            if ((runeword.getRuneMask() & ~availableMask) == 0 && runeword.isRunewordPossible(availableRunes)) {
+                result.add(runeword);
+            }
+        }
+        return List.copyOf(result);
     }
 
     /**
@@ -187,6 +649,7 @@ public final class TXTProperties {
      * @return The associated {@link ItemStatCost} or null if it wasn't found
      */
     public ItemStatCost getItemStatCostsByID(int id) {
+        ensureLoaded(TXTTable.ITEM_STAT_COST);
         return itemStatcosts.get(id);
     }
 
@@ -196,6 +659,7 @@ public final class TXTProperties {
      * @return The associated {@link SetItem} or null if it wasn't found
      */
     public SetItem getSetItemById(short setItemID) {
+        ensureLoaded(TXTTable.SET_ITEMS);
         return setItems.get(setItemID);
     }
 
@@ -204,7 +668,8 @@ public final class TXTProperties {
      * @return An immutable {@link List} of  all available {@link SetItem}s.
      */
     public List<SetItem> getSetItems() {
-        return setItems.values().stream().toList();
+        ensureLoaded(TXTTable.SET_ITEMS);
+        return setItems.values();
     }
 
     /**
@@ -213,6 +678,7 @@ public final class TXTProperties {
      * @return The associated {@link SetData} or null if it wasn't found
      */
     public SetData getSetDataByName(String name) {
+        ensureLoaded(TXTTable.SETS);
         return setData.get(name);
     }
 
@@ -221,6 +687,7 @@ public final class TXTProperties {
      * @return An immutable {@link List} of all available set names.
      */
     public List<String> getSetNames() {
+        ensureLoaded(TXTTable.SETS);
         return setData.keySet().stream().toList();
     }
 
@@ -230,6 +697,7 @@ public final class TXTProperties {
      * @return The associated {@link MagicAffix} or null if it wasn't found
      */
     public MagicAffix getMagicPrefix(int index) {
+        ensureLoaded(TXTTable.MAGIC_PREFIX);
         return magicPrefixes.get(index);
     }
 
@@ -239,6 +707,7 @@ public final class TXTProperties {
      * @return The associated {@link MagicAffix} or null if it wasn't found
      */
     public MagicAffix getMagicSuffix(int index) {
+        ensureLoaded(TXTTable.MAGIC_SUFFIX);
         return magicSuffixes.get(index);
     }
 
@@ -248,11 +717,12 @@ public final class TXTProperties {
      * @return The treasure class of the item, or 0 if it couldn't be found
      */
     public int getTreasureClass(String itemName) {
+        ensureLoaded(TXTTable.TREASURE_CLASS);
         return Optional.ofNullable(treasureClassByItem.get(itemName.toLowerCase())).orElse(0);
     }
 
     private void parseMagicSuffix() {
-        try (InputStream resource = Thread.currentThread().getContextClassLoader().getResourceAsStream("magicsuffix.txt")) {
+        try (InputStream resource = resourceLoader.getResourceAsStream("magicsuffix.txt")) {
             new BufferedReader(new InputStreamReader(resource, StandardCharsets.UTF_8)).lines().forEach(line -> {
                 if (!line.startsWith("Name")) {
                     magicSuffixes.add(new MagicAffix(magicSuffixes.size(), line));
@@ -264,7 +734,7 @@ public final class TXTProperties {
     }
 
     private void parseMagicPrefix() {
-        try (InputStream resource = Thread.currentThread().getContextClassLoader().getResourceAsStream("magicprefix.txt")) {
+        try (InputStream resource = resourceLoader.getResourceAsStream("magicprefix.txt")) {
             new BufferedReader(new InputStreamReader(resource, StandardCharsets.UTF_8)).lines().forEach(line -> {
                 if (!line.startsWith("Name")) {
                     magicPrefixes.add(new MagicAffix(magicPrefixes.size(), line));
@@ -276,7 +746,7 @@ public final class TXTProperties {
     }
 
     private void parseRareSuffix() {
-        try (InputStream resource = Thread.currentThread().getContextClassLoader().getResourceAsStream("raresuffix.txt")) {
+        try (InputStream resource = resourceLoader.getResourceAsStream("raresuffix.txt")) {
             new BufferedReader(new InputStreamReader(resource, StandardCharsets.UTF_8)).lines().forEach(line -> {
                 if (!line.startsWith("name")) {
                     String prefix = line.substring(0, line.indexOf("\t"));
@@ -289,7 +759,7 @@ public final class TXTProperties {
     }
 
     private void parseRarePrefix() {
-        try (InputStream resource = Thread.currentThread().getContextClassLoader().getResourceAsStream("rareprefix.txt")) {
+        try (InputStream resource = resourceLoader.getResourceAsStream("rareprefix.txt")) {
             new BufferedReader(new InputStreamReader(resource, StandardCharsets.UTF_8)).lines().forEach(line -> {
                 if (!line.startsWith("name")) {
                     String prefix = line.substring(0, line.indexOf("\t"));
@@ -302,7 +772,7 @@ public final class TXTProperties {
     }
 
     private void parseUniqueItems() {
-        try (InputStream resource = Thread.currentThread().getContextClassLoader().getResourceAsStream("uniqueitems.txt")) {
+        try (InputStream resource = resourceLoader.getResourceAsStream("uniqueitems.txt")) {
             new BufferedReader(new InputStreamReader(resource, StandardCharsets.UTF_8)).lines().forEach(line -> {
                 if (!line.startsWith("index") && line.length() > 90) { // skip the headers and comments
                     UniqueItem uniqueItem = new UniqueItem(line);
@@ -318,11 +788,11 @@ public final class TXTProperties {
     }
 
     private void parseMisc() {
-        try (InputStream resource = Thread.currentThread().getContextClassLoader().getResourceAsStream("misc.txt")) {
+        try (InputStream resource = resourceLoader.getResourceAsStream("misc.txt")) {
             new BufferedReader(new InputStreamReader(resource, StandardCharsets.UTF_8)).lines().forEach(line -> {
                 if (!line.isBlank() && !line.startsWith("name\t") && !line.startsWith("Expansion")) {
                     final MiscStats miscStats = new MiscStats(line);
-                    miscItemsByCode.put(miscStats.getCode(), miscStats);
+                    miscItemsByCode.put(miscStats.getCode().intern(), miscStats);
                 }
             });
         } catch (IOException | NullPointerException e) {
@@ -331,11 +801,11 @@ public final class TXTProperties {
     }
 
     private void parseArmor() {
-        try (InputStream resource = Thread.currentThread().getContextClassLoader().getResourceAsStream("armor.txt")) {
+        try (InputStream resource = resourceLoader.getResourceAsStream("armor.txt")) {
             new BufferedReader(new InputStreamReader(resource, StandardCharsets.UTF_8)).lines().forEach(line -> {
                 if (!line.isBlank() && !line.startsWith("name\t") && !line.startsWith("Expansion")) {
                     final ArmorStats armorStats = new ArmorStats(line);
-                    armorsByCode.put(armorStats.getCode(), armorStats);
+                    armorsByCode.put(armorStats.getCode().intern(), armorStats);
                 }
             });
         } catch (IOException | NullPointerException e) {
@@ -344,11 +814,11 @@ public final class TXTProperties {
     }
 
     private void parseWeapons() {
-        try (InputStream resource = Thread.currentThread().getContextClassLoader().getResourceAsStream("weapons.txt")) {
+        try (InputStream resource = resourceLoader.getResourceAsStream("weapons.txt")) {
             new BufferedReader(new InputStreamReader(resource, StandardCharsets.UTF_8)).lines().forEach(line -> {
                 if (!line.isBlank() && !line.startsWith("name\t") && !line.startsWith("Expansion")) {
                     final WeaponStats weaponStats = new WeaponStats(line);
-                    weaponsByCode.put(weaponStats.getCode(), weaponStats);
+                    weaponsByCode.put(weaponStats.getCode().intern(), weaponStats);
                 }
             });
         } catch (IOException | NullPointerException e) {
@@ -357,7 +827,7 @@ public final class TXTProperties {
     }
 
     private void parseSets() {
-        try (InputStream resource = Thread.currentThread().getContextClassLoader().getResourceAsStream("sets.txt")) {
+        try (InputStream resource = resourceLoader.getResourceAsStream("sets.txt")) {
             new BufferedReader(new InputStreamReader(resource, StandardCharsets.UTF_8)).lines().forEach(line -> {
                 if (!line.isBlank() && !line.startsWith("index\t") && !line.startsWith("Expansion")) {
                     SetData set = new SetData(line, setIDs, new ItemStatCostAndProperties(itemStatcostsByCode, genericPropertiesByCode));
@@ -370,7 +840,7 @@ public final class TXTProperties {
     }
 
     private void parseSetItems() {
-        try (InputStream resource = Thread.currentThread().getContextClassLoader().getResourceAsStream("setitems.txt")) {
+        try (InputStream resource = resourceLoader.getResourceAsStream("setitems.txt")) {
             new BufferedReader(new InputStreamReader(resource, StandardCharsets.UTF_8)).lines().forEach(line -> {
                 String[] blocks = line.split("\t");
                 if (blocks.length > 2 && ParseHelper.isNumeric(blocks[1])) {
@@ -387,11 +857,19 @@ public final class TXTProperties {
         }
     }
 
+    private void addRuneword(final Runeword runeword) {
+        runewords.add(runeword);
+        if (runeword.isActive()) {
+            // some runes make more than one runeword, the first one in runes.txt wins
+            runewordsByRunes.putIfAbsent(runeword.getRuneString(), runeword);
+        }
+    }
+
     private void parseRunewords() {
-        try (InputStream resource = Thread.currentThread().getContextClassLoader().getResourceAsStream("runes.txt")) {
+        try (InputStream resource = resourceLoader.getResourceAsStream("runes.txt")) {
             new BufferedReader(new InputStreamReader(resource, StandardCharsets.UTF_8)).lines().forEach(line -> {
                 if (!line.isEmpty() && !line.startsWith("Name")) {
-                    runewords.add(new Runeword(line));
+                    addRuneword(new Runeword(line));
 
                 }
             });
@@ -401,7 +879,7 @@ public final class TXTProperties {
     }
 
     private void parseProperties() {
-        try (InputStream resource = Thread.currentThread().getContextClassLoader().getResourceAsStream("properties.txt")) {
+        try (InputStream resource = resourceLoader.getResourceAsStream("properties.txt")) {
             new BufferedReader(new InputStreamReader(resource, StandardCharsets.UTF_8)).lines().forEach(line -> {
                 String[] blocks = line.split("\t");
                 if (blocks.length > 1 && !"code".equals(blocks[0])) {
@@ -414,7 +892,7 @@ public final class TXTProperties {
     }
 
     private void parseItemStatCost() {
-        try (InputStream resource = Thread.currentThread().getContextClassLoader().getResourceAsStream("itemstatcost.txt")) {
+        try (InputStream resource = resourceLoader.getResourceAsStream("itemstatcost.txt")) {
             new BufferedReader(new InputStreamReader(resource, StandardCharsets.UTF_8)).lines().forEach(line -> {
                 if (!line.isEmpty() && !line.startsWith("Stat\t*ID\t")) {
                     final ItemStatCost isc = new ItemStatCost(line);
@@ -428,11 +906,11 @@ public final class TXTProperties {
     }
 
     private void parseGems() {
-        try (InputStream resource = Thread.currentThread().getContextClassLoader().getResourceAsStream("gems.txt")) {
+        try (InputStream resource = resourceLoader.getResourceAsStream("gems.txt")) {
             new BufferedReader(new InputStreamReader(resource, StandardCharsets.UTF_8)).lines().forEach(line -> {
                 if (!line.isBlank() && !line.startsWith("name") && !line.startsWith("Expansion")) {
                     final GemAndRuneStats gemsAndRuneStats = new GemAndRuneStats(line, new ItemStatCostAndProperties(itemStatcostsByCode, genericPropertiesByCode));
-                    gemsAndRunes.put(gemsAndRuneStats.getCode(), gemsAndRuneStats);
+                    gemsAndRunes.put(gemsAndRuneStats.getCode().intern(), gemsAndRuneStats);
                 }
             });
         } catch (IOException | NullPointerException e) {
@@ -441,7 +919,7 @@ public final class TXTProperties {
     }
 
     private void parseTreasureClass() {
-        try (InputStream resource = Thread.currentThread().getContextClassLoader().getResourceAsStream("tcbyitemname.txt")) {
+        try (InputStream resource = resourceLoader.getResourceAsStream("tcbyitemname.txt")) {
             new BufferedReader(new InputStreamReader(resource, StandardCharsets.UTF_8)).lines().forEach(line -> {
                 if (!line.isBlank() && !line.startsWith("name")) {
                     String[] blocks = line.split("\t");
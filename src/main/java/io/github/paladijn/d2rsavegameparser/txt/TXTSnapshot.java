@@ -0,0 +1,233 @@
+/*
+ * Copyright (C) 2023   Paladijn (paladijn2960+d2rsavegameparser@gmail.com)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA 
+ */
+package io.github.paladijn.d2rsavegameparser.txt;
+
+import io.github.paladijn.d2rsavegameparser.model.ItemProperty;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.zip.CRC32;
+
+/**
+ * Binary snapshot of the parsed {@link TXTProperties} tables, so a fresh JVM doesn't have to split and parse all .txt files again.
+ * <p>
+ * The snapshot is generated at build time through {@link #main(String[])} and stored next to the .txt resources. It starts with a
+ * magic number and the format version, followed by one section per {@link TXTTable}. Each section holds a CRC32 checksum of the
+ * .txt file of the table and the serialised table, so tables can be decoded independently of each other. When the checksum of a table
+ * or one of its dependencies doesn't match the .txt file on the classpath (for example after updating them for a new patch without
+ * regenerating the snapshot) its section is ignored and the .txt file is parsed instead. Every .txt file is verified at most once.
+ *
+ * @author Paladijn
+ */
+final class TXTSnapshot {
+
+    static final String RESOURCE = "txtproperties.snapshot";
+
+    // "D2TX"
+    private static final int MAGIC = 0x44325458;
+
+    // increase whenever the layout of the snapshot or one of the write() methods changes
+    private static final int FORMAT_VERSION = 4;
+
+    private static final int UNVERIFIED = 0;
+    private static final int UNCHANGED = 1;
+    private static final int CHANGED = 2;
+
+    // all indexed by TXTTable.ordinal(), sections are released once decoded
+    private final long[] checksums;
+    private final byte[][] sections;
+
+    // whether the .txt file of a table still matches its checksum, verifying it twice from different threads does no harm
+    private final AtomicIntegerArray sources = new AtomicIntegerArray(TXTTable.values().length);
+
+    private TXTSnapshot(final long[] checksums, final byte[][] sections) {
+        this.checksums = checksums;
+        this.sections = sections;
+    }
+
+    /**
+     * Write a snapshot of the .txt files on the classpath to the supplied path. This is called from the build (process-classes phase).
+     *
+     * @param args the target file of the snapshot
+     * @throws IOException in case the snapshot could not be written
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1) {
+            throw new IllegalArgumentException("usage: TXTSnapshot <target file>");
+        }
+        try (OutputStream out = Files.newOutputStream(Path.of(args[0]))) {
+            write(TXTProperties.fromTextFiles(), out);
+        }
+    }
+
+    static void write(final TXTProperties txtProperties, final OutputStream outputStream) throws IOException {
+        txtProperties.loadAllTables();
+        final ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        final DataOutputStream out = new DataOutputStream(new BufferedOutputStream(outputStream));
+        out.writeInt(MAGIC);
+        out.writeInt(FORMAT_VERSION);
+        out.writeInt(TXTTable.values().length);
+        final ByteArrayOutputStream section = new ByteArrayOutputStream();
+        for (TXTTable table : TXTTable.values()) {
+            section.reset();
+            final DataOutputStream sectionOut = new DataOutputStream(section);
+            txtProperties.writeTable(table, sectionOut);
+            sectionOut.flush();
+            out.writeLong(sourceChecksum(table, classLoader));
+            out.writeUTF(table.name());
+            out.writeInt(section.size());
+            section.writeTo(out);
+        }
+        out.flush();
+    }
+
+    /**
+     * Read the sections of a snapshot, without decoding them.
+     *
+     * @param inputStream the snapshot
+     * @return the {@link TXTSnapshot}, or null in case the snapshot was made with a different format.
+     * @throws IOException in case the snapshot could not be read
+     */
+    static TXTSnapshot read(final InputStream inputStream) throws IOException {
+        final DataInputStream in = new DataInputStream(new BufferedInputStream(inputStream));
+        if (in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION) {
+            return null;
+        }
+        final long[] checksums = new long[TXTTable.values().length];
+        final byte[][] sections = new byte[TXTTable.values().length][];
+        final int count = in.readInt();
+        for (int i = 0; i < count; i++) {
+            final long checksum = in.readLong();
+            final TXTTable table = TXTTable.valueOf(in.readUTF());
+            checksums[table.ordinal()] = checksum;
+            sections[table.ordinal()] = new byte[in.readInt()];
+            in.readFully(sections[table.ordinal()]);
+        }
+        return new TXTSnapshot(checksums, sections);
+    }
+
+    /**
+     * Take the serialised section of a table out of the snapshot. Each section can only be taken once, so the memory is released after
+     * decoding it. Calls for the same table must be synchronised by the caller.
+     *
+     * @param table the table to retrieve
+     * @param classLoader the class loader to read the .txt files with to verify the checksums
+     * @return the section of the table, or null in case it's missing or was made from different .txt files.
+     * @throws IOException in case the .txt files could not be read
+     */
+    DataInput takeSection(final TXTTable table, final ClassLoader classLoader) throws IOException {
+        final byte[] section = sections[table.ordinal()];
+        sections[table.ordinal()] = null;
+        if (section == null || !isUnchanged(table, classLoader)) {
+            return null;
+        }
+        return new DataInputStream(new ByteArrayInputStream(section));
+    }
+
+    // a table is only valid when the .txt files of its dependencies are unchanged as well
+    private boolean isUnchanged(final TXTTable table, final ClassLoader classLoader) throws IOException {
+        for (TXTTable dependency : table.dependencies()) {
+            if (!isUnchanged(dependency, classLoader)) {
+                return false;
+            }
+        }
+        int state = sources.get(table.ordinal());
+        if (state == UNVERIFIED) {
+            state = checksums[table.ordinal()] == sourceChecksum(table, classLoader) ? UNCHANGED : CHANGED;
+            sources.set(table.ordinal(), state);
+        }
+        return state == UNCHANGED;
+    }
+
+    /**
+     * Calculate the CRC32 checksum of the .txt file of a table.
+     *
+     * @param table the table to calculate the checksum for
+     * @param classLoader the class loader to read the .txt file with
+     * @return the checksum of the .txt file on the classpath
+     * @throws IOException in case the file is missing or could not be read
+     */
+    static long sourceChecksum(final TXTTable table, final ClassLoader classLoader) throws IOException {
+        final CRC32 crc = new CRC32();
+        final byte[] buffer = new byte[16384];
+        try (InputStream resource = classLoader.getResourceAsStream(table.source())) {
+            if (resource == null) {
+                throw new IOException("Missing resource " + table.source());
+            }
+            int read;
+            while ((read = resource.read(buffer)) != -1) {
+                crc.update(buffer, 0, read);
+            }
+        }
+        return crc.getValue();
+    }
+
+    static void writeString(final DataOutput out, final String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    static String readString(final DataInput in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    static void writeProperties(final DataOutput out, final List<ItemProperty> properties) throws IOException {
+        out.writeInt(properties.size());
+        for (ItemProperty property : properties) {
+            out.writeInt(property.index());
+            out.writeUTF(property.name());
+            out.writeByte(property.values().length);
+            for (int value : property.values()) {
+                out.writeInt(value);
+            }
+            out.writeInt(property.qualityFlag());
+            out.writeInt(property.order());
+        }
+    }
+
+    static List<ItemProperty> readProperties(final DataInput in) throws IOException {
+        final int count = in.readInt();
+        final List<ItemProperty> properties = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            final int index = in.readInt();
+            final String name = in.readUTF();
+            final int[] values = new int[in.readByte()];
+            for (int v = 0; v < values.length; v++) {
+                values[v] = in.readInt();
+            }
+            properties.add(new ItemProperty(index, name, values, in.readInt(), in.readInt()));
+        }
+        return properties;
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright (C) 2023   Paladijn (paladijn2960+d2rsavegameparser@gmail.com)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA 
+ */
+package io.github.paladijn.d2rsavegameparser.txt;
+
+import java.util.List;
+
+/**
+ * The tables {@link TXTProperties} is built from, each backed by one .txt file. Tables only depend on tables declared before them,
+ * so loading them in declaration order is always valid.
+ *
+ * @author Paladijn
+ */
+enum TXTTable {
+    PROPERTIES("properties.txt"),
+    ITEM_STAT_COST("itemstatcost.txt"),
+    RUNEWORDS("runes.txt"),
+    SET_ITEMS("setitems.txt"),
+    SETS("sets.txt", PROPERTIES, ITEM_STAT_COST, SET_ITEMS),
+    WEAPONS("weapons.txt"),
+    ARMOR("armor.txt"),
+    MISC("misc.txt"),
+    GEMS("gems.txt", PROPERTIES, ITEM_STAT_COST),
+    UNIQUE_ITEMS("uniqueitems.txt"),
+    RARE_PREFIX("rareprefix.txt"),
+    RARE_SUFFIX("raresuffix.txt"),
+    MAGIC_PREFIX("magicprefix.txt"),
+    MAGIC_SUFFIX("magicsuffix.txt"),
+    TREASURE_CLASS("tcbyitemname.txt");
+
+    private final String source;
+
+    private final List<TXTTable> dependencies;
+
+    TXTTable(final String source, final TXTTable... dependencies) {
+        this.source = source;
+        this.dependencies = List.of(dependencies);
+    }
+
+    /**
+     * @return the name of the .txt resource this table is parsed from
+     */
+    String source() {
+        return source;
+    }
+
+    /**
+     * @return the tables that have to be loaded before this one
+     */
+    List<TXTTable> dependencies() {
+        return dependencies;
+    }
+}
@@ -17,6 +17,10 @@
  */
 package io.github.paladijn.d2rsavegameparser.txt;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
 /**
  * Representation of a unique item from the uniqueitems.txt resource file.
  *
@@ -46,6 +50,26 @@ public final class UniqueItem {
         enabled = "1".equals(blocks[3]) || "2".equals(ladderFirst); // the sunder charms are also enabled in SP. Perhaps this should be a check for non-empty?
     }
 
+    UniqueItem(final DataInput in) throws IOException {
+        name = in.readUTF();
+        id = in.readShort();
+        enabled = in.readBoolean();
+        ladderFirst = in.readUTF();
+        ladderLast = in.readUTF();
+        code = in.readUTF();
+        itemName = in.readUTF();
+    }
+
+    void write(final DataOutput out) throws IOException {
+        out.writeUTF(name);
+        out.writeShort(id);
+        out.writeBoolean(enabled);
+        out.writeUTF(ladderFirst);
+        out.writeUTF(ladderLast);
+        out.writeUTF(code);
+        out.writeUTF(itemName);
+    }
+
     /**
      * Returns whether the unique item is enabled.
      *
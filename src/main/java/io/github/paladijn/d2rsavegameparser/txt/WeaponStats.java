@@ -19,6 +19,10 @@ package io.github.paladijn.d2rsavegameparser.txt;
 
 import io.github.paladijn.d2rsavegameparser.internal.parser.ParseHelper;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
 /**
  * Representation of an item from the weapons.txt resource file.
  *
@@ -78,6 +82,36 @@ public final class WeaponStats {
         isThrown = "primarily thrown".equals(blocks[57]);
     }
 
+    WeaponStats(final DataInput in) throws IOException {
+        name = in.readUTF();
+        type = in.readUTF();
+        type2 = in.readUTF();
+        code = in.readUTF();
+        isTwoHanded = in.readBoolean();
+        isStackable = in.readBoolean();
+        isThrown = in.readBoolean();
+        reqStr = in.readInt();
+        reqDex = in.readInt();
+        reqLvl = in.readInt();
+        invWidth = in.readInt();
+        invHeight = in.readInt();
+    }
+
+    void write(final DataOutput out) throws IOException {
+        out.writeUTF(name);
+        out.writeUTF(type);
+        out.writeUTF(type2);
+        out.writeUTF(code);
+        out.writeBoolean(isTwoHanded);
+        out.writeBoolean(isStackable);
+        out.writeBoolean(isThrown);
+        out.writeInt(reqStr);
+        out.writeInt(reqDex);
+        out.writeInt(reqLvl);
+        out.writeInt(invWidth);
+        out.writeInt(invHeight);
+    }
+
     /**
      * Gets the code of the item.
      *
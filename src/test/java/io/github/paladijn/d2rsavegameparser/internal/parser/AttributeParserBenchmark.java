@@ -0,0 +1,72 @@
+/*
+ * Copyright (C) 2023   Paladijn (paladijn2960+d2rsavegameparser@gmail.com)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA 
+ */
+package io.github.paladijn.d2rsavegameparser.internal.parser;
+
+import io.github.paladijn.d2rsavegameparser.model.CharacterAttributes;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the {@link BitReader} based {@link AttributeParser} with the original {@link java.util.BitSet} slicing implementation.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AttributeParserBenchmark {
+
+    private static final int STAT_INDEX = 765;
+
+    private final AttributeParser attributeParser = new AttributeParser();
+
+    private final ReferenceAttributeParser referenceParser = new ReferenceAttributeParser();
+
+    private ByteBuffer buffer;
+
+    private int length;
+
+    @Setup
+    public void setup() throws IOException {
+        buffer = ByteBuffer.wrap(ClassLoader.getSystemResourceAsStream("2.7/Lohengrin.d2s").readAllBytes());
+        length = MarkerSearch.indexOf(buffer, STAT_INDEX, buffer.limit(), MarkerSearch.marker("if"), 2) - STAT_INDEX - 2;
+    }
+
+    @Benchmark
+    public CharacterAttributes bitReader() {
+        return attributeParser.parse(buffer, STAT_INDEX + 2, length);
+    }
+
+    @Benchmark
+    public CharacterAttributes reference() {
+        return referenceParser.parse(buffer, STAT_INDEX + 2, length);
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright (C) 2023   Paladijn (paladijn2960+d2rsavegameparser@gmail.com)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA 
+ */
+package io.github.paladijn.d2rsavegameparser.internal.parser;
+
+import io.github.paladijn.d2rsavegameparser.parser.ParseException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AttributeParserTest {
+
+    private static final int STAT_INDEX = 765;
+
+    private final AttributeParser cut = new AttributeParser();
+
+    @ParameterizedTest
+    @ValueSource(strings = {"2.7/Lohengrin.d2s", "2.7/Fierljepper.d2s", "2.7/Hamers.d2s", "2.7/itsDeadJim.d2s", "2.8/Sparkles-potion.d2s"})
+    void matchesReferenceParser(final String savegame) throws IOException {
+        final ByteBuffer buffer = ByteBuffer.wrap(ClassLoader.getSystemResourceAsStream(savegame).readAllBytes());
+        final int skillIndex = MarkerSearch.indexOf(buffer, STAT_INDEX, buffer.limit(), MarkerSearch.marker("if"), 2);
+        final int length = skillIndex - STAT_INDEX - 2;
+
+        assertThat(cut.parse(buffer, STAT_INDEX + 2, length))
+                .isEqualTo(new ReferenceAttributeParser().parse(buffer, STAT_INDEX + 2, length));
+    }
+
+    @Test
+    void rejectUnknownAttributeId() {
+        // id 16 followed by the stop code
+        final ByteBuffer buffer = ByteBuffer.wrap(new byte[]{0x10, (byte) 0xfe, 0x03});
+
+        assertThatThrownBy(() -> cut.parse(buffer, 0, 3))
+                .isInstanceOf(ParseException.class)
+                .hasMessage("Unknown character attribute id 16 at bit 0");
+    }
+
+    @Test
+    void rejectUnterminatedAttributes() {
+        final ByteBuffer buffer = ByteBuffer.wrap(new byte[4]);
+
+        assertThatThrownBy(() -> cut.parse(buffer, 0, 4))
+                .isInstanceOf(ParseException.class)
+                .hasMessage("Character attributes are not terminated within 4 bytes");
+    }
+}
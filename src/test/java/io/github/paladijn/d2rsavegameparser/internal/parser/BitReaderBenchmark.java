@@ -0,0 +1,79 @@
+/*
+ * Copyright (C) 2023   Paladijn (paladijn2960+d2rsavegameparser@gmail.com)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA 
+ */
+package io.github.paladijn.d2rsavegameparser.internal.parser;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the register based {@link BitReader} with the original byte-flipping implementation on an item-like read pattern.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BitReaderBenchmark {
+
+    // flags, location fields, a couple of 9 bit property ids with their values and some single bit flags
+    private static final int[] READ_PATTERN = {32, 3, 3, 4, 4, 4, 3, 1, 1, 1, 1, 3, 32, 7, 4, 1, 1, 9, 7, 9, 8, 9, 10, 1, 11};
+
+    private byte[] data;
+
+    @Setup
+    public void setup() {
+        data = new byte[8192];
+        new Random(2960).nextBytes(data);
+    }
+
+    @Benchmark
+    public long registerReader() {
+        final BitReader reader = new BitReader(data);
+        final int limit = data.length * 8 - 64;
+        long checksum = 0;
+        int i = 0;
+        while (reader.getPositionInBits() < limit) {
+            checksum += reader.readInt(READ_PATTERN[i++ % READ_PATTERN.length]);
+        }
+        return checksum;
+    }
+
+    @Benchmark
+    public long referenceReader() {
+        final ReferenceBitReader reader = new ReferenceBitReader(data);
+        final int limit = data.length * 8 - 64;
+        long checksum = 0;
+        int i = 0;
+        while (reader.getPositionInBits() < limit) {
+            checksum += reader.readInt(READ_PATTERN[i++ % READ_PATTERN.length]);
+        }
+        return checksum;
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright (C) 2023   Paladijn (paladijn2960+d2rsavegameparser@gmail.com)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA 
+ */
+package io.github.paladijn.d2rsavegameparser.internal.parser;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BitReaderTest {
+
+    private static final int[] READ_SIZES = {1, 3, 4, 7, 8, 9, 11, 12, 16, 25, 31, 32};
+
+    @Test
+    void matchesReferenceImplementation() {
+        final byte[] data = new byte[4096];
+        final Random random = new Random(2960);
+        random.nextBytes(data);
+
+        final BitReader cut = new BitReader(data);
+        final ReferenceBitReader reference = new ReferenceBitReader(data);
+
+        // run past the end of the data as well, both implementations should pad with zeroes
+        while (reference.getPositionInBits() < data.length * 8 + 64) {
+            final int bits = READ_SIZES[random.nextInt(READ_SIZES.length)];
+            switch (random.nextInt(4)) {
+                case 0 -> assertThat(cut.readInt(bits)).isEqualTo(reference.readInt(bits));
+                case 1 -> assertThat(cut.readShort(Math.min(bits, 16))).isEqualTo(reference.readShort(Math.min(bits, 16)));
+                case 2 -> assertThat(cut.readFlippedInt(bits)).isEqualTo(reference.readFlippedInt(bits));
+                default -> {
+                    cut.skip(bits);
+                    reference.skip(bits);
+                }
+            }
+            assertThat(cut.getPositionInBits()).isEqualTo(reference.getPositionInBits());
+        }
+    }
+
+    @Test
+    void readLongBeyondRegister() {
+        final byte[] data = {(byte) 0xff, 0x01, 0x02, 0x03, 0x04, 0x05, 0x06, 0x07, 0x08, 0x09};
+
+        final BitReader cut = new BitReader(data);
+        cut.skip(4);
+
+        assertThat(cut.readLong(64)).isEqualTo(0x807060504030201FL);
+        assertThat(cut.getPositionInBits()).isEqualTo(68);
+    }
+
+    @Test
+    void readPooledHuffmanCode() {
+        final byte[] greaterHealthPotion = {16, 0, -96, 8, 21, 36, 0, -49, -81, 0};
+
+        final BitReader first = new BitReader(greaterHealthPotion);
+        first.skip(53); // flags and location bits
+        final BitReader second = new BitReader(greaterHealthPotion.clone());
+        second.skip(53);
+
+        final String code = first.readHuffmanEncodedString();
+        assertThat(code).isEqualTo("hp4");
+        assertThat(first.getPositionInBits()).isEqualTo(53 + 5 + 5 + 8 + 2);
+        assertThat(second.readHuffmanEncodedString()).isSameAs(code);
+    }
+}
@@ -0,0 +1,44 @@
+/*
+ * Copyright (C) 2023   Paladijn (paladijn2960+d2rsavegameparser@gmail.com)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA 
+ */
+package io.github.paladijn.d2rsavegameparser.internal.parser;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ItemCodePoolTest {
+
+    @Test
+    void poolItemCodes() {
+        final String code = ItemCodePool.get("hp1".toCharArray(), 3);
+
+        assertThat(code).isEqualTo("hp1").isSameAs("hp1".intern());
+        assertThat(ItemCodePool.get("hp1x".toCharArray(), 3)).isSameAs(code);
+    }
+
+    @Test
+    void doNotPoolCodesOfAnInvalidLength() {
+        final char[] garbage = "thisisnotanitemcodeatall".toCharArray();
+
+        final String first = ItemCodePool.get(garbage, garbage.length);
+        final String second = ItemCodePool.get(garbage, garbage.length);
+
+        assertThat(first).isEqualTo(second).isNotSameAs(second);
+        assertThat(ItemCodePool.get(garbage, 2)).isEqualTo("th").isNotSameAs(ItemCodePool.get(garbage, 2));
+    }
+}
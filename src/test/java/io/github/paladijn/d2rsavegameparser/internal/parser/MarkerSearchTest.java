@@ -0,0 +1,91 @@
+/*
+ * Copyright (C) 2023   Paladijn (paladijn2960+d2rsavegameparser@gmail.com)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA 
+ */
+package io.github.paladijn.d2rsavegameparser.internal.parser;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MarkerSearchTest {
+
+    @Test
+    void markerIsLittleEndian() {
+        assertThat(MarkerSearch.marker("JM")).isEqualTo(0x4d4a);
+        assertThat(MarkerSearch.marker("Woo!")).isEqualTo(ByteBuffer.wrap("Woo!".getBytes()).order(ByteOrder.LITTLE_ENDIAN).getInt());
+    }
+
+    @Test
+    void matchesNaiveSearch() {
+        final Random random = new Random(2960);
+        // a small alphabet so the markers occur often, and partial matches even more
+        final byte[] alphabet = {'J', 'M', 'k', 'f', 0x55, (byte) 0xaa, 0};
+        final int[] markers = {MarkerSearch.marker("JM"), MarkerSearch.marker("kf"), 0xaa55aa55};
+        final int[] lengths = {2, 2, 4};
+
+        for (int run = 0; run < 500; run++) {
+            final byte[] data = new byte[random.nextInt(64)];
+            for (int i = 0; i < data.length; i++) {
+                data[i] = alphabet[random.nextInt(alphabet.length)];
+            }
+            final ByteBuffer buffer = ByteBuffer.wrap(data).order(random.nextBoolean() ? ByteOrder.LITTLE_ENDIAN : ByteOrder.BIG_ENDIAN);
+            final int from = data.length == 0 ? 0 : random.nextInt(data.length);
+            final int to = from + random.nextInt(data.length - from + 1);
+
+            for (int m = 0; m < markers.length; m++) {
+                assertThat(MarkerSearch.indexOf(buffer, from, to, markers[m], lengths[m]))
+                        .isEqualTo(naiveIndexOf(data, from, to, markers[m], lengths[m]));
+                assertThat(MarkerSearch.lastIndexOf(buffer, from, to, markers[m], lengths[m]))
+                        .isEqualTo(naiveLastIndexOf(data, from, to, markers[m], lengths[m]));
+            }
+        }
+    }
+
+    private static int naiveIndexOf(byte[] data, int from, int to, int marker, int length) {
+        for (int i = from; i < to; i++) {
+            if (naiveMatch(data, i, marker, length)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static int naiveLastIndexOf(byte[] data, int from, int to, int marker, int length) {
+        for (int i = to - 1; i >= from; i--) {
+            if (naiveMatch(data, i, marker, length)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean naiveMatch(byte[] data, int index, int marker, int length) {
+        if (index + length > data.length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (data[index + i] != (byte) (marker >>> (i * 8))) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright (C) 2023   Paladijn (paladijn2960+d2rsavegameparser@gmail.com)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA 
+ */
+package io.github.paladijn.d2rsavegameparser.internal.parser;
+
+import io.github.paladijn.d2rsavegameparser.TestCommons;
+import io.github.paladijn.d2rsavegameparser.model.Item;
+import io.github.paladijn.d2rsavegameparser.model.ItemProperty;
+import io.github.paladijn.d2rsavegameparser.parser.CharacterParser;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PackedPropertiesTest {
+
+    private static final List<ItemProperty> PROPERTIES = List.of(
+            new ItemProperty(0, "strength", new int[]{15}, 0, 67),
+            new ItemProperty(39, "fireresist", new int[]{-50, 0, 0}, 26, 36),
+            new ItemProperty(204, "item_charged_skill", new int[]{3, 54, 20, 20}, 0, 1),
+            new ItemProperty(90, "item_lightcolor", new int[]{0xffffff}, 0, 0),
+            new ItemProperty(48, "firemindam", new int[]{70_000, -1}, 7, 102),
+            new ItemProperty(48, "firemindam", new int[]{1, 70_000, 3}, 7, 102),
+            new ItemProperty(40, "maxfireresist", new int[]{5, 0, 0}, 300, 0),
+            new ItemProperty(17, "not the stat name", new int[]{42}, 0, 129),
+            new ItemProperty(600, "unknown", new int[]{}, 0, 0));
+
+    @Test
+    void packWithoutLosingAnything() {
+        final PackedProperties packed = PackedProperties.of(PROPERTIES);
+
+        assertThat(packed).containsExactlyElementsOf(PROPERTIES);
+        assertThat(packed).isEqualTo(PROPERTIES);
+        assertThat(PROPERTIES).isEqualTo(packed);
+        assertThat(packed.hashCode()).isEqualTo(PROPERTIES.hashCode());
+        assertThat(PackedProperties.of(new ArrayList<>(PROPERTIES))).isEqualTo(packed);
+        for (int i = 0; i < PROPERTIES.size(); i++) {
+            assertThat(packed.index(i)).isEqualTo(PROPERTIES.get(i).index());
+            assertThat(packed.name(i)).isEqualTo(PROPERTIES.get(i).name());
+            assertThat(packed.values(i)).isEqualTo(PROPERTIES.get(i).values());
+        }
+    }
+
+    @Test
+    void filterOnQualityFlag() {
+        assertThat(PackedProperties.of(PROPERTIES).withQualityFlag(7)).containsExactly(PROPERTIES.get(4), PROPERTIES.get(5));
+        assertThat(PackedProperties.of(PROPERTIES).withQualityFlag(8)).isEmpty();
+    }
+
+    @Test
+    void sortLikeTheComparator() {
+        final List<ItemProperty> expected = new ArrayList<>();
+        final PackedProperties.PackedPropertiesBuilder builder = new PackedProperties.PackedPropertiesBuilder();
+        for (Item item : new CharacterParser(false).parse(TestCommons.getBuffer("2.7/Lohengrin.d2s")).items()) {
+            expected.addAll(item.properties());
+            builder.addAll(item.properties());
+        }
+        expected.addAll(PROPERTIES);
+        builder.addAll(PROPERTIES);
+        expected.sort(new ReverseItemPropertyOrderComparator());
+
+        assertThat(builder.sortByDisplayOrder().build()).containsExactlyElementsOf(expected);
+    }
+
+    @Test
+    void rejectModification() {
+        final PackedProperties packed = PackedProperties.of(PROPERTIES);
+
+        assertThatThrownBy(() -> packed.addAll(List.of())).isInstanceOf(UnsupportedOperationException.class);
+        assertThatThrownBy(() -> PackedProperties.EMPTY.clear()).isInstanceOf(UnsupportedOperationException.class);
+        assertThatThrownBy(() -> packed.set(0, PROPERTIES.get(1))).isInstanceOf(UnsupportedOperationException.class);
+    }
+}
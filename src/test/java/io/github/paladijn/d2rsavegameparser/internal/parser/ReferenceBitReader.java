@@ -0,0 +1,98 @@
+/*
+ * Copyright (C) 2023   Paladijn (paladijn2960+d2rsavegameparser@gmail.com)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA 
+ */
+package io.github.paladijn.d2rsavegameparser.internal.parser;
+
+/**
+ * The original byte-flipping {@link BitReader} implementation, kept to verify and benchmark the register based one against.
+ */
+final class ReferenceBitReader {
+
+    private final byte[] data;
+    private int positionInBits;
+
+    ReferenceBitReader(byte[] data) {
+        this.data = data;
+        positionInBits = 0;
+    }
+
+    void skip(int bits) {
+        positionInBits += bits;
+    }
+
+    short readShort(int bits) {
+        return (short) unflip(read(bits), bits);
+    }
+
+    int readInt(int bits) {
+        return (int) unflip(read(bits), bits);
+    }
+
+    long readLong(int bits) {
+        return unflip(read(bits), bits);
+    }
+
+    int readFlippedInt(int bits) {
+        return (int) read(bits);
+    }
+
+    int getPositionInBits() {
+        return positionInBits;
+    }
+
+    private long read(int bits) {
+        final int positionInBytes = positionInBits / 8;
+        final int bitsInLastByte = positionInBits % 8;
+
+        long result = 0;
+        for (int i = 0; i < 8; i++) {
+            result = result << 8;
+            if (positionInBytes + i < data.length) {
+                byte readByte = data[positionInBytes + i];
+                int unsigned = 0x000000ff & flipByte(readByte);
+                result += unsigned;
+            }
+        }
+
+        result = result << bitsInLastByte;
+        result = result >>> (64 - bits);
+
+        positionInBits += bits;
+
+        return result;
+    }
+
+    private static int flipByte(byte b) {
+        int ret = 0;
+        for (int i = 0; i < 8; i++) {
+            int bit = (b >> i) & 0x01;
+            ret = ret << 1;
+            ret += bit;
+        }
+        return ret;
+    }
+
+    private long unflip(long l, int bits) {
+        long ret = 0;
+        for (int i = 0; i < bits; i++) {
+            int bit = (int) ((l >> i) & 0x01);
+            ret = ret << 1;
+            ret += bit;
+        }
+        return ret;
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright (C) 2023   Paladijn (paladijn2960+d2rsavegameparser@gmail.com)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA 
+ */
+package io.github.paladijn.d2rsavegameparser.model;
+
+import io.github.paladijn.d2rsavegameparser.TestCommons;
+import io.github.paladijn.d2rsavegameparser.parser.CharacterParser;
+import io.github.paladijn.d2rsavegameparser.parser.SharedStashParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares a scan over the items of an account of 20 characters and a shared stash as {@link Item}s with the same scan over an
+ * {@link ItemTable}: the magic find of all stored unique items.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ItemTableBenchmark {
+
+    private static final int MAGIC_FIND = 80;
+
+    private List<Item> items;
+
+    private ItemTable table;
+
+    @Setup
+    public void setup() {
+        final CharacterParser characterParser = new CharacterParser(false);
+        final ItemTable.ItemTableBuilder builder = new ItemTable.ItemTableBuilder();
+        items = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            items.addAll(characterParser.parse(TestCommons.getBuffer("2.7/Lohengrin.d2s")).items());
+            characterParser.addItemsTo(TestCommons.getBuffer("2.7/Lohengrin.d2s"), builder);
+        }
+        new SharedStashParser(false).parse(TestCommons.getBuffer("2.7/" + SharedStashParser.SOFTCORE_SHARED_STASH))
+                .forEach(tab -> items.addAll(tab.items()));
+        new SharedStashParser(false).addItemsTo(TestCommons.getBuffer("2.7/" + SharedStashParser.SOFTCORE_SHARED_STASH), builder);
+        table = builder.build();
+    }
+
+    @Benchmark
+    public long scanItems() {
+        long magicFind = 0;
+        for (Item item : items) {
+            if (item.quality() == ItemQuality.UNIQUE && item.location() == ItemLocation.STORED) {
+                for (ItemProperty property : item.properties()) {
+                    if (property.index() == MAGIC_FIND) {
+                        magicFind += property.values()[0];
+                    }
+                }
+            }
+        }
+        return magicFind;
+    }
+
+    @Benchmark
+    public long scanTable() {
+        long magicFind = 0;
+        for (int i = 0; i < table.topLevelCount(); i++) {
+            final int row = table.topLevelRow(i);
+            if (table.quality(row) == ItemQuality.UNIQUE && table.location(row) == ItemLocation.STORED) {
+                for (int p = 0; p < table.propertyCount(row); p++) {
+                    if (table.propertyId(row, p) == MAGIC_FIND) {
+                        magicFind += table.propertyValue(row, p, 0);
+                    }
+                }
+            }
+        }
+        return magicFind;
+    }
+}
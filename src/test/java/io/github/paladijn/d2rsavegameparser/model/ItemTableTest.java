@@ -0,0 +1,129 @@
+/*
+ * Copyright (C) 2023   Paladijn (paladijn2960+d2rsavegameparser@gmail.com)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA 
+ */
+package io.github.paladijn.d2rsavegameparser.model;
+
+import io.github.paladijn.d2rsavegameparser.TestCommons;
+import io.github.paladijn.d2rsavegameparser.parser.CharacterParser;
+import io.github.paladijn.d2rsavegameparser.parser.ParseOptions;
+import io.github.paladijn.d2rsavegameparser.parser.SharedStashParser;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ItemTableTest {
+
+    @ParameterizedTest
+    @ValueSource(strings = {"2.7/Dierentuin.d2s", "2.7/MuleSetsOne.d2s", "2.7/Lohengrin.d2s", "2.7/Hamers.d2s", "2.7/Fierljepper.d2s",
+            "2.8/Sparkles-khalimLos.d2s", "1.6.77312/LongestPossible.d2s", "1.6.84219/DRUNPala.d2s", "1.6.80273/Assassin.d2s"})
+    void convertItemsLosslessly(String savegame) {
+        final List<Item> items = new CharacterParser(false).parse(TestCommons.getBuffer(savegame)).items();
+
+        final ItemTable table = ItemTable.of(items);
+
+        assertThat(table.topLevelCount()).isEqualTo(items.size());
+        assertThat(table.items()).isEqualTo(items);
+        for (int i = 0; i < items.size(); i++) {
+            final int row = table.topLevelRow(i);
+            final Item item = items.get(i);
+            assertThat(table.parent(row)).isEqualTo(-1);
+            assertThat(table.code(row)).isEqualTo(item.code());
+            assertThat(table.itemName(row)).isEqualTo(item.itemName());
+            assertThat(table.quality(row)).isEqualTo(item.quality());
+            assertThat(table.location(row)).isEqualTo(item.location());
+            assertThat(table.position(row)).isEqualTo(item.position());
+            assertThat(table.x(row)).isEqualTo(item.x());
+            assertThat(table.y(row)).isEqualTo(item.y());
+            assertThat(table.uniqueId(row)).isEqualTo(item.uniqueId());
+            assertThat(table.setItemId(row)).isEqualTo(item.setItemId());
+            assertThat(table.cntFilledSockets(row)).isEqualTo(item.cntFilledSockets());
+            assertThat(table.propertyCount(row)).isEqualTo(item.properties().size());
+            for (int p = 0; p < item.properties().size(); p++) {
+                final ItemProperty property = item.properties().get(p);
+                assertThat(table.propertyId(row, p)).isEqualTo(property.index());
+                assertThat(table.propertyQualityFlag(row, p)).isEqualTo(property.qualityFlag());
+                assertThat(table.propertyValueCount(row, p)).isEqualTo(property.values().length);
+                for (int v = 0; v < property.values().length; v++) {
+                    assertThat(table.propertyValue(row, p, v)).isEqualTo(property.values()[v]);
+                }
+            }
+            for (int s = 0; s < item.socketedItems().size(); s++) {
+                assertThat(table.parent(row + 1 + s)).isEqualTo(row);
+                assertThat(table.item(row + 1 + s)).isEqualTo(item.socketedItems().get(s));
+            }
+        }
+    }
+
+    @Test
+    void keepNullsAndUnusualFingerPrints() {
+        final Item ear = new Item.ItemBuilder().ear(true).fingerPrint("0x00ff").build();
+        final Item simple = new Item.ItemBuilder().code("hp4").fingerPrint("0xffffffff").location(ItemLocation.BELT).build();
+
+        final ItemTable table = ItemTable.of(List.of(ear, simple));
+
+        assertThat(table.items()).containsExactly(ear, simple);
+        assertThat(table.code(0)).isNull();
+        assertThat(table.location(0)).isNull();
+        assertThat(table.location(1)).isEqualTo(ItemLocation.BELT);
+    }
+
+    @Test
+    void addTheItemThatIsBeingBuilt() {
+        final Item rune = new Item.ItemBuilder().code("r08").itemName("Ral Rune").reqLvl(19).location(ItemLocation.SOCKET).build();
+        final Item.ItemBuilder cap = new Item.ItemBuilder().code("cap").itemName("Gemmed Cap").socketed(true).cntSockets((short) 2)
+                .fingerPrint("0x1234abcd").addPrefixId((short) 12).location(ItemLocation.STORED).addSocketedItem(rune)
+                .addProperty(new ItemProperty(31, "armorclass", new int[]{10}, 0, 1))
+                .addProperty(new ItemProperty(48, "fireresist", new int[]{35}, 8, 36));
+
+        final ItemTable table = new ItemTable.ItemTableBuilder().add(cap).build();
+
+        assertThat(table.items()).containsExactly(cap.build());
+        assertThat(table.parent(1)).isZero();
+        assertThat(table.propertyId(0, 0)).isEqualTo(48);
+    }
+
+    @Test
+    void rejectValuesOutsideTheColumnRange() {
+        final Item huge = new Item.ItemBuilder().code("cap").baseDefense(40_000).build();
+
+        assertThatThrownBy(() -> ItemTable.of(List.of(huge)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("baseDefense 40000 does not fit in an ItemTable");
+    }
+
+    @Test
+    void combineSavegames() {
+        final ItemTable.ItemTableBuilder builder = new ItemTable.ItemTableBuilder();
+        new CharacterParser(false).addItemsTo(TestCommons.getBuffer("2.7/Lohengrin.d2s"), builder);
+        new SharedStashParser(false).addItemsTo(TestCommons.getBuffer("2.7/" + SharedStashParser.SOFTCORE_SHARED_STASH), builder);
+        final ItemTable table = builder.build();
+
+        final List<Item> expected = new ArrayList<>(new CharacterParser(false).parse(TestCommons.getBuffer("2.7/Lohengrin.d2s"),
+                ParseOptions.of(ParseOptions.Section.ITEMS)).items());
+        new SharedStashParser(false).parse(TestCommons.getBuffer("2.7/" + SharedStashParser.SOFTCORE_SHARED_STASH))
+                .forEach(tab -> expected.addAll(tab.items()));
+
+        assertThat(table.items()).isEqualTo(expected);
+        assertThat(table.size()).isEqualTo(expected.size() + expected.stream().mapToInt(item -> item.socketedItems().size()).sum());
+    }
+}
@@ -18,10 +18,13 @@
 package io.github.paladijn.d2rsavegameparser.parser;
 
 import io.github.paladijn.d2rsavegameparser.TestCommons;
+import io.github.paladijn.d2rsavegameparser.model.CharacterSummary;
 import io.github.paladijn.d2rsavegameparser.model.D2Character;
 import io.github.paladijn.d2rsavegameparser.model.Item;
 import io.github.paladijn.d2rsavegameparser.model.ItemLocation;
+import io.github.paladijn.d2rsavegameparser.model.ItemPosition;
 import io.github.paladijn.d2rsavegameparser.model.ItemProperty;
+import io.github.paladijn.d2rsavegameparser.model.ItemQuality;
 import io.github.paladijn.d2rsavegameparser.model.Skill;
 import io.github.paladijn.d2rsavegameparser.model.SkillType;
 import org.junit.jupiter.api.Test;
@@ -30,7 +33,9 @@ import org.junit.jupiter.params.provider.CsvSource;
 import org.slf4j.Logger;
 
 import java.nio.ByteBuffer;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
@@ -76,6 +81,18 @@ class CharacterParserTest {
         assertThat(dierentuin.waypoints().getFirst().act2LutGholein()).isFalse();
     }
 
+    @Test
+    void readFromReadOnlyDirectBuffer() {
+        final ByteBuffer heap = TestCommons.getBuffer("2.7/Dierentuin.d2s");
+        final ByteBuffer direct = ByteBuffer.allocateDirect(heap.limit()).put(heap.duplicate()).flip().asReadOnlyBuffer();
+
+        D2Character dierentuin = cut.parse(direct);
+
+        assertThat(dierentuin).isEqualTo(cut.parse(heap));
+        assertThat(dierentuin.items()).hasSize(68);
+        assertThat(dierentuin.mercenary().items()).hasSize(2);
+    }
+
     @Test
     void readHell() {
         D2Character lohengrin = cut.parse(TestCommons.getBuffer("2.7/Lohengrin.d2s"));
@@ -410,4 +427,154 @@ class CharacterParserTest {
                 .filter(item -> item.location() == ItemLocation.EQUIPPED && item.itemName().equals("Hsarus' Iron Fist"))
                 .count()).isEqualTo(2);
     }
+
+    @ParameterizedTest
+    @CsvSource({"2.7/Dierentuin.d2s", "1.6.84219/RIPClassic.d2s", "1.6.84219/DeadWithMerc.d2s", "2.7/itsDeadJim.d2s"})
+    void summaryMatchesFullParse(String savegame) {
+        final CharacterSummary summary = cut.parseSummary(TestCommons.getBuffer(savegame));
+        final D2Character d2Character = cut.parse(TestCommons.getBuffer(savegame));
+
+        assertThat(summary.fileData()).isEqualTo(d2Character.fileData());
+        assertThat(summary.name()).isEqualTo(d2Character.name());
+        assertThat(summary.characterType()).isEqualTo(d2Character.characterType());
+        assertThat(summary.level()).isEqualTo(d2Character.level());
+        assertThat(summary.hardcore()).isEqualTo(d2Character.hardcore());
+        assertThat(summary.died()).isEqualTo(d2Character.died());
+        assertThat(summary.expansion()).isEqualTo(d2Character.expansion());
+        assertThat(summary.actProgression()).isEqualTo(d2Character.actProgression());
+        assertThat(summary.locations()).isEqualTo(d2Character.locations());
+        assertThat(summary.questDataPerDifficulty()).isEqualTo(d2Character.questDataPerDifficulty());
+        assertThat(summary.waypoints()).isEqualTo(d2Character.waypoints());
+    }
+
+    @Test
+    void summaryDoesNotReadItems() {
+        final ByteBuffer buffer = TestCommons.getBuffer("2.7/Dierentuin.d2s");
+        // wreck the item list, the summary should not care
+        buffer.put(buffer.limit() - 200, new byte[150]);
+
+        final CharacterSummary summary = cut.parseSummary(buffer);
+
+        assertThat(summary.name()).isEqualTo("Dierentuin");
+        assertThat(summary.level()).isEqualTo((byte)16);
+    }
+
+    @Test
+    void parseOnlyRequestedSections() {
+        final D2Character dierentuin = cut.parse(TestCommons.getBuffer("2.7/Dierentuin.d2s"),
+                ParseOptions.of(ParseOptions.Section.ATTRIBUTES, ParseOptions.Section.SKILLS, ParseOptions.Section.EQUIPPED_ITEMS));
+        final D2Character full = cut.parse(TestCommons.getBuffer("2.7/Dierentuin.d2s"));
+
+        assertThat(dierentuin.attributes()).isEqualTo(full.attributes());
+        assertThat(dierentuin.skills()).hasSameSizeAs(full.skills());
+        assertThat(dierentuin.items()).isNotEmpty()
+                .allMatch(item -> item.location() == ItemLocation.EQUIPPED)
+                .hasSize((int) full.items().stream().filter(item -> item.location() == ItemLocation.EQUIPPED).count());
+        assertThat(dierentuin.mercenary()).isNull();
+        assertThat(dierentuin.equippedSetBenefits()).isEmpty();
+    }
+
+    @Test
+    void parseOnlyEquippedItemsWithoutDecodingTheOthers() {
+        final List<ItemLocation> decoded = new ArrayList<>();
+        final D2Character dierentuin = cut.parse(TestCommons.getBuffer("2.7/Dierentuin.d2s"), ParseOptions.of(ParseOptions.Section.EQUIPPED_ITEMS)
+                .withItemFilter((code, quality, location, position, socketed) -> decoded.add(location)));
+        final D2Character full = cut.parse(TestCommons.getBuffer("2.7/Dierentuin.d2s"));
+
+        assertThat(full.items()).anyMatch(item -> item.location() != ItemLocation.EQUIPPED);
+        assertThat(decoded).containsOnly(ItemLocation.EQUIPPED)
+                .hasSameSizeAs(dierentuin.items());
+    }
+
+    @Test
+    void parseItemsWithoutMercenaryGolemAndDeadBody() {
+        final D2Character deadWithMerc = cut.parse(TestCommons.getBuffer("1.6.84219/DeadWithMerc.d2s"), ParseOptions.of(ParseOptions.Section.ITEMS));
+        final D2Character full = cut.parse(TestCommons.getBuffer("1.6.84219/DeadWithMerc.d2s"));
+
+        assertThat(deadWithMerc.items()).hasSameSizeAs(full.items());
+        assertThat(deadWithMerc.attributes()).isNull();
+        assertThat(deadWithMerc.skills()).isEmpty();
+        assertThat(deadWithMerc.mercenary()).isNull();
+        assertThat(deadWithMerc.golemItem()).isNull();
+        assertThat(deadWithMerc.deadBodyItems()).isEmpty();
+        assertThat(full.deadBodyItems()).isNotEmpty();
+    }
+
+    @Test
+    void parseWithAllOptionsMatchesDefault() {
+        final D2Character withOptions = cut.parse(TestCommons.getBuffer("2.7/MuleSetsOne.d2s"), ParseOptions.all());
+        final D2Character full = cut.parse(TestCommons.getBuffer("2.7/MuleSetsOne.d2s"));
+
+        assertThat(withOptions).isEqualTo(full);
+    }
+
+    @Test
+    void parseItemsLazily() {
+        final List<Item> items = cut.parse(TestCommons.getBuffer("2.7/MuleSetsOne.d2s"), ParseOptions.of(ParseOptions.Section.ITEMS)).items();
+
+        final List<LazyItem> lazyItems = cut.parseItemsLazily(TestCommons.getBuffer("2.7/MuleSetsOne.d2s"));
+
+        assertThat(lazyItems).hasSameSizeAs(items);
+        for (int i = 0; i < items.size(); i++) {
+            assertThat(lazyItems.get(i).code()).isEqualTo(items.get(i).code());
+            assertThat(lazyItems.get(i).location()).isEqualTo(items.get(i).location());
+            assertThat(lazyItems.get(i).position()).isEqualTo(items.get(i).position());
+            assertThat(lazyItems.get(i).x()).isEqualTo(items.get(i).x());
+            assertThat(lazyItems.get(i).y()).isEqualTo(items.get(i).y());
+            assertThat(lazyItems.get(i).container()).isEqualTo(items.get(i).container());
+            assertThat(lazyItems.get(i).isSocketed()).isEqualTo(items.get(i).isSocketed());
+            assertThat(lazyItems.get(i).isDecoded()).isFalse();
+            assertThat(lazyItems.get(i).item()).isEqualTo(items.get(i));
+        }
+    }
+
+    @Test
+    void visitItems() {
+        final List<Item> items = cut.parse(TestCommons.getBuffer("2.7/MuleSetsOne.d2s"), ParseOptions.of(ParseOptions.Section.ITEMS)).items();
+
+        final List<String> codes = new ArrayList<>();
+        cut.visitItems(TestCommons.getBuffer("2.7/MuleSetsOne.d2s"), new ItemVisitor() {
+            private int depth;
+
+            @Override
+            public void onItemStart(String code, ItemQuality quality, ItemLocation location, ItemPosition position) {
+                if (depth++ == 0) {
+                    codes.add(code);
+                }
+            }
+
+            @Override
+            public void onItemEnd() {
+                depth--;
+            }
+        });
+
+        assertThat(codes).containsExactlyElementsOf(items.stream().map(Item::code).toList());
+    }
+
+    @Test
+    void parseFilteredItems() {
+        final D2Character all = cut.parse(TestCommons.getBuffer("2.7/MuleSetsOne.d2s"));
+        final D2Character sets = cut.parse(TestCommons.getBuffer("2.7/MuleSetsOne.d2s"),
+                ParseOptions.of(ParseOptions.Section.ITEMS).withItemFilter(ItemFilter.quality(ItemQuality.SET)));
+
+        assertThat(sets.items())
+                .isNotEmpty()
+                .containsExactlyElementsOf(cut.parse(TestCommons.getBuffer("2.7/MuleSetsOne.d2s"), ParseOptions.of(ParseOptions.Section.ITEMS)).items().stream()
+                        .filter(item -> item.quality() == ItemQuality.SET)
+                        .toList());
+        assertThat(sets.items()).hasSizeLessThan(all.items().size());
+    }
+
+    @Test
+    void parseItemsInParallel() {
+        final ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            final D2Character parallel = new CharacterParser(false, pool).parse(TestCommons.getBuffer("2.7/Lohengrin.d2s"));
+
+            assertThat(parallel).isEqualTo(cut.parse(TestCommons.getBuffer("2.7/Lohengrin.d2s")));
+        } finally {
+            pool.shutdown();
+        }
+    }
 }
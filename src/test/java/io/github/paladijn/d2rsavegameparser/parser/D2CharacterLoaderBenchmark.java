@@ -0,0 +1,75 @@
+/*
+ * Copyright (C) 2023   Paladijn (paladijn2960+d2rsavegameparser@gmail.com)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA 
+ */
+package io.github.paladijn.d2rsavegameparser.parser;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares loading a savegame into a new heap buffer with the pooled and memory-mapped loaders. Run it with the GC profiler
+ * ({@code -prof gc}) to see the difference in allocation rate per loaded file.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class D2CharacterLoaderBenchmark {
+
+    private String savegame;
+
+    @Setup
+    public void setup() throws URISyntaxException {
+        savegame = Path.of(ClassLoader.getSystemResource("1.6.77312/LongestPossible.d2s").toURI()).toString();
+    }
+
+    @Benchmark
+    public int allocatedBuffer() throws IOException {
+        final ByteBuffer buffer = D2CharacterLoader.loadFileToByteBuffer(savegame);
+        return buffer.get(buffer.limit() - 1);
+    }
+
+    @Benchmark
+    public int pooledBuffer() throws IOException {
+        try (SaveFileLease lease = D2CharacterLoader.leaseFile(savegame)) {
+            return lease.buffer().get(lease.buffer().limit() - 1);
+        }
+    }
+
+    @Benchmark
+    public int mappedBuffer() throws IOException {
+        try (SaveFileLease lease = D2CharacterLoader.mapFile(savegame)) {
+            return lease.buffer().get(lease.buffer().limit() - 1);
+        }
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright (C) 2023   Paladijn (paladijn2960+d2rsavegameparser@gmail.com)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA 
+ */
+package io.github.paladijn.d2rsavegameparser.parser;
+
+import io.github.paladijn.d2rsavegameparser.TestCommons;
+import io.github.paladijn.d2rsavegameparser.model.D2Character;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+class D2CharacterLoaderTest {
+
+    private final CharacterParser parser = new CharacterParser(false);
+
+    @Test
+    void leasedBufferIsReused() throws IOException, URISyntaxException {
+        final String dierentuin = getPath("2.7/Dierentuin.d2s");
+        final D2Character expected = parser.parse(TestCommons.getBuffer("2.7/Dierentuin.d2s"));
+
+        final ByteBuffer first;
+        try (SaveFileLease lease = D2CharacterLoader.leaseFile(dierentuin)) {
+            first = lease.buffer();
+            assertThat(first.isDirect()).isTrue();
+            assertThat(parser.parse(first)).isEqualTo(expected);
+        }
+
+        try (SaveFileLease lease = D2CharacterLoader.leaseFile(getPath("2.7/Hamers.d2s"))) {
+            assertThat(lease.buffer().limit()).isEqualTo(TestCommons.getBuffer("2.7/Hamers.d2s").limit());
+            // both leases share the same pooled memory
+            assertThat(lease.buffer().get(0)).isEqualTo(first.get(0));
+        }
+    }
+
+    @Test
+    void nestedLeasesDoNotShareMemory() throws IOException, URISyntaxException {
+        try (SaveFileLease outer = D2CharacterLoader.leaseFile(getPath("2.7/Dierentuin.d2s"));
+             SaveFileLease inner = D2CharacterLoader.leaseFile(getPath("2.7/Hamers.d2s"))) {
+            assertThat(parser.parse(outer.buffer()).name()).isEqualTo("Dierentuin");
+            assertThat(parser.parse(inner.buffer()).name()).isEqualTo("Hamers");
+        }
+    }
+
+    @Test
+    void mappedFile() throws IOException, URISyntaxException {
+        final SaveFileLease lease = D2CharacterLoader.mapFile(getPath("2.7/Dierentuin.d2s"));
+
+        assertThat(parser.parse(lease.buffer())).isEqualTo(parser.parse(TestCommons.getBuffer("2.7/Dierentuin.d2s")));
+
+        lease.close();
+        assertThatExceptionOfType(IllegalStateException.class).isThrownBy(lease::buffer);
+    }
+
+    private static String getPath(String resource) throws URISyntaxException {
+        return Path.of(ClassLoader.getSystemResource(resource).toURI()).toString();
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright (C) 2023   Paladijn (paladijn2960+d2rsavegameparser@gmail.com)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA 
+ */
+package io.github.paladijn.d2rsavegameparser.parser;
+
+import io.github.paladijn.d2rsavegameparser.model.ItemQuality;
+import io.github.paladijn.d2rsavegameparser.model.SharedStashTab;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures parsing the test shared stash with and without an {@link ItemFilter}, the filtered out items are only scanned.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ItemFilterBenchmark {
+
+    private static final ItemFilter SETS_AND_UNIQUES = ItemFilter.quality(ItemQuality.SET, ItemQuality.UNIQUE);
+
+    private final SharedStashParser parser = new SharedStashParser(false);
+
+    private byte[] stash;
+
+    @Setup
+    public void setup() throws IOException {
+        stash = ClassLoader.getSystemResourceAsStream("2.7/" + SharedStashParser.SOFTCORE_SHARED_STASH).readAllBytes();
+    }
+
+    @Benchmark
+    public List<SharedStashTab> allItems() {
+        return parser.parse(ByteBuffer.wrap(stash));
+    }
+
+    @Benchmark
+    public List<SharedStashTab> setsAndUniques() {
+        return parser.parse(ByteBuffer.wrap(stash), SETS_AND_UNIQUES);
+    }
+
+    @Benchmark
+    public List<SharedStashTab> socketed() {
+        return parser.parse(ByteBuffer.wrap(stash), ItemFilter.socketed());
+    }
+}
@@ -17,13 +17,25 @@
  */
 package io.github.paladijn.d2rsavegameparser.parser;
 
+import io.github.paladijn.d2rsavegameparser.TestCommons;
 import io.github.paladijn.d2rsavegameparser.internal.parser.BitReader;
 import io.github.paladijn.d2rsavegameparser.model.Item;
 import io.github.paladijn.d2rsavegameparser.model.ItemContainer;
 import io.github.paladijn.d2rsavegameparser.model.ItemLocation;
 import io.github.paladijn.d2rsavegameparser.model.ItemPosition;
+import io.github.paladijn.d2rsavegameparser.model.ItemProperty;
 import io.github.paladijn.d2rsavegameparser.model.ItemQuality;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -285,4 +297,135 @@ class ItemParserTest {
 
         assertThat(beastWrap.itemName()).isEqualTo("Beast wrap");
     }
-}
\ No newline at end of file
+
+    static Stream<String> savegames() {
+        return Stream.of("2.7/Dierentuin.d2s", "2.7/MuleSetsOne.d2s", "2.7/Lohengrin.d2s", "2.7/Hamers.d2s", "2.7/Wandelaar-anya.d2s", "2.7/Fierljepper.d2s",
+                "2.8/Sparkles-scroll_of_inifuss.d2s", "2.8/Sparkles-khalimLos.d2s", "1.6.77312/LongestPossible.d2s", "1.6.84219/DRUNPala.d2s",
+                "1.6.80273/Assassin.d2s");
+    }
+
+    @ParameterizedTest
+    @MethodSource("savegames")
+    void scannedItemBoundariesMatchParsedItems(String savegame) {
+        final ByteBuffer buffer = TestCommons.getBuffer(savegame).order(ByteOrder.LITTLE_ENDIAN);
+        final int itemListIndex = SectionLocator.locate(buffer).itemIndex();
+
+        final ItemIndex index = cut.scanItems(buffer, itemListIndex, buffer.limit());
+
+        final int cntItems = buffer.getShort(itemListIndex + 2);
+        assertThat(index.topLevelCount()).isEqualTo(cntItems);
+
+        final BitReader br = new BitReader(buffer, itemListIndex + 4, buffer.limit());
+        int cntSocketed = 0;
+        for (int i = 0; i < cntItems; i++) {
+            final int entry = index.topLevelEntry(i);
+            final int start = br.getPositionInBits();
+            final Item item = cut.parseItem(br);
+
+            assertThat(index.startInBits(entry)).isEqualTo(start);
+            assertThat(index.lengthInBits(entry)).isEqualTo(br.getPositionInBits() - start);
+            assertThat(index.parent(entry)).isEqualTo(-1);
+            assertThat(cut.parseItem(buffer, index, entry)).isEqualTo(item);
+
+            for (int s = 0; s < item.socketedItems().size(); s++) {
+                final int child = entry + 1 + s;
+                assertThat(index.parent(child)).isEqualTo(entry);
+                assertThat(cut.parseItem(buffer, index, child)).isEqualTo(item.socketedItems().get(s));
+            }
+            cntSocketed += item.socketedItems().size();
+        }
+        assertThat(index.size()).isEqualTo(cntItems + cntSocketed);
+    }
+
+    @ParameterizedTest
+    @MethodSource("savegames")
+    void visitedItemsMatchParsedItems(String savegame) {
+        final ByteBuffer buffer = TestCommons.getBuffer(savegame).order(ByteOrder.LITTLE_ENDIAN);
+        final int itemListIndex = SectionLocator.locate(buffer).itemIndex();
+
+        final List<VisitedItem> visited = new ArrayList<>();
+        final List<Item> built = new ArrayList<>();
+        cut.visitItems(buffer, itemListIndex, buffer.limit(), new ItemVisitor() {
+            private final Deque<VisitedItem> current = new ArrayDeque<>();
+
+            @Override
+            public void onItemStart(String code, ItemQuality quality, ItemLocation location, ItemPosition position) {
+                final VisitedItem item = new VisitedItem(code, quality, location, position, new ArrayList<>(), new ArrayList<>());
+                if (current.isEmpty()) {
+                    visited.add(item);
+                } else {
+                    current.peek().socketedItems().add(item);
+                }
+                current.push(item);
+            }
+
+            @Override
+            public void onProperty(int id, int qualityFlag, int[] values) {
+                current.peek().propertyIds().add(id);
+            }
+
+            @Override
+            public void onItemEnd() {
+                current.pop();
+            }
+
+            @Override
+            public boolean buildsItems() {
+                return true;
+            }
+
+            @Override
+            public void onItem(Item item) {
+                assertThat(current).isEmpty();
+                built.add(item);
+            }
+        });
+
+        final List<Item> items = cut.parseItems(buffer, itemListIndex, buffer.limit());
+        assertThat(built).isEqualTo(items);
+        assertThat(visited).hasSameSizeAs(items);
+        for (int i = 0; i < items.size(); i++) {
+            assertVisited(visited.get(i), items.get(i));
+        }
+    }
+
+    @ParameterizedTest
+    @MethodSource("savegames")
+    void filteredItemsMatchParsedItems(String savegame) {
+        final ByteBuffer buffer = TestCommons.getBuffer(savegame).order(ByteOrder.LITTLE_ENDIAN);
+        final int itemListIndex = SectionLocator.locate(buffer).itemIndex();
+        final List<Item> items = cut.parseItems(buffer, itemListIndex, buffer.limit());
+        // an inline executor takes the scan and decode path for larger lists
+        final ItemParser scanning = new ItemParser(false, Runnable::run);
+
+        final ItemFilter setsAndUniques = ItemFilter.quality(ItemQuality.SET, ItemQuality.UNIQUE);
+        final List<Item> expectedSetsAndUniques = items.stream()
+                .filter(item -> item.quality() == ItemQuality.SET || item.quality() == ItemQuality.UNIQUE)
+                .toList();
+        assertThat(cut.parseItems(buffer, itemListIndex, buffer.limit(), setsAndUniques)).isEqualTo(expectedSetsAndUniques);
+        assertThat(scanning.parseItems(buffer, itemListIndex, buffer.limit(), setsAndUniques)).isEqualTo(expectedSetsAndUniques);
+
+        final ItemFilter storedWithSockets = ItemFilter.location(ItemLocation.STORED).and(ItemFilter.socketed());
+        final List<Item> expectedStoredWithSockets = items.stream()
+                .filter(item -> item.location() == ItemLocation.STORED && item.isSocketed())
+                .toList();
+        assertThat(cut.parseItems(buffer, itemListIndex, buffer.limit(), storedWithSockets)).isEqualTo(expectedStoredWithSockets);
+        assertThat(scanning.parseItems(buffer, itemListIndex, buffer.limit(), storedWithSockets)).isEqualTo(expectedStoredWithSockets);
+    }
+
+    private record VisitedItem(String code, ItemQuality quality, ItemLocation location, ItemPosition position, List<Integer> propertyIds,
+                               List<VisitedItem> socketedItems) {
+    }
+
+    private static void assertVisited(VisitedItem visited, Item item) {
+        assertThat(visited.code()).isEqualTo(item.code());
+        assertThat(visited.quality()).isEqualTo(item.quality());
+        assertThat(visited.location()).isEqualTo(item.location());
+        assertThat(visited.position()).isEqualTo(item.position());
+        assertThat(visited.propertyIds()).containsExactlyInAnyOrderElementsOf(item.properties().stream().map(ItemProperty::index).toList());
+        assertThat(visited.socketedItems()).hasSameSizeAs(item.socketedItems());
+        for (int s = 0; s < item.socketedItems().size(); s++) {
+            assertVisited(visited.socketedItems().get(s), item.socketedItems().get(s));
+        }
+    }
+}
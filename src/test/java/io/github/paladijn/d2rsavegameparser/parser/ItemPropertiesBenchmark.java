@@ -0,0 +1,122 @@
+/*
+ * Copyright (C) 2023   Paladijn (paladijn2960+d2rsavegameparser@gmail.com)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA 
+ */
+package io.github.paladijn.d2rsavegameparser.parser;
+
+import io.github.paladijn.d2rsavegameparser.internal.parser.BitReader;
+import io.github.paladijn.d2rsavegameparser.internal.parser.ParseHelper;
+import io.github.paladijn.d2rsavegameparser.model.Item;
+import io.github.paladijn.d2rsavegameparser.model.ItemProperty;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the property loops of the item parser: decoding all items (and their properties) of a character from a scanned index,
+ * scanning the item boundaries (which skips over every property by its length) and decoding a property list typical of rare and
+ * crafted items on its own.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ItemPropertiesBenchmark {
+
+    private final ItemParser itemParser = new ItemParser(false);
+
+    private ByteBuffer buffer;
+
+    private int itemIndex;
+
+    private ItemIndex index;
+
+    // strength, dexterity, life, mana, enhanced defense, enhanced damage (+min), attack rating, all resistances, fire and cold damage
+    // (+max, +length), life and mana leech, regeneration, magic find, ias, fhr, fcr, single skill, all skills, skill on attack and charges
+    private static final int[] RARE_PROPERTY_IDS = {0, 2, 7, 9, 16, 17, 19, 39, 41, 43, 45, 48, 54, 60, 62, 74, 80, 93, 99, 105, 107, 127, 195, 204};
+
+    private byte[] propertyList;
+
+    @Setup
+    public void setup() throws IOException {
+        buffer = ByteBuffer.wrap(ClassLoader.getSystemResourceAsStream("2.7/Lohengrin.d2s").readAllBytes()).order(ByteOrder.LITTLE_ENDIAN);
+        itemIndex = SectionLocator.locate(buffer).itemIndex();
+        index = itemParser.scanItems(buffer, itemIndex, buffer.limit());
+        propertyList = encodePropertyList(PropertyDecoder.getInstance(), RARE_PROPERTY_IDS);
+    }
+
+    // write the ids and (random) field values LSB first, the way they're stored in the savegame
+    private static byte[] encodePropertyList(final PropertyDecoder decoder, final int[] ids) {
+        final Random random = new Random(42);
+        final byte[] result = new byte[256];
+        int position = 0;
+        for (int id : ids) {
+            position = write(result, position, id, 9);
+            for (int property = id; property <= id + decoder.followUps(id); property++) {
+                for (int f = 0; f < decoder.fieldCount(property); f++) {
+                    final int width = decoder.fieldWidth(property, f);
+                    position = write(result, position, width == 0 ? 0 : random.nextInt(1 << Math.min(width, 30)), width);
+                }
+            }
+        }
+        write(result, position, ParseHelper.PROPERTY_END, 9);
+        return result;
+    }
+
+    private static int write(final byte[] target, final int position, final int value, final int bits) {
+        for (int i = 0; i < bits; i++) {
+            if ((value >>> i & 1) == 1) {
+                target[(position + i) >> 3] |= (byte) (1 << ((position + i) & 7));
+            }
+        }
+        return position + bits;
+    }
+
+    @Benchmark
+    public void decodeItems(Blackhole blackhole) {
+        for (int i = 0; i < index.topLevelCount(); i++) {
+            final Item item = itemParser.parseItem(buffer, index, index.topLevelEntry(i));
+            blackhole.consume(item);
+        }
+    }
+
+    @Benchmark
+    public ItemIndex scanItems() {
+        return itemParser.scanItems(buffer, itemIndex, buffer.limit());
+    }
+
+    @Benchmark
+    public List<ItemProperty> decodeRareProperties() {
+        return itemParser.readProperties(new BitReader(propertyList), 0);
+    }
+}
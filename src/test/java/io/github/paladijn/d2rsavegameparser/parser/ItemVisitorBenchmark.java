@@ -0,0 +1,94 @@
+/*
+ * Copyright (C) 2023   Paladijn (paladijn2960+d2rsavegameparser@gmail.com)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA 
+ */
+package io.github.paladijn.d2rsavegameparser.parser;
+
+import io.github.paladijn.d2rsavegameparser.model.Item;
+import io.github.paladijn.d2rsavegameparser.model.ItemLocation;
+import io.github.paladijn.d2rsavegameparser.model.ItemPosition;
+import io.github.paladijn.d2rsavegameparser.model.ItemQuality;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares collecting the items of a character into a list with streaming them to an {@link ItemVisitor} that counts the unique items.
+ * Run with {@code -prof gc} to compare the allocations as well.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ItemVisitorBenchmark {
+
+    private final ItemParser itemParser = new ItemParser(false);
+
+    private ByteBuffer buffer;
+
+    private int itemIndex;
+
+    @Setup
+    public void setup() throws IOException {
+        buffer = ByteBuffer.wrap(ClassLoader.getSystemResourceAsStream("2.7/Lohengrin.d2s").readAllBytes()).order(ByteOrder.LITTLE_ENDIAN);
+        itemIndex = SectionLocator.locate(buffer).itemIndex();
+    }
+
+    @Benchmark
+    public long parseItems() {
+        final List<Item> items = itemParser.parseItems(buffer, itemIndex, buffer.limit());
+        return items.stream().filter(item -> item.quality() == ItemQuality.UNIQUE).count();
+    }
+
+    @Benchmark
+    public long visitItems() {
+        final UniqueCounter counter = new UniqueCounter();
+        itemParser.visitItems(buffer, itemIndex, buffer.limit(), counter);
+        return counter.cntUniques;
+    }
+
+    private static final class UniqueCounter implements ItemVisitor {
+        private int depth;
+        private long cntUniques;
+
+        @Override
+        public void onItemStart(String code, ItemQuality quality, ItemLocation location, ItemPosition position) {
+            if (depth++ == 0 && quality == ItemQuality.UNIQUE) {
+                cntUniques++;
+            }
+        }
+
+        @Override
+        public void onItemEnd() {
+            depth--;
+        }
+    }
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright (C) 2023   Paladijn (paladijn2960+d2rsavegameparser@gmail.com)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA 
+ */
+package io.github.paladijn.d2rsavegameparser.parser;
+
+import io.github.paladijn.d2rsavegameparser.internal.parser.ParseHelper;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PropertyDecoderTest {
+
+    private final PropertyDecoder cut = PropertyDecoder.getInstance();
+
+    @Test
+    void compileSkillProperties() {
+        assertThat(cut.fieldCount(ParseHelper.PROPERTY_SKILL_ATTACK)).isEqualTo(3);
+        assertThat(cut.fieldWidth(ParseHelper.PROPERTY_SKILL_ATTACK, 0)).isEqualTo(6);
+        assertThat(cut.fieldWidth(ParseHelper.PROPERTY_SKILL_ATTACK, 1)).isEqualTo(10);
+
+        assertThat(cut.fieldCount(ParseHelper.PROPERTY_CHARGED_SKILL)).isEqualTo(4);
+        assertThat(cut.skipBits(ParseHelper.PROPERTY_CHARGED_SKILL)).isEqualTo(6 + 10 + 8 + 8);
+    }
+
+    @Test
+    void compileDamageFollowUps() {
+        assertThat(cut.followUps(ParseHelper.PROPERTY_PHYS_MAX_DMG)).isEqualTo(1);
+        assertThat(cut.followUps(ParseHelper.PROPERTY_COLD_MIN_DMG)).isEqualTo(2);
+        assertThat(cut.followUps(0)).isZero();
+
+        assertThat(cut.skipBits(ParseHelper.PROPERTY_FIRE_MIN_DMG))
+                .isEqualTo(cut.fieldWidth(ParseHelper.PROPERTY_FIRE_MIN_DMG, 0) + cut.fieldWidth(ParseHelper.PROPERTY_FIRE_MIN_DMG + 1, 0));
+    }
+
+    @Test
+    void rejectUnknownPropertyIds() {
+        assertThatThrownBy(() -> cut.skipBits(ParseHelper.PROPERTY_END))
+                .isInstanceOf(ParseException.class)
+                .hasMessage("Unknown item property id 511");
+    }
+}
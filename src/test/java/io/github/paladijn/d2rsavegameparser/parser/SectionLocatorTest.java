@@ -0,0 +1,64 @@
+/*
+ * Copyright (C) 2023   Paladijn (paladijn2960+d2rsavegameparser@gmail.com)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA 
+ */
+package io.github.paladijn.d2rsavegameparser.parser;
+
+import io.github.paladijn.d2rsavegameparser.TestCommons;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+class SectionLocatorTest {
+
+    @Test
+    void locateExpansionSections() {
+        final ByteBuffer buffer = TestCommons.getBuffer("2.7/Dierentuin.d2s");
+
+        final SectionOffsets offsets = SectionLocator.locate(buffer);
+
+        assertThat(offsets.skillIndex()).isBetween(800, 860);
+        assertThat(offsets.itemIndex()).isEqualTo(offsets.skillIndex() + 32);
+        assertThat(offsets.itemCount()).isEqualTo(68);
+        assertThat(offsets.deadBodyIndex()).isGreaterThan(offsets.itemIndex());
+        assertThat(offsets.mercenaryItemIndex()).isGreaterThan(offsets.deadBodyIndex());
+        assertThat(offsets.ironGolemIndex()).isGreaterThan(offsets.mercenaryItemIndex());
+        assertThat(buffer.get(offsets.mercenaryItemIndex())).isEqualTo((byte) 'J');
+        assertThat(buffer.get(offsets.ironGolemIndex())).isEqualTo((byte) 'k');
+    }
+
+    @Test
+    void classicCharactersHaveNoMercenaryOrGolem() {
+        final SectionOffsets offsets = SectionLocator.locate(TestCommons.getBuffer("1.6.84219/RIPClassic.d2s"));
+
+        assertThat(offsets.deadBodyIndex()).isPositive();
+        assertThat(offsets.mercenaryItemIndex()).isEqualTo(-1);
+        assertThat(offsets.ironGolemIndex()).isEqualTo(-1);
+    }
+
+    @Test
+    void missingStatHeader() {
+        final ByteBuffer buffer = TestCommons.getBuffer("2.7/Dierentuin.d2s");
+        buffer.put(765, (byte) 0);
+
+        assertThatExceptionOfType(ParseException.class)
+                .isThrownBy(() -> SectionLocator.locate(buffer))
+                .withMessage("Could not find stat header");
+    }
+}
@@ -17,12 +17,20 @@
  */
 package io.github.paladijn.d2rsavegameparser.parser;
 
+import io.github.paladijn.d2rsavegameparser.model.Item;
+import io.github.paladijn.d2rsavegameparser.model.ItemLocation;
+import io.github.paladijn.d2rsavegameparser.model.ItemPosition;
+import io.github.paladijn.d2rsavegameparser.model.ItemQuality;
 import io.github.paladijn.d2rsavegameparser.model.SharedStashTab;
 import org.junit.jupiter.api.Test;
 
 import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -53,6 +61,109 @@ class SharedStashParserTest {
         assertThat(tab3.items()).hasSize(75);
     }
 
+    @Test
+    void visitStashItems() throws IOException {
+        final ByteBuffer buffer = ByteBuffer.wrap(ClassLoader.getSystemResourceAsStream("2.7/" + SharedStashParser.SOFTCORE_SHARED_STASH).readAllBytes());
+
+        final AtomicInteger cntSocketed = new AtomicInteger();
+        final AtomicInteger cntItems = new AtomicInteger();
+        cut.visitItems(buffer, new ItemVisitor() {
+            @Override
+            public void onSocketedItem(int socket) {
+                cntSocketed.incrementAndGet();
+            }
+
+            @Override
+            public void onItemStart(String code, ItemQuality quality, ItemLocation location, ItemPosition position) {
+                cntItems.incrementAndGet();
+            }
+        });
+
+        final List<Item> items = cut.parse(buffer).stream().flatMap(tab -> tab.items().stream()).toList();
+        assertThat(cntItems.get() - cntSocketed.get()).isEqualTo(items.size());
+        assertThat(cntSocketed.get()).isEqualTo(items.stream().mapToInt(item -> item.socketedItems().size()).sum());
+    }
+
+    @Test
+    void parseFilteredStash() throws IOException {
+        final ByteBuffer buffer = ByteBuffer.wrap(ClassLoader.getSystemResourceAsStream("2.7/" + SharedStashParser.SOFTCORE_SHARED_STASH).readAllBytes());
+
+        final List<SharedStashTab> all = cut.parse(buffer);
+        final List<SharedStashTab> socketed = cut.parse(buffer, ItemFilter.socketed());
+
+        assertThat(socketed).hasSameSizeAs(all);
+        for (int i = 0; i < all.size(); i++) {
+            assertThat(socketed.get(i).gold()).isEqualTo(all.get(i).gold());
+            assertThat(socketed.get(i).items()).containsExactlyElementsOf(all.get(i).items().stream().filter(Item::isSocketed).toList());
+        }
+    }
+
+    @Test
+    void parseStashFromReadOnlyDirectBuffer() throws IOException {
+        final byte[] bytes = ClassLoader.getSystemResourceAsStream("2.7/" + SharedStashParser.SOFTCORE_SHARED_STASH).readAllBytes();
+        final ByteBuffer direct = ByteBuffer.allocateDirect(bytes.length).put(bytes).flip().asReadOnlyBuffer();
+
+        final List<SharedStashTab> result = cut.parse(direct);
+
+        assertThat(result).isEqualTo(cut.parse(ByteBuffer.wrap(bytes)));
+        assertThat(result.get(2).items()).hasSize(75);
+    }
+
+    @Test
+    void parseStashLazily() throws IOException {
+        final byte[] bytes = ClassLoader.getSystemResourceAsStream("2.7/" + SharedStashParser.SOFTCORE_SHARED_STASH).readAllBytes();
+        final List<SharedStashTab> parsed = cut.parse(ByteBuffer.wrap(bytes));
+
+        final List<List<LazyItem>> result = cut.parseLazily(ByteBuffer.wrap(bytes));
+
+        assertThat(result).hasSize(3);
+        for (int tab = 0; tab < 3; tab++) {
+            final List<LazyItem> lazyItems = result.get(tab);
+            final List<Item> items = parsed.get(tab).items();
+            assertThat(lazyItems).hasSameSizeAs(items);
+            for (int i = 0; i < items.size(); i++) {
+                final LazyItem lazyItem = lazyItems.get(i);
+                assertThat(lazyItem.code()).isEqualTo(items.get(i).code());
+                assertThat(lazyItem.x()).isEqualTo(items.get(i).x());
+                assertThat(lazyItem.y()).isEqualTo(items.get(i).y());
+                assertThat(lazyItem.isDecoded()).isFalse();
+                assertThat(lazyItem.item()).isEqualTo(items.get(i));
+                assertThat(lazyItem.isDecoded()).isTrue();
+                assertThat(lazyItem.item()).isSameAs(lazyItem.item());
+            }
+        }
+    }
+
+    @Test
+    void parseStashItemsInParallel() throws IOException {
+        final byte[] bytes = ClassLoader.getSystemResourceAsStream("2.7/" + SharedStashParser.SOFTCORE_SHARED_STASH).readAllBytes();
+        final ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            final List<SharedStashTab> result = new SharedStashParser(false, pool).parse(ByteBuffer.wrap(bytes));
+
+            assertThat(result.get(2).items()).hasSizeGreaterThanOrEqualTo(ItemParser.PARALLEL_THRESHOLD);
+            assertThat(result).isEqualTo(cut.parse(ByteBuffer.wrap(bytes)));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void parseTabsConcurrentlyWithTimings() throws IOException {
+        final byte[] bytes = ClassLoader.getSystemResourceAsStream("2.7/" + SharedStashParser.SOFTCORE_SHARED_STASH).readAllBytes();
+        final ExecutorService executor = Executors.newFixedThreadPool(3);
+        try {
+            final TimedSharedStash result = cut.parseTimed(ByteBuffer.wrap(bytes), executor);
+
+            assertThat(result.tabs()).isEqualTo(cut.parse(ByteBuffer.wrap(bytes)));
+            assertThat(result.tabDurations()).hasSize(3)
+                    .allMatch(duration -> !duration.isNegative());
+            assertThat(cut.parse(ByteBuffer.wrap(bytes), executor)).isEqualTo(result.tabs());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
     @Test
     void emptyStash() throws IOException {
         final ByteBuffer buffer = ByteBuffer.wrap(ClassLoader.getSystemResourceAsStream("2.7/SharedStashSoftCoreV2-empty.d2i").readAllBytes());
@@ -0,0 +1,79 @@
+/*
+ * Copyright (C) 2023   Paladijn (paladijn2960+d2rsavegameparser@gmail.com)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA 
+ */
+package io.github.paladijn.d2rsavegameparser.txt;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IdTableTest {
+
+    private final IdTable<String> cut = new IdTable<>();
+
+    @Test
+    void lookupDenseAndSparseIds() {
+        cut.put(3, "three");
+        cut.put(500, "five hundred");
+        cut.put(100_000, "far away");
+        cut.put(-7, "negative");
+        cut.put(50_000, "further away");
+
+        assertThat(cut.get(3)).isEqualTo("three");
+        assertThat(cut.get(500)).isEqualTo("five hundred");
+        assertThat(cut.get(100_000)).isEqualTo("far away");
+        assertThat(cut.get(-7)).isEqualTo("negative");
+        assertThat(cut.get(50_000)).isEqualTo("further away");
+
+        assertThat(cut.get(0)).isNull();
+        assertThat(cut.get(-1)).isNull();
+        assertThat(cut.get(75_000)).isNull();
+        assertThat(cut.size()).isEqualTo(5);
+        assertThat(cut.values()).containsExactly("negative", "three", "five hundred", "further away", "far away");
+    }
+
+    @Test
+    void replaceExistingIds() {
+        cut.put(1, "one");
+        cut.put(1, "uno");
+        cut.put(90_000, "sparse");
+        cut.put(90_000, "still sparse");
+
+        assertThat(cut.get(1)).isEqualTo("uno");
+        assertThat(cut.get(90_000)).isEqualTo("still sparse");
+        assertThat(cut.size()).isEqualTo(2);
+    }
+
+    @Test
+    void keepSparseIdsReachableWhenTheDenseIdsGrow() {
+        cut.put(-3, "negative");
+        cut.put(2000, "sparse at first");
+        cut.put(5000, "stays sparse");
+        cut.put(1000, "grows the dense ids");
+        cut.put(1900, "grows them past 2000");
+
+        assertThat(cut.get(2000)).isEqualTo("sparse at first");
+        assertThat(cut.get(5000)).isEqualTo("stays sparse");
+        assertThat(cut.get(-3)).isEqualTo("negative");
+
+        cut.put(2000, "replaced");
+
+        assertThat(cut.get(2000)).isEqualTo("replaced");
+        assertThat(cut.size()).isEqualTo(5);
+        assertThat(cut.values()).containsExactly("negative", "grows the dense ids", "grows them past 2000", "replaced", "stays sparse");
+    }
+}
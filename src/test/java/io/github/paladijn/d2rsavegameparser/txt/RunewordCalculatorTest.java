@@ -0,0 +1,109 @@
+/*
+ * Copyright (C) 2023   Paladijn (paladijn2960+d2rsavegameparser@gmail.com)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA 
+ */
+package io.github.paladijn.d2rsavegameparser.txt;
+
+import io.github.paladijn.d2rsavegameparser.model.D2Character;
+import io.github.paladijn.d2rsavegameparser.model.Item;
+import io.github.paladijn.d2rsavegameparser.model.SharedStashTab;
+import io.github.paladijn.d2rsavegameparser.parser.CharacterParser;
+import io.github.paladijn.d2rsavegameparser.parser.SharedStashParser;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RunewordCalculatorTest {
+
+    private final RunewordCalculator cut = new RunewordCalculator();
+
+    @Test
+    void countRunesPerSave() {
+        cut.putItems("one.d2s", List.of(rune("r07"), rune("r08"), item("hax", "axe")));
+        cut.putItems("two.d2s", List.of(rune("r07")));
+
+        assertThat(cut.getRuneCounts()[6]).isEqualTo(2);
+        assertThat(cut.getRuneCounts()[7]).isEqualTo(1);
+
+        cut.putItems("one.d2s", List.of(rune("r09")));
+        assertThat(cut.getRuneCounts()[6]).isEqualTo(1);
+        assertThat(cut.getRuneCounts()[7]).isZero();
+        assertThat(cut.getRuneCounts()[8]).isEqualTo(1);
+
+        cut.remove("two.d2s");
+        cut.remove("unknown.d2s");
+        assertThat(cut.getRuneCounts()).containsOnly(0, 1);
+        assertThat(cut.getRuneCounts()[6]).isZero();
+    }
+
+    @Test
+    void findCraftableRunewordsAndNearMisses() {
+        // Ral Ort Tal
+        cut.putItems("one.d2s", List.of(rune("r08"), rune("r09")));
+        assertThat(cut.getCraftableRunewords()).extracting(Runeword::getName).doesNotContain("Ancients' Pledge");
+        assertThat(cut.getNearMisses(1))
+                .filteredOn(nearMiss -> nearMiss.runeword().getName().equals("Ancients' Pledge"))
+                .singleElement()
+                .satisfies(nearMiss -> {
+                    assertThat(nearMiss.cntMissingRunes()).isEqualTo(1);
+                    assertThat(nearMiss.missingRunes()).isEqualTo(Map.of("r07", 1));
+                });
+        assertThat(cut.getNearMisses(3)).extracting(RunewordCalculator.NearMiss::cntMissingRunes).isSorted();
+        // Jah Ith Ber, the missing runes are kept in rune order
+        assertThat(cut.getNearMisses(3))
+                .filteredOn(nearMiss -> nearMiss.runeword().getName().equals("Enigma"))
+                .singleElement()
+                .satisfies(nearMiss -> assertThat(nearMiss.missingRunes().keySet()).containsExactly("r06", "r30", "r31"));
+
+        cut.putItems("two.d2s", List.of(rune("r07")));
+        assertThat(cut.getCraftableRunewords()).extracting(Runeword::getName).contains("Ancients' Pledge");
+        assertThat(cut.getNearMisses(1)).extracting(nearMiss -> nearMiss.runeword().getName()).doesNotContain("Ancients' Pledge");
+    }
+
+    @Test
+    void matchPossibleRunewordsOfAnAccount() throws IOException {
+        final D2Character lohengrin = new CharacterParser(false).parse(getBuffer("2.7/Lohengrin.d2s"));
+        final List<SharedStashTab> stash = new SharedStashParser(false).parse(getBuffer("2.7/SharedStashSoftCoreV2.d2i"));
+        cut.putCharacter("Lohengrin.d2s", lohengrin);
+        cut.putSharedStash(SharedStashParser.SOFTCORE_SHARED_STASH, stash);
+
+        final List<Item> items = new ArrayList<>(lohengrin.items());
+        stash.forEach(tab -> items.addAll(tab.items()));
+        final Map<String, Integer> availableRunes = new HashMap<>();
+        items.stream().filter(item -> Item.isRune(item.type())).forEach(item -> availableRunes.merge(item.code(), 1, Integer::sum));
+
+        assertThat(cut.getCraftableRunewords()).containsExactlyElementsOf(TXTProperties.getInstance().getPossibleRunewords(availableRunes));
+    }
+
+    private static Item rune(final String code) {
+        return item(code, "rune");
+    }
+
+    private static Item item(final String code, final String type) {
+        return new Item.ItemBuilder().code(code).type(type).itemName(code).build();
+    }
+
+    private static ByteBuffer getBuffer(final String resource) throws IOException {
+        return ByteBuffer.wrap(ClassLoader.getSystemResourceAsStream(resource).readAllBytes());
+    }
+}
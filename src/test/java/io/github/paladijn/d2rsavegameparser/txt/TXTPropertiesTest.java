@@ -19,6 +19,14 @@ package io.github.paladijn.d2rsavegameparser.txt;
 
 import org.junit.jupiter.api.Test;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
 import static org.assertj.core.api.Assertions.assertThat;
 
 class TXTPropertiesTest {
@@ -33,4 +41,127 @@ class TXTPropertiesTest {
         final WeaponStats grandScepter = cut.getWeaponStatsByCode("gsc");
         assertThat(grandScepter.isTwoHanded()).isFalse();
     }
-}
\ No newline at end of file
+
+    @Test
+    void findRunewordByRunes() {
+        assertThat(cut.getRunewordByRunes("RalOrtTal").getName()).isEqualTo("Ancients' Pledge");
+        assertThat(cut.getRunewordByRunes("TalRalOrt")).isNull();
+        assertThat(cut.getRunewords()).isSameAs(cut.getRunewords());
+    }
+
+    @Test
+    void findPossibleRunewords() {
+        final Random random = new Random(2960);
+        for (int i = 0; i < 50; i++) {
+            final Map<String, Integer> availableRunes = new HashMap<>();
+            for (int r = 0; r < 12; r++) {
+                availableRunes.merge("r%02d".formatted(1 + random.nextInt(33)), 1, Integer::sum);
+            }
+
+            assertThat(cut.getPossibleRunewords(availableRunes))
+                    .containsExactlyElementsOf(cut.getRunewords().stream().filter(rw -> rw.isRunewordPossible(availableRunes)).toList());
+        }
+        assertThat(cut.getPossibleRunewords(Map.of("r08", 1, "r09", 1, "r07", 1)))
+                .extracting(Runeword::getName)
+                .contains("Ancients' Pledge");
+    }
+
+    @Test
+    void warmUpReturnsTheSingleton() {
+        assertThat(TXTProperties.warmUp().join()).isSameAs(cut);
+        assertThat(TXTProperties.warmUp(Runnable::run).join()).isSameAs(cut);
+    }
+
+    @Test
+    void loadFromSnapshot() {
+        for (TXTTable table : TXTTable.values()) {
+            assertThat(cut.isLoadedFromSnapshot(table)).as(table.source()).isTrue();
+        }
+    }
+
+    @Test
+    void reportLoadDurationPerTable() {
+        assertThat(cut.loadAllTables().getLoadDurations())
+                .hasSize(TXTTable.values().length)
+                .containsKeys("itemstatcost.txt", "sets.txt", "weapons.txt")
+                .allSatisfy((file, duration) -> assertThat(duration.isNegative()).isFalse());
+    }
+
+    @Test
+    void loadTablesOnFirstAccess() throws IOException {
+        final TXTProperties lazy = TXTProperties.fromSnapshot(TXTSnapshot.read(snapshotOf(cut)));
+        assertThat(lazy.getLoadDurations()).isEmpty();
+
+        assertThat(lazy.getUniqueNameById((short) 0)).isNotNull();
+        assertThat(lazy.getSetDataByName("Tal Rasha's Wrappings")).isNotNull();
+
+        assertThat(lazy.getLoadDurations()).containsOnlyKeys("uniqueitems.txt", "sets.txt");
+    }
+
+    @Test
+    void parseDependenciesOnFirstAccess() {
+        final TXTProperties lazy = TXTProperties.fromTextFiles();
+
+        assertThat(lazy.getSetDataByName("Tal Rasha's Wrappings").getFullBonuses()).isNotEmpty();
+
+        assertThat(lazy.getLoadDurations()).containsOnlyKeys("properties.txt", "itemstatcost.txt", "setitems.txt", "sets.txt");
+    }
+
+    @Test
+    void snapshotMatchesTextFiles() throws IOException {
+        final TXTProperties fromTextFiles = TXTProperties.fromTextFiles();
+
+        final TXTProperties fromSnapshot = TXTProperties.fromSnapshot(TXTSnapshot.read(snapshotOf(fromTextFiles))).loadAllTables();
+
+        assertThat(fromSnapshot).usingRecursiveComparison()
+                .ignoringFields("snapshot", "loadDurations", "loadedFromSnapshot", "tableLocks", "resourceLoader")
+                .isEqualTo(fromTextFiles);
+        assertThat(fromSnapshot.getUniques()).usingRecursiveFieldByFieldElementComparator().containsExactlyElementsOf(fromTextFiles.getUniques());
+    }
+
+    @Test
+    void parseStaleTableFromTextFile() throws IOException {
+        final byte[] snapshot = snapshotOf(cut).readAllBytes();
+        // the checksum of the first table (properties.txt) follows the magic, version and table count
+        snapshot[12] ^= 0x01;
+
+        final TXTProperties fromSnapshot = TXTProperties.fromSnapshot(TXTSnapshot.read(new ByteArrayInputStream(snapshot)));
+
+        assertThat(fromSnapshot.getGemsAndRunesByCode("r01")).isNotNull();
+        assertThat(fromSnapshot.getWeaponStatsByCode("gix")).isNotNull();
+        assertThat(fromSnapshot.isLoadedFromSnapshot(TXTTable.PROPERTIES)).isFalse();
+        // gems.txt is parsed with the properties, so its section is stale as well
+        assertThat(fromSnapshot.isLoadedFromSnapshot(TXTTable.GEMS)).isFalse();
+        assertThat(fromSnapshot.isLoadedFromSnapshot(TXTTable.WEAPONS)).isTrue();
+    }
+
+    @Test
+    void verifyEveryTextFileOnce() throws IOException {
+        final byte[] snapshot = snapshotOf(cut).readAllBytes();
+        final Map<String, Integer> reads = new HashMap<>();
+        final ClassLoader counting = new ClassLoader(getClass().getClassLoader()) {
+            @Override
+            public InputStream getResourceAsStream(String name) {
+                reads.merge(name, 1, Integer::sum);
+                return super.getResourceAsStream(name);
+            }
+        };
+
+        final Thread thread = Thread.currentThread();
+        final ClassLoader original = thread.getContextClassLoader();
+        thread.setContextClassLoader(counting);
+        try {
+            TXTProperties.fromSnapshot(TXTSnapshot.read(new ByteArrayInputStream(snapshot))).loadAllTables();
+        } finally {
+            thread.setContextClassLoader(original);
+        }
+
+        assertThat(reads).hasSize(TXTTable.values().length).allSatisfy((file, count) -> assertThat(count).isOne());
+    }
+
+    private static ByteArrayInputStream snapshotOf(final TXTProperties txtProperties) throws IOException {
+        final ByteArrayOutputStream snapshot = new ByteArrayOutputStream();
+        TXTSnapshot.write(txtProperties, snapshot);
+        return new ByteArrayInputStream(snapshot.toByteArray());
+    }
+}